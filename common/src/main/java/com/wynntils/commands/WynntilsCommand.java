@@ -7,11 +7,12 @@ package com.wynntils.commands;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.wynntils.core.WynntilsMod;
-import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.commands.Command;
+import com.wynntils.core.mod.type.ProfilingCategory;
+import com.wynntils.core.mod.type.ProfilingRecorder;
 import com.wynntils.core.net.ApiResponse;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.screens.base.WynntilsMenuScreenBase;
@@ -21,9 +22,11 @@ import com.wynntils.services.athena.type.UpdateResult;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -73,10 +76,20 @@ public class WynntilsCommand extends Command {
                         .then(Commands.literal("run").executes(this::doClearCaches))
                         .executes(this::clearCaches))
                 .then(Commands.literal("debug")
+                        .then(Commands.literal("itemEncodingCache").executes(this::showItemEncodingCache))
                         .then(Commands.literal("profile")
+                                .then(Commands.literal("dump").executes(this::profileDump))
                                 .then(Commands.literal("reset").executes(this::profileReset))
-                                .then(Commands.literal("showAnnotations").executes(this::profileShowAnnotations))
-                                .then(Commands.literal("showOverlays").executes(this::profileShowOverlays))))
+                                .then(Commands.literal("showAnnotations")
+                                        .executes(context -> profileShow(context, ProfilingCategory.ANNOTATOR)))
+                                .then(Commands.literal("showChatPipeline")
+                                        .executes(context -> profileShow(context, ProfilingCategory.CHAT_PIPELINE)))
+                                .then(Commands.literal("showEventListeners")
+                                        .executes(context -> profileShow(context, ProfilingCategory.EVENT_LISTENER)))
+                                .then(Commands.literal("showFunctions")
+                                        .executes(context -> profileShow(context, ProfilingCategory.FUNCTION)))
+                                .then(Commands.literal("showOverlays")
+                                        .executes(context -> profileShow(context, ProfilingCategory.OVERLAY)))))
                 .then(Commands.literal("discord").executes(this::discordLink))
                 .then(Commands.literal("donate").executes(this::donateLink))
                 .then(Commands.literal("help").executes(this::help))
@@ -92,58 +105,79 @@ public class WynntilsCommand extends Command {
                 .executes(this::help);
     }
 
-    private int profileReset(CommandContext<CommandSourceStack> context) {
-        Handlers.Item.resetProfiling();
-        Managers.Overlay.resetProfiling();
+    private int profileDump(CommandContext<CommandSourceStack> context) {
+        File dumpFile = Managers.Profiling.dumpToFile();
         context.getSource()
                 .sendSuccess(
-                        () -> Component.translatable("command.wynntils.debug.profile.cleared")
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.profile.dumped", dumpFile.getAbsolutePath())
                                 .withStyle(ChatFormatting.GREEN),
                         false);
 
         return 1;
     }
 
-    private int profileShowAnnotations(CommandContext<CommandSourceStack> context) {
-        Map<Class<?>, Integer> profilingTimes = Handlers.Item.getProfilingTimes();
-        Map<Class<?>, Integer> profilingCounts = Handlers.Item.getProfilingCounts();
-
-        showProfilingData(context, profilingTimes, profilingCounts);
+    private int profileReset(CommandContext<CommandSourceStack> context) {
+        Managers.Profiling.reset();
+        Models.ItemEncoding.resetDecodedItemCacheCounters();
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable("command.wynntils.debug.profile.cleared")
+                                .withStyle(ChatFormatting.GREEN),
+                        false);
 
         return 1;
     }
 
-    private int profileShowOverlays(CommandContext<CommandSourceStack> context) {
-        Map<Class<?>, Integer> profilingTimes = Managers.Overlay.getProfilingTimes();
-        Map<Class<?>, Integer> profilingCounts = Managers.Overlay.getProfilingCounts();
+    private int showItemEncodingCache(CommandContext<CommandSourceStack> context) {
+        int hits = Models.ItemEncoding.getDecodedItemCacheHits();
+        int misses = Models.ItemEncoding.getDecodedItemCacheMisses();
+        int size = Models.ItemEncoding.getDecodedItemCacheSize();
+        String hitRate = "%.1f".formatted(hits + misses == 0 ? 0 : 100.0 * hits / (hits + misses));
 
-        showProfilingData(context, profilingTimes, profilingCounts);
+        context.getSource()
+                .sendSuccess(
+                        () -> Component.translatable(
+                                        "command.wynntils.debug.itemEncodingCache", hits, misses, hitRate, size)
+                                .withStyle(ChatFormatting.AQUA),
+                        false);
 
         return 1;
     }
 
-    private void showProfilingData(
-            CommandContext<CommandSourceStack> context,
-            Map<Class<?>, Integer> profilingTimes,
-            Map<Class<?>, Integer> profilingCounts) {
+    private int profileShow(CommandContext<CommandSourceStack> context, ProfilingCategory category) {
+        Map<String, ProfilingRecorder> recorders = Managers.Profiling.getRecorders(category);
+
         StringBuilder resList = new StringBuilder();
-        profilingTimes.entrySet().stream()
-                .sorted(Map.Entry.<Class<?>, Integer>comparingByValue().reversed())
+        recorders.entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .sorted(Comparator.comparingLong(
+                                (Map.Entry<String, ProfilingRecorder> entry) -> entry.getValue().getTotalNanos())
+                        .reversed())
                 .limit(10)
                 .forEach(entry -> {
-                    int time = entry.getValue();
-                    int count = profilingCounts.get(entry.getKey());
-                    double average = (double) time / count;
-                    resList.append("%7d ms, %7d c, avg: %7.2f ms/c  %s\n"
-                            .formatted(time, count, average, entry.getKey().getSimpleName()));
+                    ProfilingRecorder recorder = entry.getValue();
+                    resList.append("%9.2f ms, %7d c, p50: %7.3f ms, p99: %7.3f ms, max: %7.3f ms  %s\n"
+                            .formatted(
+                                    nanosToMillis(recorder.getTotalNanos()),
+                                    recorder.getCount(),
+                                    nanosToMillis(recorder.getPercentileNanos(50)),
+                                    nanosToMillis(recorder.getPercentileNanos(99)),
+                                    nanosToMillis(recorder.getMaxNanos()),
+                                    entry.getKey()));
                 });
 
         context.getSource()
                 .sendSuccess(() -> Component.literal(resList.toString()).withStyle(ChatFormatting.AQUA), false);
 
-        int totalCount = profilingCounts.values().stream().reduce(0, Integer::sum);
-        int totalTime = profilingTimes.values().stream().reduce(0, Integer::sum);
-        double average = (double) totalTime / totalCount;
+        long totalCount = recorders.values().stream()
+                .mapToLong(ProfilingRecorder::getCount)
+                .sum();
+        long totalNanos = recorders.values().stream()
+                .mapToLong(ProfilingRecorder::getTotalNanos)
+                .sum();
+        String totalTime = "%.2f".formatted(nanosToMillis(totalNanos));
+        String average = "%.3f".formatted(totalCount == 0 ? 0 : nanosToMillis(totalNanos) / totalCount);
 
         context.getSource()
                 .sendSuccess(
@@ -155,6 +189,12 @@ public class WynntilsCommand extends Command {
                         () -> Component.translatable("command.wynntils.debug.profile.avg", average)
                                 .withStyle(ChatFormatting.AQUA),
                         false);
+
+        return 1;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
     }
 
     private int reauth(CommandContext<CommandSourceStack> context) {
@@ -16,6 +16,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
 import com.wynntils.core.events.EventBusWrapper;
+import com.wynntils.core.mod.ProfilingManager;
 import com.wynntils.core.mod.event.WynntilsCrashEvent;
 import com.wynntils.core.mod.event.WynntilsInitEvent;
 import com.wynntils.core.mod.type.CrashType;
@@ -193,7 +194,8 @@ public final class WynntilsMod {
                 modLoader,
                 SharedConstants.getCurrentVersion().getName());
 
-        WynntilsMod.eventBus = EventBusWrapper.createEventBus();
+        // Managers register event listeners when they are created, so the bus has to exist before they do
+        WynntilsMod.eventBus = EventBusWrapper.createEventBus(ProfilingManager.isEventProfilingEnabled());
 
         registerComponents(Managers.class, Manager.class);
         registerComponents(Handlers.class, Handler.class);
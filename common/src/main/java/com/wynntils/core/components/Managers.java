@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.components;
@@ -13,6 +13,7 @@ import com.wynntils.core.json.JsonManager;
 import com.wynntils.core.keybinds.KeyBindManager;
 import com.wynntils.core.mod.ConnectionManager;
 import com.wynntils.core.mod.CrashReportManager;
+import com.wynntils.core.mod.ProfilingManager;
 import com.wynntils.core.mod.TickSchedulerManager;
 import com.wynntils.core.net.DownloadManager;
 import com.wynntils.core.net.NetManager;
@@ -50,4 +51,5 @@ public final class Managers {
 
     // Managers with constructor dependencies, ordered alphabetically as far as possible
     public static final OverlayManager Overlay = new OverlayManager(CrashReport);
+    public static final ProfilingManager Profiling = new ProfilingManager(CrashReport);
 }
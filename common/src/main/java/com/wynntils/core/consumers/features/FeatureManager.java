@@ -26,6 +26,7 @@ import com.wynntils.features.chat.DeathCoordinatesFeature;
 import com.wynntils.features.chat.DialogueOptionOverrideFeature;
 import com.wynntils.features.chat.InputTranscriptionFeature;
 import com.wynntils.features.chat.MessageFilterFeature;
+import com.wynntils.features.chat.OffThreadChatParsingFeature;
 import com.wynntils.features.chat.RemoveWynncraftChatWrapFeature;
 import com.wynntils.features.chat.RevealNicknamesFeature;
 import com.wynntils.features.combat.AbbreviateMobHealthFeature;
@@ -227,6 +228,7 @@ public final class FeatureManager extends Manager {
         registerFeature(new DialogueOptionOverrideFeature());
         registerFeature(new InputTranscriptionFeature());
         registerFeature(new MessageFilterFeature());
+        registerFeature(new OffThreadChatParsingFeature());
         registerFeature(new RemoveWynncraftChatWrapFeature());
         registerFeature(new RevealNicknamesFeature());
         // endregion
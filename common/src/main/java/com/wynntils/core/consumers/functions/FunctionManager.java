@@ -6,6 +6,7 @@ package com.wynntils.core.consumers.functions;
 
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.consumers.functions.arguments.FunctionArguments;
 import com.wynntils.core.consumers.functions.arguments.parser.ArgumentParser;
 import com.wynntils.core.consumers.functions.expressions.Expression;
@@ -13,6 +14,7 @@ import com.wynntils.core.consumers.functions.expressions.parser.ExpressionParser
 import com.wynntils.core.consumers.functions.templates.Template;
 import com.wynntils.core.consumers.functions.templates.parser.TemplateParser;
 import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.core.mod.type.ProfilingCategory;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.functions.CharacterFunctions;
 import com.wynntils.functions.CombatFunctions;
@@ -111,8 +113,10 @@ public final class FunctionManager extends Manager {
             return Optional.empty();
         }
 
+        long startTime = System.nanoTime();
         try {
             Object value = function.getValue(arguments);
+            Managers.Profiling.record(ProfilingCategory.FUNCTION, function.getClass(), startTime);
             return Optional.ofNullable(value);
         } catch (Throwable throwable) {
             crashFunction(function);
@@ -14,6 +14,7 @@ import com.wynntils.core.consumers.overlays.annotations.OverlayGroup;
 import com.wynntils.core.consumers.overlays.annotations.OverlayInfo;
 import com.wynntils.core.mod.CrashReportManager;
 import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.core.mod.type.ProfilingCategory;
 import com.wynntils.core.persisted.config.Config;
 import com.wynntils.core.persisted.config.OverlayGroupHolder;
 import com.wynntils.mc.event.DisplayResizeEvent;
@@ -52,8 +53,6 @@ public final class OverlayManager extends Manager {
     private final Set<Overlay> enabledOverlays = new HashSet<>();
 
     private final List<SectionCoordinates> sections = new ArrayList<>(9);
-    private final Map<Class<?>, Integer> profilingTimes = new HashMap<>();
-    private final Map<Class<?>, Integer> profilingCounts = new HashMap<>();
 
     public OverlayManager(CrashReportManager crashReportManager) {
         super(List.of(crashReportManager));
@@ -273,9 +272,9 @@ public final class OverlayManager extends Manager {
                     overlay.renderPreview(
                             event.getGuiGraphics(), BUFFER_SOURCE, event.getDeltaTracker(), event.getWindow());
                 } else if (shouldRender) {
-                    long startTime = System.currentTimeMillis();
+                    long startTime = System.nanoTime();
                     overlay.render(event.getGuiGraphics(), BUFFER_SOURCE, event.getDeltaTracker(), event.getWindow());
-                    logProfilingData(startTime, overlay);
+                    Managers.Profiling.record(ProfilingCategory.OVERLAY, overlay.getClass(), startTime);
                 }
             } catch (Throwable t) {
                 RenderUtils.disableScissor(event.getGuiGraphics());
@@ -304,33 +303,6 @@ public final class OverlayManager extends Manager {
 
     // endregion
 
-    // region Profiling
-
-    private void logProfilingData(long startTime, Overlay overlay) {
-        long endTime = System.currentTimeMillis();
-        int timeSpent = (int) (endTime - startTime);
-        int allTime = profilingTimes.getOrDefault(overlay.getClass(), 0);
-        profilingTimes.put(overlay.getClass(), allTime + timeSpent);
-
-        int allCount = profilingCounts.getOrDefault(overlay.getClass(), 0);
-        profilingCounts.put(overlay.getClass(), allCount + 1);
-    }
-
-    public Map<Class<?>, Integer> getProfilingTimes() {
-        return profilingTimes;
-    }
-
-    public Map<Class<?>, Integer> getProfilingCounts() {
-        return profilingCounts;
-    }
-
-    public void resetProfiling() {
-        profilingTimes.clear();
-        profilingCounts.clear();
-    }
-
-    // endregion
-
     // region Sections
     @SubscribeEvent
     public void onResizeEvent(DisplayResizeEvent event) {
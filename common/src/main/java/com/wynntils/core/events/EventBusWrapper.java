@@ -5,47 +5,141 @@
 package com.wynntils.core.events;
 
 import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.mod.type.ProfilingCategory;
+import com.wynntils.core.mod.type.ProfilingRecorder;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import net.neoforged.bus.BusBuilderImpl;
 import net.neoforged.bus.EventBus;
 import net.neoforged.bus.api.BusBuilder;
 import net.neoforged.bus.api.Event;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
+import org.apache.commons.lang3.StringUtils;
 
 public class EventBusWrapper extends EventBus {
-    private EventBusWrapper(BusBuilderImpl busBuilder) {
+    private static final MethodType LISTENER_TYPE = MethodType.methodType(void.class, Event.class);
+
+    // When instrumented, every @SubscribeEvent method is registered as a timed listener of its own,
+    // which have to be kept to be able to unregister them
+    private final boolean instrumented;
+    private final Map<Object, List<Consumer<Event>>> instrumentedListeners =
+            Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private EventBusWrapper(BusBuilderImpl busBuilder, boolean instrumented) {
         super(busBuilder);
+        this.instrumented = instrumented;
     }
 
-    public static IEventBus createEventBus() {
+    public static IEventBus createEventBus(boolean instrumented) {
+        if (instrumented) {
+            WynntilsMod.info("Event listener profiling is enabled");
+        }
+
         if (WynntilsMod.isDevelopmentEnvironment()) {
             // In development, we want to catch events posted on the wrong thread,
             // as this can cause issues that are hard to debug
-            return new DevelopmentEnvironment((BusBuilderImpl) BusBuilder.builder());
+            return new DevelopmentEnvironment((BusBuilderImpl) BusBuilder.builder(), instrumented);
         } else {
             // Wrap the event bus to make sure we don't trigger registration errors in production
-            return new EventBusWrapper((BusBuilderImpl) BusBuilder.builder());
+            return new EventBusWrapper((BusBuilderImpl) BusBuilder.builder(), instrumented);
         }
     }
 
     @Override
     public void register(Object target) {
-        boolean anyEvents = Arrays.stream(target.getClass().getMethods())
-                .anyMatch(method -> method.isAnnotationPresent(SubscribeEvent.class));
+        List<Method> listenerMethods = Arrays.stream(target.getClass().getMethods())
+                .filter(method -> method.isAnnotationPresent(SubscribeEvent.class))
+                .toList();
 
         // NeoForge EventBus does some sanity checking on registration, to help people forgetting to add @SubscribeEvent
         // This actually bites us, as sometimes we deliberately register objects without any events
         // (because they are of a certain class)
-        if (!anyEvents) return;
+        if (listenerMethods.isEmpty()) return;
+
+        if (!instrumented) {
+            super.register(target);
+            return;
+        }
+
+        for (Method method : listenerMethods) {
+            Consumer<Event> listener = createInstrumentedListener(target, method);
+            SubscribeEvent subscribeEvent = method.getAnnotation(SubscribeEvent.class);
+
+            addListener(
+                    subscribeEvent.priority(),
+                    subscribeEvent.receiveCanceled(),
+                    (Class<Event>) method.getParameterTypes()[0],
+                    listener);
+            instrumentedListeners.computeIfAbsent(target, k -> new ArrayList<>()).add(listener);
+        }
+    }
+
+    @Override
+    public void unregister(Object object) {
+        List<Consumer<Event>> listeners = instrumentedListeners.remove(object);
+
+        if (listeners == null) {
+            super.unregister(object);
+            return;
+        }
+
+        listeners.forEach(super::unregister);
+    }
+
+    private static Consumer<Event> createInstrumentedListener(Object target, Method method) {
+        if (Modifier.isStatic(method.getModifiers())
+                || method.getParameterCount() != 1
+                || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            throw new IllegalArgumentException("Invalid event listener method: " + method);
+        }
+
+        MethodHandle handle;
+        try {
+            method.setAccessible(true);
+            handle = MethodHandles.lookup().unreflect(method).bindTo(target).asType(LISTENER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access event listener method: " + method, e);
+        }
+
+        String name = getShortName(method.getParameterTypes()[0]) + ": " + getShortName(target.getClass()) + "."
+                + method.getName();
+        ProfilingRecorder recorder = Managers.Profiling.getRecorder(ProfilingCategory.EVENT_LISTENER, name);
+
+        return event -> {
+            long startTime = System.nanoTime();
+            try {
+                handle.invokeExact(event);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new RuntimeException(t);
+            } finally {
+                recorder.record(System.nanoTime() - startTime);
+            }
+        };
+    }
 
-        super.register(target);
+    private static String getShortName(Class<?> clazz) {
+        // Keep the enclosing class of nested events, like "ContainerSetContentEvent.Pre"
+        return StringUtils.substringAfterLast(clazz.getName(), ".").replace('$', '.');
     }
 
     private static final class DevelopmentEnvironment extends EventBusWrapper {
-        private DevelopmentEnvironment(BusBuilderImpl busBuilder) {
-            super(busBuilder);
+        private DevelopmentEnvironment(BusBuilderImpl busBuilder, boolean instrumented) {
+            super(busBuilder, instrumented);
         }
 
         @Override
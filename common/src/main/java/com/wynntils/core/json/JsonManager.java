@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.json;
@@ -11,6 +11,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
 import com.wynntils.core.crowdsource.CrowdSourcedData;
@@ -19,6 +20,8 @@ import com.wynntils.services.itemrecord.type.SavedItem;
 import com.wynntils.utils.EnumUtils;
 import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.colors.CustomColor;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -29,9 +32,13 @@ import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 
 public final class JsonManager extends Manager {
@@ -64,24 +71,85 @@ public final class JsonManager extends Manager {
      * it contains precious data.
      */
     public void savePreciousJson(File jsonFile, JsonObject jsonObject) {
+        savePreciousJson(jsonFile, writer -> {
+            for (Map.Entry<String, JsonElement> entry : jsonObject.entrySet()) {
+                writer.name(entry.getKey());
+                GSON.toJson(entry.getValue(), writer);
+            }
+        });
+    }
+
+    /**
+     * Write a json object to a file, taking care to preserve the file against corruption since
+     * it contains precious data. The members are streamed to the file as they are written, so no json tree
+     * has to be built for them.
+     * <p> The json is written to a temporary file first, which then replaces the file in one step,
+     * so the file always holds either the old or the new json.
+     */
+    public void savePreciousJson(File jsonFile, JsonMembersWriter membersWriter) {
         FileUtils.mkdir(jsonFile.getParentFile());
 
-        if (jsonFile.exists()) {
-            File backupFile = new File(jsonFile.getPath() + ".bak");
-            // Remove old backup (if any), and move current json file to backup
-            FileUtils.deleteFile(backupFile);
-            FileUtils.moveFile(jsonFile, backupFile);
+        File tempFile = new File(jsonFile.getPath() + ".tmp");
+        try (JsonWriter writer = GSON.newJsonWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8)))) {
+            writer.beginObject();
+            membersWriter.write(writer);
+            writer.endObject();
+        } catch (IOException | RuntimeException e) {
+            WynntilsMod.error("Failed to save json file " + jsonFile, e);
+            FileUtils.deleteFile(tempFile);
+            return;
         }
 
-        try (OutputStreamWriter fileWriter =
-                new OutputStreamWriter(new FileOutputStream(jsonFile), StandardCharsets.UTF_8)) {
-            GSON.toJson(jsonObject, fileWriter);
-            fileWriter.flush();
+        try {
+            try {
+                Files.move(
+                        tempFile.toPath(),
+                        jsonFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Some file systems can not replace files atomically, but the new json is still complete
+                Files.move(tempFile.toPath(), jsonFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
             WynntilsMod.error("Failed to save json file " + jsonFile, e);
+            FileUtils.deleteFile(tempFile);
         }
     }
 
+    /**
+     * Stream the members of a json object from a file, without building a json tree of them. If the file is broken
+     * it is replaced with an empty file, like {@link #loadPreciousJson(File)} does.
+     *
+     * @return whether the whole file was read; if not, some members might have been read before the error
+     */
+    public boolean loadPreciousJson(File jsonFile, JsonMembersReader membersReader) {
+        FileUtils.mkdir(jsonFile.getParentFile());
+
+        if (!jsonFile.exists()) {
+            createEmptyFile(jsonFile);
+            return true;
+        }
+
+        try (JsonReader reader = GSON.newJsonReader(new BufferedReader(
+                new InputStreamReader(new FileInputStream(jsonFile), StandardCharsets.UTF_8)))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                membersReader.read(reader.nextName(), reader);
+            }
+            reader.endObject();
+            return true;
+        } catch (JsonParseException | IOException | IllegalStateException e) {
+            // invalid or unreadable json file; fall through to error case
+            WynntilsMod.error("Failed to load or parse json file " + jsonFile.getPath(), e);
+        }
+
+        handleInvalidFile(jsonFile);
+        createEmptyFile(jsonFile);
+        return false;
+    }
+
     /**
      * Load a json object from a file. If the file is broken it is replaced with an empty file, taking care
      * to preserve the broken file since it contains precious data.
@@ -0,0 +1,17 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.json;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+
+/**
+ * Reads a member of a json object. The value of the member must be consumed from the reader, by reading or skipping
+ * it, before returning.
+ */
+@FunctionalInterface
+public interface JsonMembersReader {
+    void read(String name, JsonReader reader) throws IOException;
+}
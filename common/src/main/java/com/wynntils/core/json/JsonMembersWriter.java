@@ -0,0 +1,17 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.json;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * Writes the members of a json object, as a name followed by a value for each member.
+ * The object itself is begun and ended by the caller.
+ */
+@FunctionalInterface
+public interface JsonMembersWriter {
+    void write(JsonWriter writer) throws IOException;
+}
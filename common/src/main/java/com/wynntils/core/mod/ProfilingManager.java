@@ -0,0 +1,146 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod;
+
+import com.google.gson.JsonObject;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Manager;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.mod.type.ProfilingCategory;
+import com.wynntils.core.mod.type.ProfilingRecorder;
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects timing data of annotators, overlays, functions and event listeners, so slow ones can be found.
+ * <p> Callers take a {@link System#nanoTime()} before doing the work, and pass it to
+ * {@link #record(ProfilingCategory, Class, long)} afterwards.
+ * <p> Event listeners are only timed if the game was started with {@code -Dwynntils.profiling.events=true},
+ * as the instrumented event bus has to be chosen before anything is registered to it. That happens before
+ * any manager is created, so the flag is read straight from the system property, and not as a {@code Property}.
+ */
+public final class ProfilingManager extends Manager {
+    private static final File DUMP_FOLDER = WynntilsMod.getModStorageDir("debug");
+
+    private static final int CRASH_REPORT_LISTENER_COUNT = 10;
+
+    private static final boolean PROFILE_EVENTS = Boolean.getBoolean("wynntils.profiling.events");
+
+    private final Map<ProfilingCategory, Map<String, ProfilingRecorder>> recorders =
+            new EnumMap<>(ProfilingCategory.class);
+
+    public ProfilingManager(CrashReportManager crashReportManager) {
+        super(List.of(crashReportManager));
+
+        for (ProfilingCategory category : ProfilingCategory.values()) {
+            recorders.put(category, new ConcurrentHashMap<>());
+        }
+
+        addCrashCallbacks();
+    }
+
+    /**
+     * Returns whether event listeners are timed. This can be called before the managers are created.
+     */
+    public static boolean isEventProfilingEnabled() {
+        return PROFILE_EVENTS;
+    }
+
+    public void record(ProfilingCategory category, Class<?> source, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        getRecorder(category, source.getSimpleName()).record(elapsedNanos);
+    }
+
+    /**
+     * Returns the recorder for the given name, creating it if needed.
+     * <p> Hot callers should keep the returned recorder, instead of looking it up for every measurement.
+     * Resetting keeps the recorders, so held references stay valid.
+     */
+    public ProfilingRecorder getRecorder(ProfilingCategory category, String name) {
+        return recorders.get(category).computeIfAbsent(name, k -> new ProfilingRecorder());
+    }
+
+    public Map<String, ProfilingRecorder> getRecorders(ProfilingCategory category) {
+        return Collections.unmodifiableMap(recorders.get(category));
+    }
+
+    public void reset() {
+        for (Map<String, ProfilingRecorder> categoryRecorders : recorders.values()) {
+            categoryRecorders.values().forEach(ProfilingRecorder::reset);
+        }
+    }
+
+    /**
+     * Writes the current profiling data of all categories to a json file in the debug folder.
+     * @return the file the data was written to
+     */
+    public File dumpToFile() {
+        JsonObject dumpJson = new JsonObject();
+
+        for (Map.Entry<ProfilingCategory, Map<String, ProfilingRecorder>> categoryEntry : recorders.entrySet()) {
+            JsonObject categoryJson = new JsonObject();
+
+            for (Map.Entry<String, ProfilingRecorder> entry : categoryEntry.getValue().entrySet()) {
+                ProfilingRecorder recorder = entry.getValue();
+                if (recorder.getCount() == 0) continue;
+
+                JsonObject recorderJson = new JsonObject();
+                recorderJson.addProperty("count", recorder.getCount());
+                recorderJson.addProperty("totalNanos", recorder.getTotalNanos());
+                recorderJson.addProperty("p50Nanos", recorder.getPercentileNanos(50));
+                recorderJson.addProperty("p90Nanos", recorder.getPercentileNanos(90));
+                recorderJson.addProperty("p99Nanos", recorder.getPercentileNanos(99));
+                recorderJson.addProperty("maxNanos", recorder.getMaxNanos());
+
+                categoryJson.add(entry.getKey(), recorderJson);
+            }
+
+            dumpJson.add(categoryEntry.getKey().name(), categoryJson);
+        }
+
+        String fileName = "profiling_" + new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date()) + ".json";
+        File jsonFile = new File(DUMP_FOLDER, fileName);
+        Managers.Json.savePreciousJson(jsonFile, dumpJson);
+
+        return jsonFile;
+    }
+
+    private void addCrashCallbacks() {
+        Managers.CrashReport.registerCrashContext("Slowest Event Listeners", () -> {
+            if (!isEventProfilingEnabled()) return null;
+
+            StringBuilder result = new StringBuilder();
+
+            recorders.get(ProfilingCategory.EVENT_LISTENER).entrySet().stream()
+                    .filter(entry -> entry.getValue().getCount() > 0)
+                    .sorted(Comparator.comparingLong(
+                                    (Map.Entry<String, ProfilingRecorder> entry) -> entry.getValue().getMaxNanos())
+                            .reversed())
+                    .limit(CRASH_REPORT_LISTENER_COUNT)
+                    .forEach(entry -> {
+                        ProfilingRecorder recorder = entry.getValue();
+                        result.append("\n\t\t")
+                                .append(entry.getKey())
+                                .append(": ")
+                                .append(recorder.getCount())
+                                .append(" calls, ")
+                                .append(recorder.getTotalNanos())
+                                .append(" ns total, ")
+                                .append(recorder.getMaxNanos())
+                                .append(" ns peak");
+                    });
+
+            return result.toString();
+        });
+    }
+}
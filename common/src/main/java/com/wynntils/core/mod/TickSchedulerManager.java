@@ -1,31 +1,76 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.mod;
 
+import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
+import com.wynntils.core.mod.type.ScheduledTask;
 import com.wynntils.mc.event.TickAlwaysEvent;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 
+/**
+ * Runs tasks on the main thread, after a given number of ticks.
+ * <p> Tasks are kept in a hashed timing wheel, so scheduling is O(1), and every tick only looks at
+ * the tasks in the current slot of the wheel, instead of every scheduled task.
+ * <p> Tasks can be scheduled from any thread. They are added to the wheel at the start of the next tick,
+ * and the delay counts from that tick.
+ */
 public final class TickSchedulerManager extends Manager {
-    private final Map<Runnable, Integer> tasks = new ConcurrentHashMap<>();
+    private static final int MS_PER_TICK = 50;
+    // Must be a power of two. Tasks further away than this stay in their slot for more than one turn of the wheel.
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Queue<WheelEntry> pendingEntries = new ConcurrentLinkedQueue<>();
+    private final List<List<WheelEntry>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final List<WheelEntry> dueEntries = new ArrayList<>();
+    private long currentTick = 0;
 
     public TickSchedulerManager() {
         super(List.of());
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
     }
 
-    public void scheduleLater(Runnable runnable, int ticksDelay) {
-        tasks.put(runnable, ticksDelay);
+    public ScheduledTask scheduleLater(Runnable runnable, int ticksDelay) {
+        return schedule(runnable, ticksDelay, 0);
     }
 
-    public void scheduleNextTick(Runnable runnable) {
-        tasks.put(runnable, 0);
+    /**
+     * Schedules a task after a delay in real time. The delay is converted to ticks,
+     * so the task can run later than requested if the game is lagging.
+     */
+    public ScheduledTask scheduleLater(Runnable runnable, long delay, TimeUnit unit) {
+        return schedule(runnable, toTicks(delay, unit), 0);
+    }
+
+    public ScheduledTask scheduleNextTick(Runnable runnable) {
+        return schedule(runnable, 0, 0);
+    }
+
+    /**
+     * Schedules a task to run every {@code periodTicks} ticks, until its handle is cancelled.
+     */
+    public ScheduledTask scheduleRepeating(Runnable runnable, int initialTicksDelay, int periodTicks) {
+        if (periodTicks <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + periodTicks);
+        }
+
+        return schedule(runnable, initialTicksDelay, periodTicks);
+    }
+
+    public ScheduledTask scheduleRepeating(Runnable runnable, long initialDelay, long period, TimeUnit unit) {
+        return scheduleRepeating(runnable, toTicks(initialDelay, unit), Math.max(1, toTicks(period, unit)));
     }
 
     // The priority is set to HIGHEST to ensure that the tasks are run
@@ -33,18 +78,80 @@ public final class TickSchedulerManager extends Manager {
     // making it run in the same tick
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onTick(TickAlwaysEvent e) {
-        Iterator<Map.Entry<Runnable, Integer>> it = tasks.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<Runnable, Integer> entry = it.next();
-            int ticksLeft = entry.getValue();
-            if (ticksLeft == 0) {
-                // Run the task
-                entry.getKey().run();
-                // Remove it from the map
-                it.remove();
+        currentTick++;
+
+        WheelEntry pendingEntry;
+        while ((pendingEntry = pendingEntries.poll()) != null) {
+            pendingEntry.dueTick = currentTick + pendingEntry.initialTicksDelay;
+            addToWheel(pendingEntry);
+        }
+
+        // Tasks due in a later turn of the wheel stay in the slot,
+        // cancelled tasks are dropped without running them
+        List<WheelEntry> slot = wheel.get((int) (currentTick & WHEEL_MASK));
+        int kept = 0;
+        for (WheelEntry entry : slot) {
+            if (entry.task.isCancelled()) continue;
+
+            if (entry.dueTick <= currentTick) {
+                dueEntries.add(entry);
             } else {
-                entry.setValue(ticksLeft - 1);
+                slot.set(kept++, entry);
             }
         }
+        slot.subList(kept, slot.size()).clear();
+
+        // Tasks are run after the slot is updated, as repeating tasks can be added back to the same slot
+        for (WheelEntry entry : dueEntries) {
+            runEntry(entry);
+        }
+        dueEntries.clear();
+    }
+
+    private ScheduledTask schedule(Runnable runnable, int initialTicksDelay, int periodTicks) {
+        ScheduledTask task = new ScheduledTask();
+        pendingEntries.add(new WheelEntry(task, runnable, Math.max(0, initialTicksDelay), periodTicks));
+        return task;
+    }
+
+    private void runEntry(WheelEntry entry) {
+        // The task could have been cancelled by another task run in this tick
+        if (entry.task.isCancelled()) return;
+
+        try {
+            entry.runnable.run();
+        } catch (Throwable t) {
+            WynntilsMod.error("Exception in scheduled task, it will not be run again", t);
+            entry.task.cancel();
+            return;
+        }
+
+        if (entry.periodTicks > 0 && !entry.task.isCancelled()) {
+            entry.dueTick += entry.periodTicks;
+            addToWheel(entry);
+        }
+    }
+
+    private void addToWheel(WheelEntry entry) {
+        wheel.get((int) (entry.dueTick & WHEEL_MASK)).add(entry);
+    }
+
+    private static int toTicks(long delay, TimeUnit unit) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.ceilDiv(unit.toMillis(delay), MS_PER_TICK));
+    }
+
+    private static final class WheelEntry {
+        private final ScheduledTask task;
+        private final Runnable runnable;
+        private final int initialTicksDelay;
+        private final int periodTicks;
+        private long dueTick;
+
+        private WheelEntry(ScheduledTask task, Runnable runnable, int initialTicksDelay, int periodTicks) {
+            this.task = task;
+            this.runnable = runnable;
+            this.initialTicksDelay = initialTicksDelay;
+            this.periodTicks = periodTicks;
+        }
     }
 }
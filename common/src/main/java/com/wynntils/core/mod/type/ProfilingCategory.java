@@ -0,0 +1,23 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod.type;
+
+public enum ProfilingCategory {
+    ANNOTATOR("Item Annotator"),
+    CHAT_PIPELINE("Chat Pipeline"),
+    EVENT_LISTENER("Event Listener"),
+    FUNCTION("Function"),
+    OVERLAY("Overlay");
+
+    private final String name;
+
+    ProfilingCategory(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.core.mod.type;
+
+/**
+ * A handle to a task scheduled by {@link com.wynntils.core.mod.TickSchedulerManager}.
+ * Each scheduling call returns a new handle, even if the same runnable is scheduled multiple times.
+ */
+public final class ScheduledTask {
+    private volatile boolean cancelled = false;
+
+    /**
+     * Prevents the task from running again. Can be called from any thread.
+     * If the task is currently running, that run is not interrupted.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
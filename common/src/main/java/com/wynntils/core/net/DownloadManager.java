@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2024.
+ * Copyright © Wynntils 2024-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.core.net;
@@ -21,6 +21,9 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import net.neoforged.bus.api.SubscribeEvent;
 
@@ -49,6 +52,7 @@ public class DownloadManager extends Manager {
     private final Property<Boolean> dumpGraph = createProperty(Boolean.class, "dump.graph", false);
     private final Property<Boolean> debugLogs = createProperty(Boolean.class, "log.debug", false);
     private final Property<Integer> maxParallelDownloads = createProperty(Integer.class, "max.parallel", 4);
+    private final Property<Boolean> logTimings = createProperty(Boolean.class, "log.timings", false);
 
     private final List<QueuedDownload> registeredDownloads = new ArrayList<>();
     private boolean registrationLock = false;
@@ -57,6 +61,11 @@ public class DownloadManager extends Manager {
 
     private Set<QueuedDownload> currentDownloads;
 
+    // Nano times of when each download was started, and how long it took to download and handle
+    private final Map<QueuedDownload, Long> downloadStartTimes = new ConcurrentHashMap<>();
+    private final Map<QueuedDownload, Long> downloadDurations = new ConcurrentHashMap<>();
+    private long downloadsStartTime;
+
     public DownloadManager() {
         super(List.of());
     }
@@ -126,8 +135,11 @@ public class DownloadManager extends Manager {
             // Reset the state of the manager, as a full redownload is happening
             graph.resetState();
             currentDownloads = new LinkedHashSet<>();
+            downloadDurations.clear();
         }
 
+        downloadsStartTime = System.nanoTime();
+
         WynntilsMod.postEventOnMainThread(new DownloadEvent.Started(partialRedownload));
 
         // Start the downloads by filling the parallel download slots
@@ -165,6 +177,7 @@ public class DownloadManager extends Manager {
 
     private Download getDownload(QueuedDownload queuedDownload) {
         Download download = Managers.Net.download(queuedDownload.urlId());
+        downloadStartTimes.put(queuedDownload, System.nanoTime());
 
         Consumer<Reader> readerHandler = queuedDownload.onCompletionReader();
         if (readerHandler != null) {
@@ -222,6 +235,7 @@ public class DownloadManager extends Manager {
         return (T result) -> {
             // Firstly, run the handler
             handler.accept(result);
+            recordDownloadTime(download);
 
             // The handling succeeded, mark the download as completed
             // (if the handling failed, download itself handles the error)
@@ -242,6 +256,8 @@ public class DownloadManager extends Manager {
 
     private Consumer<Throwable> wrapDownloadFailure(QueuedDownload download) {
         return (throwable) -> {
+            recordDownloadTime(download);
+
             // Log the progress if the system property is set
             if (debugLogs.get()) {
                 WynntilsMod.warn("Download failed: "
@@ -262,7 +278,8 @@ public class DownloadManager extends Manager {
 
         // All downloads are finished, and there are no more downloads to start
         // Display statistics from the graph
-        WynntilsMod.info("[DownloadManager] Downloads finished.");
+        WynntilsMod.info("[DownloadManager] Downloads finished in %d ms."
+                .formatted(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - downloadsStartTime)));
 
         if (graph.hasError()) {
             WynntilsMod.postEventOnMainThread(new DownloadEvent.Failed());
@@ -279,5 +296,36 @@ public class DownloadManager extends Manager {
             WynntilsMod.info("  - Failed downloads: %d".formatted(graph.failedDownloads()));
             WynntilsMod.info("  - Error Rate: %.0f%%".formatted(graph.errorRate() * 100f));
         }
+
+        if (logTimings.get()) {
+            logDownloadTimings();
+        }
+    }
+
+    private void recordDownloadTime(QueuedDownload download) {
+        Long startTime = downloadStartTimes.remove(download);
+        if (startTime == null) return;
+
+        downloadDurations.put(download, System.nanoTime() - startTime);
+    }
+
+    private void logDownloadTimings() {
+        // Downloads run in parallel, so the durations add up to more than the total time
+        WynntilsMod.info("[DownloadManager] Download timings, including handling:");
+        downloadDurations.entrySet().stream()
+                .sorted(Map.Entry.<QueuedDownload, Long>comparingByValue().reversed())
+                .forEach(entry -> WynntilsMod.info("  - %s -> %s: %d ms"
+                        .formatted(
+                                StringUtils.capitalizeFirst(entry.getKey().callerComponent().getJsonName()),
+                                entry.getKey().urlId(),
+                                TimeUnit.NANOSECONDS.toMillis(entry.getValue()))));
+
+        Map<String, Long> componentDurations = new TreeMap<>();
+        downloadDurations.forEach((download, duration) -> componentDurations.merge(
+                download.callerComponent().getJsonName(), duration, Long::sum));
+
+        WynntilsMod.info("[DownloadManager] Download timings per component:");
+        componentDurations.forEach((component, duration) -> WynntilsMod.info("  - %s: %d ms"
+                .formatted(StringUtils.capitalizeFirst(component), TimeUnit.NANOSECONDS.toMillis(duration))));
     }
 }
@@ -9,6 +9,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
 import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
@@ -24,6 +25,7 @@ import com.wynntils.core.persisted.upfixers.UpfixerType;
 import com.wynntils.utils.JsonUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -181,35 +183,33 @@ public final class ConfigManager extends Manager {
         // Requesting to save before we have read the old config? Just skip it
         if (configObject == null) return;
 
-        // create json object, with entry for each option of each container
-        JsonObject configJson = new JsonObject();
-        for (Config<?> config : getConfigList()) {
-            if (!config.valueChanged()) continue; // only save options that have been set by the user
-            Object value = config.get();
-
-            JsonElement configElement = Managers.Json.GSON.toJsonTree(value);
-            configJson.add(config.getJsonName(), configElement);
-        }
-
-        // Also save upfixer data
-        String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
-        configJson.add(upfixerJsonMemberName, configObject.get(upfixerJsonMemberName));
+        // write an entry for each option of each container, straight to the file
+        Managers.Json.savePreciousJson(userConfigFile, writer -> {
+            for (Config<?> config : getConfigList()) {
+                if (!config.valueChanged()) continue; // only save options that have been set by the user
 
-        // Save overlay groups
-        JsonObject overlayGroups = new JsonObject();
-        for (OverlayGroupHolder holder : Managers.Overlay.getOverlayGroups()) {
-            JsonArray ids = new JsonArray();
-
-            holder.getOverlays().stream()
-                    .map(overlay -> ((DynamicOverlay) overlay).getId())
-                    .forEach(ids::add);
-
-            overlayGroups.add(holder.getConfigKey(), ids);
-        }
-
-        configJson.add(OVERLAY_GROUPS_JSON_KEY, overlayGroups);
+                writer.name(config.getJsonName());
+                writeValue(writer, config.get());
+            }
 
-        Managers.Json.savePreciousJson(userConfigFile, configJson);
+            // Also save upfixer data
+            String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
+            writer.name(upfixerJsonMemberName);
+            Managers.Json.GSON.toJson(configObject.get(upfixerJsonMemberName), writer);
+
+            // Save overlay groups
+            writer.name(OVERLAY_GROUPS_JSON_KEY);
+            writer.beginObject();
+            for (OverlayGroupHolder holder : Managers.Overlay.getOverlayGroups()) {
+                writer.name(holder.getConfigKey());
+                writer.beginArray();
+                for (Overlay overlay : holder.getOverlays()) {
+                    writer.value(((DynamicOverlay) overlay).getId());
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        });
     }
 
     public File getUserConfigFile() {
@@ -217,17 +217,26 @@ public final class ConfigManager extends Manager {
     }
 
     private void saveDefaultConfig() {
-        // create json object, with entry for each option of each container
-        JsonObject configJson = new JsonObject();
-        for (Config<?> config : getConfigList()) {
-            Object value = config.getDefaultValue();
+        List<Config<?>> configs = getConfigList();
+
+        // write an entry for each option of each container, straight to the file
+        WynntilsMod.info("Creating default config file with " + configs.size() + " config values.");
+        Managers.Json.savePreciousJson(DEFAULT_CONFIG, writer -> {
+            for (Config<?> config : configs) {
+                writer.name(config.getJsonName());
+                writeValue(writer, config.getDefaultValue());
+            }
+        });
+    }
 
-            JsonElement configElement = Managers.Json.GSON.toJsonTree(value);
-            configJson.add(config.getJsonName(), configElement);
+    // Same as adding toJsonTree(value) to a json object, without building the tree
+    private static void writeValue(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.nullValue();
+            return;
         }
 
-        WynntilsMod.info("Creating default config file with " + configJson.size() + " config values.");
-        Managers.Json.savePreciousJson(DEFAULT_CONFIG, configJson);
+        Managers.Json.GSON.toJson(value, value.getClass(), writer);
     }
 
     private List<Config<?>> getConfigOptions(PersistedOwner owner) {
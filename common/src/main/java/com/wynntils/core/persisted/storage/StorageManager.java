@@ -4,8 +4,11 @@
  */
 package com.wynntils.core.persisted.storage;
 
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
 import com.mojang.util.UndashedUuid;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Manager;
@@ -14,46 +17,74 @@ import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.PersistedValue;
 import com.wynntils.core.persisted.upfixers.UpfixerType;
+import com.wynntils.utils.FileUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.io.File;
+import java.io.StringWriter;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import net.neoforged.bus.api.SubscribeEvent;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
+/**
+ * Persists the storages of the current user.
+ * <p> Each storage is saved in its own shard file, in a folder next to the user storage file, and only when it was
+ * touched since it was last saved. The user storage file only holds the upfixers that were run, and the storages of
+ * older versions until they are saved in shards. Shards take precedence over the user storage file when loading.
+ * <p> Storages are converted to json text on the main thread, which is the one that changes them, and the resulting
+ * snapshot is streamed to disk on a background thread. Shards are also streamed when loading, so no json tree is
+ * built for them unless upfixers have to run.
+ * <p> Storages changed in place without being touched would never be saved, so when disconnecting and on shutdown,
+ * the json of every storage is compared against a hash of what was last loaded or saved, and the changed ones are
+ * saved as well.
+ */
 public final class StorageManager extends Manager {
     private static final long SAVE_INTERVAL = 10_000;
 
     private static final File STORAGE_DIR = WynntilsMod.getModStorageDir("storage");
     private static final String FILE_SUFFIX = ".data.json";
+    private static final String SHARD_SUFFIX = ".json";
     private final File userStorageFile;
+    private final File userShardDir;
 
-    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("wynntils-storage-%d").build());
     private final Map<String, Storage<?>> storages = new TreeMap<>();
+    private final Map<Storage<?>, String> storageJsonNames = new HashMap<>();
     private final Map<Storage<?>, Type> storageTypes = new HashMap<>();
     private final Map<Storage<?>, Storageable> storageOwner = new HashMap<>();
 
+    // Storages touched since they were last saved
+    private final Set<Storage<?>> dirtyStorages = ConcurrentHashMap.newKeySet();
+    // Whether the user storage file still has to be rewritten, after loading storages saved by older versions
+    private volatile boolean userStorageFileDirty = false;
+    // Hashes of the json of every storage, as it was last loaded or saved
+    private final Map<Storage<?>, Long> savedHashes = new ConcurrentHashMap<>();
+
     private JsonObject storageObject;
 
     private long lastPersisted;
-    private boolean scheduledPersist;
+    private volatile boolean scheduledPersist;
 
     private boolean storageInitialized = false;
 
     public StorageManager() {
         super(List.of());
 
-        userStorageFile = new File(
-                STORAGE_DIR, UndashedUuid.toString(McUtils.mc().getUser().getProfileId()) + FILE_SUFFIX);
+        String userId = UndashedUuid.toString(McUtils.mc().getUser().getProfileId());
+        userStorageFile = new File(STORAGE_DIR, userId + FILE_SUFFIX);
+        userShardDir = new File(STORAGE_DIR, userId);
 
         addShutdownHook();
     }
@@ -69,11 +100,14 @@ public final class StorageManager extends Manager {
         runUpfixers();
 
         readFromJson();
+        storages.values().forEach(this::recordSavedHash);
 
         storageInitialized = true;
 
         // We might have missed a persist call in between feature init and storage manager init
-        persist();
+        if (!dirtyStorages.isEmpty() || userStorageFileDirty) {
+            schedulePersist();
+        }
     }
 
     public void registerStorageable(Storageable owner) {
@@ -86,12 +120,17 @@ public final class StorageManager extends Manager {
         return userStorageFile;
     }
 
+    public File getUserShardDir() {
+        return userShardDir;
+    }
+
     private void processStorage(Storageable owner, Field field, Persisted annotation) {
         try {
             String baseName = owner.getStorageJsonName();
             Storage<?> storage = (Storage<?>) FieldUtils.readField(field, owner, true);
             String jsonName = baseName + "." + field.getName();
             storages.put(jsonName, storage);
+            storageJsonNames.put(storage, jsonName);
 
             Type valueType = Managers.Json.getJsonValueType(field);
             storageTypes.put(storage, valueType);
@@ -102,50 +141,237 @@ public final class StorageManager extends Manager {
     }
 
     private void addShutdownHook() {
-        Runtime.getRuntime().addShutdownHook(new Thread(this::writeToJson));
+        Runtime.getRuntime().addShutdownHook(new Thread(this::saveOnShutdown));
+    }
+
+    private void saveOnShutdown() {
+        if (!storageInitialized) return;
+
+        // Finish the writes that are already queued, as the JVM does not wait for them
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The main thread might be gone, so this is the best place we have to take the snapshot
+        writeSnapshot(takeSnapshot(true));
     }
 
     @SubscribeEvent
     public void onWynncraftDisconnect(WynncraftConnectionEvent.Disconnected event) {
-        // Always save when disconnecting
-        writeToJson();
+        // Always save when disconnecting, including storages that were changed without being touched
+        saveStorages(true);
     }
 
-    void persist() {
+    void persist(Storage<?> storage) {
+        dirtyStorages.add(storage);
+
         // We cannot persist before the storage is initialized, or we will overwrite our storage
         if (!storageInitialized || scheduledPersist) return;
 
+        schedulePersist();
+    }
+
+    private void schedulePersist() {
         long now = System.currentTimeMillis();
         long delay = Math.max((lastPersisted + SAVE_INTERVAL) - now, 0);
 
-        executor.schedule(
+        scheduledPersist = true;
+        Managers.TickScheduler.scheduleLater(
                 () -> {
                     scheduledPersist = false;
                     lastPersisted = System.currentTimeMillis();
-                    writeToJson();
+                    saveStorages(false);
                 },
                 delay,
                 TimeUnit.MILLISECONDS);
-        scheduledPersist = true;
+    }
+
+    private void saveStorages(boolean checkUntouched) {
+        // We cannot persist before the storage is initialized, or we will overwrite our storage
+        if (!storageInitialized) return;
+
+        StorageSnapshot snapshot = takeSnapshot(checkUntouched);
+        executor.execute(() -> writeSnapshot(snapshot));
+    }
+
+    /**
+     * Converts the dirty storages to json, so they can be written on another thread while they are changed again.
+     *
+     * @param checkUntouched whether to also convert the storages that were not touched, and save the ones whose
+     *                       json changed since they were last loaded or saved
+     */
+    private StorageSnapshot takeSnapshot(boolean checkUntouched) {
+        // Storages touched while this runs stay dirty, and are saved the next time
+        Map<String, String> shards = new TreeMap<>();
+        for (Storage<?> storage : List.copyOf(dirtyStorages)) {
+            dirtyStorages.remove(storage);
+
+            String jsonName = storageJsonNames.get(storage);
+            if (jsonName == null) continue;
+
+            try {
+                String json = toJsonText(storage.get(), storageTypes.get(storage));
+                shards.put(jsonName, json);
+                savedHashes.put(storage, hashJson(json));
+            } catch (Throwable t) {
+                WynntilsMod.error("Failed to save storage " + jsonName, t);
+            }
+        }
+
+        if (checkUntouched) {
+            storages.forEach((jsonName, storage) -> {
+                if (shards.containsKey(jsonName)) return;
+
+                try {
+                    String json = toJsonText(storage.get(), storageTypes.get(storage));
+                    long hash = hashJson(json);
+                    if (Objects.equals(savedHashes.get(storage), hash)) return;
+
+                    WynntilsMod.warn("Storage " + jsonName + " was changed without being touched, saving it anyway");
+                    shards.put(jsonName, json);
+                    savedHashes.put(storage, hash);
+                } catch (Throwable t) {
+                    WynntilsMod.error("Failed to save storage " + jsonName, t);
+                }
+            });
+        }
+
+        JsonObject userStorageJson = null;
+        if (userStorageFileDirty) {
+            userStorageFileDirty = false;
+            userStorageJson = createUserStorageJson();
+        }
+
+        return new StorageSnapshot(shards, userStorageJson);
+    }
+
+    private void recordSavedHash(Storage<?> storage) {
+        try {
+            savedHashes.put(storage, hashJson(toJsonText(storage.get(), storageTypes.get(storage))));
+        } catch (Throwable t) {
+            // Without a hash, the storage is saved the next time untouched storages are checked
+            WynntilsMod.error("Failed to convert storage " + storageJsonNames.get(storage) + " to json", t);
+        }
+    }
+
+    private synchronized void writeSnapshot(StorageSnapshot snapshot) {
+        snapshot.shards().forEach((jsonName, json) -> Managers.Json.savePreciousJson(
+                getShardFile(jsonName), writer -> writer.name(jsonName).jsonValue(json)));
+
+        // The shards are written first, so the storages are never lost if we stop in between
+        if (snapshot.userStorageJson() != null) {
+            Managers.Json.savePreciousJson(userStorageFile, snapshot.userStorageJson());
+        }
+    }
+
+    private JsonObject createUserStorageJson() {
+        JsonObject userStorageJson = new JsonObject();
+
+        // Save upfixers
+        String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
+        userStorageJson.add(upfixerJsonMemberName, storageObject.get(upfixerJsonMemberName));
+
+        return userStorageJson;
     }
 
     private void runUpfixers() {
-        storageObject = Managers.Json.loadPreciousJson(userStorageFile);
+        storageObject = loadStorageJson();
 
         // Now, we have to apply upfixers, before any storage loading happens
         // FIXME: Solve generics type issue
         Set<PersistedValue<?>> workaround = new HashSet<>(storages.values());
         if (Managers.Upfixer.runUpfixers(storageObject, workaround, UpfixerType.STORAGE)) {
-            Managers.Json.savePreciousJson(userStorageFile, storageObject);
+            saveUpfixedStorageJson();
 
             // No need to re-read the storage file after upfixing, as we're about to read it anyway
         }
     }
 
+    private void saveUpfixedStorageJson() {
+        Map<String, String> shards = new TreeMap<>();
+        storages.keySet().forEach(jsonName -> {
+            if (storageObject.has(jsonName)) {
+                shards.put(jsonName, toJsonText(storageObject.get(jsonName), JsonElement.class));
+            }
+        });
+        writeSnapshot(new StorageSnapshot(shards, createUserStorageJson()));
+
+        // Upfixers can rename storages, so shards of unknown storages would otherwise be loaded again
+        File[] shardFiles = userShardDir.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX));
+        for (File shardFile : shardFiles != null ? shardFiles : new File[0]) {
+            if (!shards.containsKey(getShardJsonName(shardFile))) {
+                FileUtils.deleteFile(shardFile);
+            }
+        }
+    }
+
+    /**
+     * Loads the user storage file, with the storages from the shards added to it.
+     */
+    private JsonObject loadStorageJson() {
+        JsonObject storageJson = loadUserStorageJson();
+
+        File[] shardFiles = userShardDir.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX));
+        for (File shardFile : shardFiles != null ? shardFiles : new File[0]) {
+            JsonObject shardJson = Managers.Json.loadPreciousJson(shardFile);
+            shardJson.entrySet().forEach(entry -> storageJson.add(entry.getKey(), entry.getValue()));
+        }
+
+        return storageJson;
+    }
+
+    /**
+     * Loads the user storage file, marking the storages it still holds to be moved to shards.
+     */
+    private JsonObject loadUserStorageJson() {
+        JsonObject storageJson = Managers.Json.loadPreciousJson(userStorageFile);
+
+        // Storages are only kept in the user storage file by older versions, and should be moved to shards
+        String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
+        for (String memberName : storageJson.keySet()) {
+            if (memberName.equals(upfixerJsonMemberName)) continue;
+
+            Storage<?> storage = storages.get(memberName);
+            if (storage != null) {
+                dirtyStorages.add(storage);
+            }
+            userStorageFileDirty = true;
+        }
+
+        return storageJson;
+    }
+
     private void readFromJson() {
-        storageObject = Managers.Json.loadPreciousJson(userStorageFile);
+        storageObject = loadUserStorageJson();
+
+        // Values are read straight from the shard files, without building a json tree for them
+        Map<String, Object> values = new HashMap<>();
+        File[] shardFiles = userShardDir.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX));
+        for (File shardFile : shardFiles != null ? shardFiles : new File[0]) {
+            Managers.Json.loadPreciousJson(shardFile, (jsonName, reader) -> {
+                Storage<?> storage = storages.get(jsonName);
+                if (storage == null) {
+                    reader.skipValue();
+                    return;
+                }
+
+                values.put(jsonName, Managers.Json.GSON.fromJson(reader, storageTypes.get(storage)));
+            });
+        }
+
+        // Storages saved by older versions are only used if they have no shard yet
         storages.forEach((jsonName, storage) -> {
-            if (!storageObject.has(jsonName)) {
+            if (!values.containsKey(jsonName) && storageObject.has(jsonName)) {
+                Object value = Managers.Json.GSON.fromJson(storageObject.get(jsonName), storageTypes.get(storage));
+                values.put(jsonName, value);
+            }
+        });
+
+        storages.forEach((jsonName, storage) -> {
+            if (!values.containsKey(jsonName)) {
                 // Even though the storage is not present in the file,
                 // we still need to call onStorageLoad, otherwise
                 // it'll create the weird behavior of onStorageLoaded
@@ -156,32 +382,35 @@ public final class StorageManager extends Manager {
                 return;
             }
 
-            // read value and update option
-            JsonElement jsonElem = storageObject.get(jsonName);
-            Object value = Managers.Json.GSON.fromJson(jsonElem, storageTypes.get(storage));
-            Managers.Persisted.setRaw(storage, value);
+            // update option with the value that was read
+            Managers.Persisted.setRaw(storage, values.get(jsonName));
 
             Storageable owner = storageOwner.get(storage);
             owner.onStorageLoad(storage);
         });
     }
 
-    private synchronized void writeToJson() {
-        JsonObject storageJson = new JsonObject();
+    // Compact, as the text is copied as it is into the pretty printed shard files. Other settings of the writer,
+    // such as serializing nulls, are replaced by those of GSON while it writes.
+    private static String toJsonText(Object value, Type type) {
+        StringWriter stringWriter = new StringWriter();
+        JsonWriter writer = new JsonWriter(stringWriter);
+        Managers.Json.GSON.toJson(value, type, writer);
+        return stringWriter.toString();
+    }
 
-        // Save upfixers
-        String upfixerJsonMemberName = Managers.Upfixer.UPFIXER_JSON_MEMBER_NAME;
-        storageJson.add(upfixerJsonMemberName, storageObject.get(upfixerJsonMemberName));
+    private static long hashJson(String json) {
+        return Hashing.murmur3_128().hashUnencodedChars(json).asLong();
+    }
 
-        storages.forEach((jsonName, storage) -> {
-            try {
-                JsonElement jsonElem = Managers.Json.GSON.toJsonTree(storage.get(), storageTypes.get(storage));
-                storageJson.add(jsonName, jsonElem);
-            } catch (Throwable t) {
-                WynntilsMod.error("Failed to save storage " + jsonName, t);
-            }
-        });
+    private File getShardFile(String jsonName) {
+        return new File(userShardDir, jsonName + SHARD_SUFFIX);
+    }
 
-        Managers.Json.savePreciousJson(userStorageFile, storageJson);
+    private static String getShardJsonName(File shardFile) {
+        String name = shardFile.getName();
+        return name.substring(0, name.length() - SHARD_SUFFIX.length());
     }
+
+    private record StorageSnapshot(Map<String, String> shards, JsonObject userStorageJson) {}
 }
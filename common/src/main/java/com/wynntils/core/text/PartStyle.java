@@ -4,6 +4,8 @@
  */
 package com.wynntils.core.text;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.wynntils.utils.colors.CustomColor;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -26,7 +28,9 @@ public final class PartStyle {
                     (map, cf) -> map.put(cf.getColor() | 0xFF000000, cf),
                     Int2ObjectMap::putAll);
 
-    private final StyledTextPart owner;
+    // PartStyles are immutable values, so identical styles are shared between all parts (and all texts),
+    // instead of every part carrying its own copy
+    private static final Interner<PartStyle> INTERNER = Interners.newWeakInterner();
 
     private final CustomColor color;
     private final CustomColor shadowColor;
@@ -39,8 +43,9 @@ public final class PartStyle {
     private final HoverEvent hoverEvent;
     private final ResourceLocation font;
 
+    private final int hashCode;
+
     private PartStyle(
-            StyledTextPart owner,
             CustomColor color,
             CustomColor shadowColor,
             boolean obfuscated,
@@ -51,7 +56,6 @@ public final class PartStyle {
             ClickEvent clickEvent,
             HoverEvent hoverEvent,
             ResourceLocation font) {
-        this.owner = owner;
         this.color = color;
         this.shadowColor = shadowColor;
         this.obfuscated = obfuscated;
@@ -62,23 +66,27 @@ public final class PartStyle {
         this.clickEvent = clickEvent;
         this.hoverEvent = hoverEvent;
         this.font = font;
+
+        this.hashCode = Objects.hash(
+                color, shadowColor, obfuscated, bold, strikethrough, underlined, italic, clickEvent, hoverEvent, font);
     }
 
-    PartStyle(PartStyle partStyle, StyledTextPart owner) {
-        this.owner = owner;
-        this.color = partStyle.color;
-        this.shadowColor = partStyle.shadowColor;
-        this.obfuscated = partStyle.obfuscated;
-        this.bold = partStyle.bold;
-        this.strikethrough = partStyle.strikethrough;
-        this.underlined = partStyle.underlined;
-        this.italic = partStyle.italic;
-        this.clickEvent = partStyle.clickEvent;
-        this.hoverEvent = partStyle.hoverEvent;
-        this.font = partStyle.font;
+    private static PartStyle of(
+            CustomColor color,
+            CustomColor shadowColor,
+            boolean obfuscated,
+            boolean bold,
+            boolean strikethrough,
+            boolean underlined,
+            boolean italic,
+            ClickEvent clickEvent,
+            HoverEvent hoverEvent,
+            ResourceLocation font) {
+        return INTERNER.intern(new PartStyle(
+                color, shadowColor, obfuscated, bold, strikethrough, underlined, italic, clickEvent, hoverEvent, font));
     }
 
-    static PartStyle fromStyle(Style style, StyledTextPart owner, Style parentStyle) {
+    static PartStyle fromStyle(Style style, Style parentStyle) {
         Style inheritedStyle;
 
         if (parentStyle == null) {
@@ -88,8 +96,7 @@ public final class PartStyle {
             inheritedStyle = style.applyTo(parentStyle);
         }
 
-        return new PartStyle(
-                owner,
+        return of(
                 inheritedStyle.getColor() == null
                         ? CustomColor.NONE
                         : CustomColor.fromInt(inheritedStyle.getColor().getValue() | 0xFF000000),
@@ -106,7 +113,16 @@ public final class PartStyle {
                 inheritedStyle.getFont());
     }
 
-    public String asString(PartStyle previousStyle, StyleType type) {
+    /**
+     * Converts this style to a formatting code string.
+     *
+     * @param previousStyle the style of the preceding part, or null if this is the first part
+     * @param type          the style type to use
+     * @param parent        the text this style is rendered in, used to resolve event indexes;
+     *                      if null, events are not included
+     * @return the formatting code string
+     */
+    String asString(PartStyle previousStyle, StyleType type, StyledText parent) {
         // Rules of converting a Style to a String:
         // Every style is prefixed with a §.
         // 0. Every style string is fully qualified, meaning that it contains all the formatting, and reset if needed.
@@ -116,10 +132,10 @@ public final class PartStyle {
         //    Example: §#FF0000 or §1
         // 2. Formatting is converted the same way as in the Style class.
         // 3. Click events are wrapped in square brackets, and is represented as an id.
-        //    The parent of this style's owner is responsible for keeping track of click events.
+        //    The text this style is rendered in is responsible for keeping track of click events.
         //    Example: §[1] -> (1st click event)
         // 4. Hover events are wrapped in angle brackets, and is represented as an id.
-        //    The parent of this style's owner is responsible for keeping track of hover events.
+        //    The text this style is rendered in is responsible for keeping track of hover events.
         //    Example: §<1> -> (1st hover event)
 
         if (type == StyleType.NONE) return "";
@@ -133,7 +149,8 @@ public final class PartStyle {
         // If the current color is NONE, we NEED to try to construct a difference,
         // since there will be no color formatting resetting the formatting afterwards.
         if (previousStyle != null && (color == CustomColor.NONE || previousStyle.color.equals(color))) {
-            String differenceString = this.tryConstructDifference(previousStyle, type == StyleType.INCLUDE_EVENTS);
+            String differenceString =
+                    this.tryConstructDifference(previousStyle, type == StyleType.INCLUDE_EVENTS, parent);
 
             if (differenceString != null) {
                 styleString.append(differenceString);
@@ -172,13 +189,13 @@ public final class PartStyle {
                 styleString.append(STYLE_PREFIX).append(ChatFormatting.ITALIC.getChar());
             }
 
-            if (type == StyleType.INCLUDE_EVENTS) {
+            if (type == StyleType.INCLUDE_EVENTS && parent != null) {
                 // 3. Click event
                 if (clickEvent != null) {
                     styleString
                             .append(STYLE_PREFIX)
                             .append("[")
-                            .append(owner.getParent().getClickEventIndex(clickEvent))
+                            .append(parent.getClickEventIndex(clickEvent))
                             .append("]");
                 }
 
@@ -187,7 +204,7 @@ public final class PartStyle {
                     styleString
                             .append(STYLE_PREFIX)
                             .append("<")
-                            .append(owner.getParent().getHoverEventIndex(hoverEvent))
+                            .append(parent.getHoverEventIndex(hoverEvent))
                             .append(">");
                 }
             }
@@ -222,8 +239,7 @@ public final class PartStyle {
 
         CustomColor newColor = CustomColor.fromInt(color.getColor() | 0xFF000000);
 
-        return new PartStyle(
-                owner,
+        return of(
                 newColor,
                 shadowColor,
                 obfuscated,
@@ -237,8 +253,7 @@ public final class PartStyle {
     }
 
     public PartStyle withColor(CustomColor color) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -292,8 +307,7 @@ public final class PartStyle {
     }
 
     public PartStyle withShadowColor(CustomColor shadowColor) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -307,8 +321,7 @@ public final class PartStyle {
     }
 
     public PartStyle withBold(boolean bold) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -322,8 +335,7 @@ public final class PartStyle {
     }
 
     public PartStyle withObfuscated(boolean obfuscated) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -337,8 +349,7 @@ public final class PartStyle {
     }
 
     public PartStyle withStrikethrough(boolean strikethrough) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -352,8 +363,7 @@ public final class PartStyle {
     }
 
     public PartStyle withUnderlined(boolean underlined) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -367,8 +377,7 @@ public final class PartStyle {
     }
 
     public PartStyle withItalic(boolean italic) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -382,8 +391,7 @@ public final class PartStyle {
     }
 
     public PartStyle withClickEvent(ClickEvent clickEvent) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -397,8 +405,7 @@ public final class PartStyle {
     }
 
     public PartStyle withHoverEvent(HoverEvent hoverEvent) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -412,8 +419,7 @@ public final class PartStyle {
     }
 
     public PartStyle withFont(ResourceLocation font) {
-        return new PartStyle(
-                owner,
+        return of(
                 color,
                 shadowColor,
                 obfuscated,
@@ -426,7 +432,7 @@ public final class PartStyle {
                 font);
     }
 
-    private String tryConstructDifference(PartStyle oldStyle, boolean includeEvents) {
+    private String tryConstructDifference(PartStyle oldStyle, boolean includeEvents, StyledText parent) {
         StringBuilder add = new StringBuilder();
 
         int oldColorInt = oldStyle.color.asInt();
@@ -458,7 +464,7 @@ public final class PartStyle {
         if (oldStyle.italic && !this.italic) return null;
         if (!oldStyle.italic && this.italic) add.append(ChatFormatting.ITALIC);
 
-        if (includeEvents) {
+        if (includeEvents && parent != null) {
             // If there is a click event in the old style, but not in the new one, we can't construct a difference.
             // Otherwise, if the old style and the new style has different events, add the new event.
             // This can happen in two cases:
@@ -469,7 +475,7 @@ public final class PartStyle {
             if (oldStyle.clickEvent != this.clickEvent) {
                 add.append(STYLE_PREFIX)
                         .append("[")
-                        .append(owner.getParent().getClickEventIndex(clickEvent))
+                        .append(parent.getClickEventIndex(clickEvent))
                         .append("]");
             }
 
@@ -477,7 +483,7 @@ public final class PartStyle {
             if (oldStyle.hoverEvent != this.hoverEvent) {
                 add.append(STYLE_PREFIX)
                         .append("<")
-                        .append(owner.getParent().getHoverEventIndex(hoverEvent))
+                        .append(parent.getHoverEventIndex(hoverEvent))
                         .append(">");
             }
         }
@@ -488,7 +494,8 @@ public final class PartStyle {
     @Override
     public String toString() {
         return "PartStyle{" + "color="
-                + color + ", obfuscated="
+                + color + ", shadowColor="
+                + shadowColor + ", obfuscated="
                 + obfuscated + ", bold="
                 + bold + ", strikethrough="
                 + strikethrough + ", underlined="
@@ -504,12 +511,14 @@ public final class PartStyle {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         PartStyle partStyle = (PartStyle) o;
-        return obfuscated == partStyle.obfuscated
+        return hashCode == partStyle.hashCode
+                && obfuscated == partStyle.obfuscated
                 && bold == partStyle.bold
                 && strikethrough == partStyle.strikethrough
                 && underlined == partStyle.underlined
                 && italic == partStyle.italic
                 && Objects.equals(color, partStyle.color)
+                && Objects.equals(shadowColor, partStyle.shadowColor)
                 && Objects.equals(clickEvent, partStyle.clickEvent)
                 && Objects.equals(hoverEvent, partStyle.hoverEvent)
                 && Objects.equals(font, partStyle.font);
@@ -517,7 +526,7 @@ public final class PartStyle {
 
     @Override
     public int hashCode() {
-        return Objects.hash(color, obfuscated, bold, strikethrough, underlined, italic, clickEvent, hoverEvent, font);
+        return hashCode;
     }
 
     public enum StyleType {
@@ -4,6 +4,7 @@
  */
 package com.wynntils.core.text;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonDeserializationContext;
@@ -14,16 +15,14 @@ import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 import com.wynntils.utils.MathUtils;
 import com.wynntils.utils.type.IterationDecision;
-import com.wynntils.utils.type.Pair;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -32,9 +31,11 @@ import java.util.stream.Collectors;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.ComponentContents;
 import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.contents.PlainTextContents;
 
 public final class StyledText implements Iterable<StyledTextPart> {
     // High surrogate characters for the positive and negative space characters
@@ -44,20 +45,26 @@ public final class StyledText implements Iterable<StyledTextPart> {
 
     public static final StyledText EMPTY = new StyledText(List.of(), List.of(), List.of());
 
-    private final List<StyledTextPart> parts;
+    private static final ThreadLocal<ComponentStack> COMPONENT_STACK = ThreadLocal.withInitial(ComponentStack::new);
+
+    // Parts are immutable and not bound to a text, so derived texts share both the part instances
+    // and (for contiguous slices) the backing array with the text they were derived from
+    private final ImmutableList<StyledTextPart> parts;
 
     private final List<ClickEvent> clickEvents;
     private final List<HoverEvent> hoverEvents;
 
+    // StyledText is immutable, so string projections are built once, on first use, and cached.
+    // Racing threads can at worst build the same string twice, which is harmless.
+    private final String[] cachedStrings = new String[PartStyle.StyleType.values().length];
+    private int cachedHashCode;
+
     /**
      * Note: All callers of this constructor should ensure that the event lists are collected from the parts.
      * Additionally, they should ensure that the events are distinct.
      */
     private StyledText(List<StyledTextPart> parts, List<ClickEvent> clickEvents, List<HoverEvent> hoverEvents) {
-        this.parts = parts.stream()
-                .filter(styledTextPart -> !styledTextPart.isEmpty())
-                .map(styledTextPart -> new StyledTextPart(styledTextPart, this))
-                .collect(Collectors.toList());
+        this.parts = toImmutableParts(parts);
         this.clickEvents = Collections.unmodifiableList(clickEvents);
         this.hoverEvents = Collections.unmodifiableList(hoverEvents);
     }
@@ -68,35 +75,34 @@ public final class StyledText implements Iterable<StyledTextPart> {
         // Walk the component tree using DFS
         // Component#visit behaves weirdly, so we do it manually
         // Save the style of the parent component so we can inherit it
-        Deque<Pair<Component, Style>> deque = new LinkedList<>();
-
-        deque.add(new Pair<>(component, Style.EMPTY));
-
-        while (!deque.isEmpty()) {
-            Pair<Component, Style> currentPair = deque.pop();
-            Component current = currentPair.key();
-            Style parentStyle = currentPair.value();
-
-            // We use getContents here to get this and only this component's string.
-            String componentString =
-                    MutableComponent.create(current.getContents()).getString();
-
-            List<StyledTextPart> styledTextParts =
-                    StyledTextPart.fromCodedString(componentString, current.getStyle(), null, parentStyle);
-
-            // Only actual styles are inherited, string formatting codes are not
-            Style styleToFollowForChildren = current.getStyle().applyTo(parentStyle);
-
-            List<Pair<Component, Style>> siblingPairs = current.getSiblings().stream()
-                    .map(sibling -> new Pair<>(sibling, styleToFollowForChildren))
-                    .collect(Collectors.toList());
+        // This runs for every chat message and lore line, so the stack is reused per thread
+        ComponentStack stack = COMPONENT_STACK.get();
+        stack.clear();
+        stack.push(component, Style.EMPTY);
+
+        while (!stack.isEmpty()) {
+            Component current = stack.peekComponent();
+            Style parentStyle = stack.peekParentStyle();
+            stack.pop();
+
+            // Push the siblings in reverse order, so they are visited in order
+            List<Component> siblings = current.getSiblings();
+            if (!siblings.isEmpty()) {
+                // Only actual styles are inherited, string formatting codes are not
+                Style styleToFollowForChildren = current.getStyle().applyTo(parentStyle);
+
+                for (int i = siblings.size() - 1; i >= 0; i--) {
+                    stack.push(siblings.get(i), styleToFollowForChildren);
+                }
+            }
 
-            Collections.reverse(siblingPairs);
-            siblingPairs.forEach(deque::addFirst);
+            // We use the contents here to get this and only this component's string.
+            String componentString = getContentsString(current.getContents());
 
             // Disallow empty parts
-            parts.addAll(
-                    styledTextParts.stream().filter(part -> !part.isEmpty()).toList());
+            if (componentString.isEmpty()) continue;
+
+            parts.addAll(StyledTextPart.fromCodedString(componentString, current.getStyle(), null, parentStyle));
         }
 
         return fromParts(parts);
@@ -122,7 +128,7 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public static StyledText fromUnformattedString(String unformattedString) {
-        StyledTextPart part = new StyledTextPart(unformattedString, Style.EMPTY, null, Style.EMPTY);
+        StyledTextPart part = new StyledTextPart(unformattedString, Style.EMPTY, Style.EMPTY);
         return new StyledText(List.of(part), List.of(), List.of());
     }
 
@@ -132,17 +138,24 @@ public final class StyledText implements Iterable<StyledTextPart> {
 
     public static StyledText fromParts(List<StyledTextPart> parts) {
         // Collect the events
-        List<ClickEvent> clickEvents = new ArrayList<>();
-        List<HoverEvent> hoverEvents = new ArrayList<>();
+        // Most texts have no events at all, so only allocate the lists when needed
+        List<ClickEvent> clickEvents = List.of();
+        List<HoverEvent> hoverEvents = List.of();
 
         for (StyledTextPart part : parts) {
             ClickEvent clickEvent = part.getPartStyle().getClickEvent();
             if (clickEvent != null && !clickEvents.contains(clickEvent)) {
+                if (clickEvents.isEmpty()) {
+                    clickEvents = new ArrayList<>();
+                }
                 clickEvents.add(clickEvent);
             }
 
             HoverEvent hoverEvent = part.getPartStyle().getHoverEvent();
             if (hoverEvent != null && !hoverEvents.contains(hoverEvent)) {
+                if (hoverEvents.isEmpty()) {
+                    hoverEvents = new ArrayList<>();
+                }
                 hoverEvents.add(hoverEvent);
             }
         }
@@ -153,11 +166,24 @@ public final class StyledText implements Iterable<StyledTextPart> {
     // We don't want to expose the actual string to the outside world
     // If you need to do an operation with this string, implement it as a method
     public String getString(PartStyle.StyleType type) {
+        String string = cachedStrings[type.ordinal()];
+
+        if (string == null) {
+            string = buildString(type);
+            cachedStrings[type.ordinal()] = string;
+        }
+
+        return string;
+    }
+
+    private String buildString(PartStyle.StyleType type) {
+        if (parts.isEmpty()) return "";
+
         StringBuilder builder = new StringBuilder();
 
         PartStyle previousStyle = null;
         for (StyledTextPart part : parts) {
-            builder.append(part.getString(previousStyle, type));
+            builder.append(part.getString(previousStyle, type, this));
             previousStyle = part.getPartStyle();
         }
 
@@ -190,7 +216,7 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public int length() {
-        return parts.stream().mapToInt(StyledTextPart::length).sum();
+        return getString(PartStyle.StyleType.NONE).length();
     }
 
     public int length(PartStyle.StyleType styleType) {
@@ -226,10 +252,23 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public static StyledText concat(StyledText... texts) {
-        return fromParts(Arrays.stream(texts)
-                .map(text -> text.parts)
-                .flatMap(List::stream)
-                .toList());
+        ImmutableList.Builder<StyledTextPart> builder = ImmutableList.builder();
+        StyledText onlyNonEmptyText = null;
+        int nonEmptyTexts = 0;
+
+        for (StyledText text : texts) {
+            if (text.isEmpty()) continue;
+
+            onlyNonEmptyText = text;
+            nonEmptyTexts++;
+            builder.addAll(text.parts);
+        }
+
+        // Concatenating a single text with empty ones yields the same text
+        if (nonEmptyTexts == 0) return EMPTY;
+        if (nonEmptyTexts == 1) return onlyNonEmptyText;
+
+        return fromParts(builder.build());
     }
 
     public static StyledText concat(Iterable<StyledText> texts) {
@@ -237,7 +276,16 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public StyledText getNormalized() {
-        return fromParts(parts.stream().map(StyledTextPart::asNormalized).collect(Collectors.toList()));
+        ImmutableList.Builder<StyledTextPart> builder = ImmutableList.builderWithExpectedSize(parts.size());
+        boolean changed = false;
+
+        for (StyledTextPart part : parts) {
+            StyledTextPart normalizedPart = part.asNormalized();
+            changed |= normalizedPart != part;
+            builder.add(normalizedPart);
+        }
+
+        return changed ? fromParts(builder.build()) : this;
     }
 
     /**
@@ -272,7 +320,7 @@ public final class StyledText implements Iterable<StyledTextPart> {
                 functionParts.set(
                         0,
                         new StyledTextPart(
-                                builder.toString(), part.getPartStyle().getStyle(), null, Style.EMPTY));
+                                builder.toString(), part.getPartStyle().getStyle(), Style.EMPTY));
             }
 
             return IterationDecision.CONTINUE;
@@ -284,11 +332,20 @@ public final class StyledText implements Iterable<StyledTextPart> {
             return this;
         }
 
-        List<StyledTextPart> newParts = new ArrayList<>(parts);
-        newParts.set(0, newParts.getFirst().stripLeading());
+        StyledTextPart firstPart = parts.getFirst().stripLeading();
+        StyledTextPart lastPart = (parts.size() == 1 ? firstPart : parts.getLast()).stripTrailing();
 
-        int lastIndex = newParts.size() - 1;
-        newParts.set(lastIndex, newParts.get(lastIndex).stripTrailing());
+        if (parts.size() == 1) {
+            return lastPart == parts.getFirst() ? this : fromPart(lastPart);
+        }
+
+        if (firstPart == parts.getFirst() && lastPart == parts.getLast()) {
+            return this;
+        }
+
+        List<StyledTextPart> newParts = new ArrayList<>(parts);
+        newParts.set(0, firstPart);
+        newParts.set(newParts.size() - 1, lastPart);
 
         return fromParts(newParts);
     }
@@ -382,9 +439,10 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public StyledText appendPart(StyledTextPart part) {
-        List<StyledTextPart> newParts = new ArrayList<>(parts);
-        newParts.add(part);
-        return fromParts(newParts);
+        return fromParts(ImmutableList.<StyledTextPart>builderWithExpectedSize(parts.size() + 1)
+                .addAll(parts)
+                .add(part)
+                .build());
     }
 
     public StyledText prepend(StyledText styledText) {
@@ -396,9 +454,10 @@ public final class StyledText implements Iterable<StyledTextPart> {
     }
 
     public StyledText prependPart(StyledTextPart part) {
-        List<StyledTextPart> newParts = new ArrayList<>(parts);
-        newParts.addFirst(part);
-        return fromParts(newParts);
+        return fromParts(ImmutableList.<StyledTextPart>builderWithExpectedSize(parts.size() + 1)
+                .add(part)
+                .addAll(parts)
+                .build());
     }
 
     /**
@@ -438,7 +497,7 @@ public final class StyledText implements Iterable<StyledTextPart> {
                 for (int j = 0; j < stringParts.size(); j++) {
                     String stringPart = stringParts.get(j);
                     splitParts.add(
-                            new StyledTextPart(stringPart, part.getPartStyle().getStyle(), null, Style.EMPTY));
+                            new StyledTextPart(stringPart, part.getPartStyle().getStyle(), Style.EMPTY));
 
                     // If this is the last part, then we might need to add other parts
                     if (j != stringParts.size() - 1) {
@@ -500,10 +559,20 @@ public final class StyledText implements Iterable<StyledTextPart> {
         int currentIndex = 0;
         PartStyle previousPartStyle = null;
 
-        for (StyledTextPart part : parts) {
-            if (currentIndex >= beginIndex && currentIndex + part.length() < endIndex) {
+        // If only full parts are included, they form a contiguous range we can share with this text
+        int firstIncludedIndex = -1;
+        boolean onlyFullParts = true;
+
+        for (int i = 0; i < parts.size(); i++) {
+            StyledTextPart part = parts.get(i);
+            String fullString = part.getString(previousPartStyle, styleType, this);
+
+            if (currentIndex >= beginIndex && currentIndex + fullString.length() <= endIndex) {
                 // 1. This full part is included
 
+                if (firstIncludedIndex == -1) {
+                    firstIncludedIndex = i;
+                }
                 includedParts.add(part);
             } else if (MathUtils.rangesIntersect(
                     currentIndex, currentIndex + part.length(), beginIndex, endIndex - 1)) {
@@ -512,8 +581,6 @@ public final class StyledText implements Iterable<StyledTextPart> {
                 int startIndexInPart = Math.max(0, beginIndex - currentIndex);
                 int endIndexInPart = Math.min(part.length(), endIndex - currentIndex);
 
-                String fullString = part.getString(previousPartStyle, styleType);
-
                 String beforeSubstring = fullString.substring(0, startIndexInPart);
                 String includedSubstring = fullString.substring(startIndexInPart, endIndexInPart);
 
@@ -524,15 +591,25 @@ public final class StyledText implements Iterable<StyledTextPart> {
                 }
 
                 // Reparse the string to drop the formatting codes and keep them as part styles
-                includedParts.addAll(StyledTextPart.fromCodedString(
-                        includedSubstring, part.getPartStyle().getStyle(), null, Style.EMPTY));
+                List<StyledTextPart> reparsedParts = StyledTextPart.fromCodedString(
+                        includedSubstring, part.getPartStyle().getStyle(), null, Style.EMPTY);
+                if (!reparsedParts.isEmpty()) {
+                    includedParts.addAll(reparsedParts);
+                    onlyFullParts = false;
+                }
             }
 
-            currentIndex += part.getString(previousPartStyle, styleType).length();
+            currentIndex += fullString.length();
 
             previousPartStyle = part.getPartStyle();
         }
 
+        if (onlyFullParts && firstIncludedIndex != -1) {
+            if (includedParts.size() == parts.size()) return this;
+
+            return fromParts(parts.subList(firstIncludedIndex, firstIncludedIndex + includedParts.size()));
+        }
+
         return fromParts(includedParts);
     }
 
@@ -592,9 +669,8 @@ public final class StyledText implements Iterable<StyledTextPart> {
      * @return the new {@link StyledText}
      */
     public StyledText replaceFirst(Pattern pattern, String replacement) {
-        List<StyledTextPart> newParts = new ArrayList<>();
-
-        for (StyledTextPart part : parts) {
+        for (int i = 0; i < parts.size(); i++) {
+            StyledTextPart part = parts.get(i);
             String partString = part.getString(null, PartStyle.StyleType.NONE);
 
             Matcher matcher = pattern.matcher(partString);
@@ -602,17 +678,16 @@ public final class StyledText implements Iterable<StyledTextPart> {
             if (matcher.find()) {
                 String replacedString = matcher.replaceFirst(replacement);
 
-                newParts.add(
-                        new StyledTextPart(replacedString, part.getPartStyle().getStyle(), null, Style.EMPTY));
-
-                newParts.addAll(parts.subList(parts.indexOf(part) + 1, parts.size()));
-                break;
+                return fromParts(ImmutableList.<StyledTextPart>builderWithExpectedSize(parts.size())
+                        .addAll(parts.subList(0, i))
+                        .add(new StyledTextPart(replacedString, part.getPartStyle().getStyle(), Style.EMPTY))
+                        .addAll(parts.subList(i + 1, parts.size()))
+                        .build());
             }
-
-            newParts.add(part);
         }
 
-        return fromParts(newParts);
+        // Nothing to replace, so the text is unchanged
+        return this;
     }
 
     /**
@@ -636,7 +711,8 @@ public final class StyledText implements Iterable<StyledTextPart> {
      * @return the new {@link StyledText}
      */
     public StyledText replaceAll(Pattern pattern, String replacement) {
-        List<StyledTextPart> newParts = new ArrayList<>();
+        List<StyledTextPart> newParts = new ArrayList<>(parts.size());
+        boolean changed = false;
 
         for (StyledTextPart part : parts) {
             String partString = part.getString(null, PartStyle.StyleType.NONE);
@@ -647,13 +723,14 @@ public final class StyledText implements Iterable<StyledTextPart> {
                 String replacedString = matcher.replaceAll(replacement);
 
                 newParts.add(
-                        new StyledTextPart(replacedString, part.getPartStyle().getStyle(), null, Style.EMPTY));
+                        new StyledTextPart(replacedString, part.getPartStyle().getStyle(), Style.EMPTY));
+                changed = true;
             } else {
                 newParts.add(part);
             }
         }
 
-        return fromParts(newParts);
+        return changed ? fromParts(newParts) : this;
     }
 
     /**
@@ -715,7 +792,7 @@ public final class StyledText implements Iterable<StyledTextPart> {
         return iterate((part, functionParts) -> {
             functionParts.set(
                     0,
-                    new StyledTextPart(part.getString(null, PartStyle.StyleType.NONE), Style.EMPTY, null, Style.EMPTY));
+                    new StyledTextPart(part.getString(null, PartStyle.StyleType.NONE), Style.EMPTY, Style.EMPTY));
             return IterationDecision.CONTINUE;
         });
     }
@@ -792,6 +869,43 @@ public final class StyledText implements Iterable<StyledTextPart> {
         return Iterables.get(hoverEvents, index - 1, null);
     }
 
+    private static String getContentsString(ComponentContents contents) {
+        // Literal text is by far the most common case, and needs no visiting
+        if (contents instanceof PlainTextContents plainTextContents) {
+            return plainTextContents.text();
+        }
+
+        StringBuilder builder = new StringBuilder();
+        contents.visit(string -> {
+            builder.append(string);
+            return Optional.empty();
+        });
+        return builder.toString();
+    }
+
+    private static ImmutableList<StyledTextPart> toImmutableParts(List<StyledTextPart> parts) {
+        // An immutable list (or a slice of one) without empty parts can be shared as-is
+        if (parts instanceof ImmutableList<StyledTextPart> immutableParts && !containsEmptyPart(immutableParts)) {
+            return immutableParts;
+        }
+
+        ImmutableList.Builder<StyledTextPart> builder = ImmutableList.builderWithExpectedSize(parts.size());
+        for (StyledTextPart part : parts) {
+            // Disallow empty parts
+            if (!part.isEmpty()) {
+                builder.add(part);
+            }
+        }
+        return builder.build();
+    }
+
+    private static boolean containsEmptyPart(List<StyledTextPart> parts) {
+        for (StyledTextPart part : parts) {
+            if (part.isEmpty()) return true;
+        }
+        return false;
+    }
+
     private StyledTextPart getPartBefore(StyledTextPart part) {
         int index = parts.indexOf(part);
         if (index == 0) {
@@ -823,7 +937,61 @@ public final class StyledText implements Iterable<StyledTextPart> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(parts, clickEvents, hoverEvents);
+        int hashCode = cachedHashCode;
+
+        if (hashCode == 0) {
+            hashCode = Objects.hash(parts, clickEvents, hoverEvents);
+            cachedHashCode = hashCode;
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * A simple stack of components and their parent styles, used to walk component trees without
+     * allocating a node per component.
+     */
+    private static final class ComponentStack {
+        private Component[] components = new Component[16];
+        private Style[] parentStyles = new Style[16];
+        private int size = 0;
+
+        private void push(Component component, Style parentStyle) {
+            if (size == components.length) {
+                components = Arrays.copyOf(components, size * 2);
+                parentStyles = Arrays.copyOf(parentStyles, size * 2);
+            }
+
+            components[size] = component;
+            parentStyles[size] = parentStyle;
+            size++;
+        }
+
+        private Component peekComponent() {
+            return components[size - 1];
+        }
+
+        private Style peekParentStyle() {
+            return parentStyles[size - 1];
+        }
+
+        private void pop() {
+            size--;
+
+            // Don't keep references to components alive
+            components[size] = null;
+            parentStyles[size] = null;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void clear() {
+            Arrays.fill(components, 0, size, null);
+            Arrays.fill(parentStyles, 0, size, null);
+            size = 0;
+        }
     }
 
     public static class StyledTextSerializer implements JsonSerializer<StyledText>, JsonDeserializer<StyledText> {
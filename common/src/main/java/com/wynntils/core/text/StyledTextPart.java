@@ -25,26 +25,16 @@ public final class StyledTextPart {
     private final String text;
     private final PartStyle style;
 
-    private final StyledText parent;
-
-    public StyledTextPart(String text, Style style, StyledText parent, Style parentStyle) {
-        this.parent = parent;
+    // Parts do not know which text they belong to, so they can be shared between texts.
+    // Anything depending on the containing text (like event indexes) is resolved by the text itself.
+    public StyledTextPart(String text, Style style, Style parentStyle) {
         this.text = text;
-
-        // Must be done last
-        this.style = PartStyle.fromStyle(style, this, parentStyle);
+        this.style = PartStyle.fromStyle(style, parentStyle);
     }
 
-    StyledTextPart(StyledTextPart part, StyledText parent) {
-        this.text = part.text;
-        this.style = new PartStyle(part.style, this);
-        this.parent = parent;
-    }
-
-    private StyledTextPart(StyledTextPart part, PartStyle style, StyledText parent) {
-        this.text = part.text;
+    private StyledTextPart(String text, PartStyle style) {
+        this.text = text;
         this.style = style;
-        this.parent = parent;
     }
 
     // This factory is used to create a StyledTextPart from a component that has formatting codes
@@ -109,7 +99,7 @@ public final class StyledTextPart {
                     }
                     // But if the style is empty, we might have parsed events from the string itself
 
-                    parts.add(new StyledTextPart(currentString.toString(), currentStyle, null, parentStyle));
+                    parts.add(new StyledTextPart(currentString.toString(), currentStyle, parentStyle));
 
                     // reset string
                     // style is not reset, because we want to keep the formatting
@@ -174,7 +164,7 @@ public final class StyledTextPart {
                         }
                         // But if the style is empty, we might have parsed events from the string itself
 
-                        parts.add(new StyledTextPart(currentString.toString(), oldStyle, null, parentStyle));
+                        parts.add(new StyledTextPart(currentString.toString(), oldStyle, parentStyle));
 
                         // reset string
                         // style is not reset, because we want to keep the formatting
@@ -219,7 +209,7 @@ public final class StyledTextPart {
                         }
                         // But if the style is empty, we might have parsed events from the string itself
 
-                        parts.add(new StyledTextPart(currentString.toString(), currentStyle, null, parentStyle));
+                        parts.add(new StyledTextPart(currentString.toString(), currentStyle, parentStyle));
 
                         // reset string
                         // style is not reset, because we want to keep the formatting
@@ -248,7 +238,7 @@ public final class StyledTextPart {
                 currentStyle =
                         currentStyle.withClickEvent(style.getClickEvent()).withHoverEvent(style.getHoverEvent());
             }
-            parts.add(new StyledTextPart(currentString.toString(), currentStyle, null, parentStyle));
+            parts.add(new StyledTextPart(currentString.toString(), currentStyle, parentStyle));
         }
 
         return parts;
@@ -258,7 +248,7 @@ public final class StyledTextPart {
     // Parser located at https://github.com/Wynntils/Static-Storage/blob/main/Utils/html_parser.py
     static List<StyledTextPart> fromJson(JsonArray jsonArray) {
         if (jsonArray.isEmpty()) {
-            return List.of(new StyledTextPart("", Style.EMPTY, null, Style.EMPTY));
+            return List.of(new StyledTextPart("", Style.EMPTY, Style.EMPTY));
         }
 
         List<StyledTextPart> parts = new ArrayList<>();
@@ -302,19 +292,26 @@ public final class StyledTextPart {
                     }
                 }
 
-                parts.add(new StyledTextPart(text, style, null, Style.EMPTY));
+                parts.add(new StyledTextPart(text, style, Style.EMPTY));
             }
         }
 
         return parts;
     }
 
+    /**
+     * Returns the string representation of this part.
+     * <p> Note that as parts are not bound to a text, {@link PartStyle.StyleType#INCLUDE_EVENTS} does not include
+     * events here. Use {@link StyledText#getString(PartStyle.StyleType)} for that.
+     */
     public String getString(PartStyle previousStyle, PartStyle.StyleType type) {
-        return style.asString(previousStyle, type) + text;
+        return getString(previousStyle, type, null);
     }
 
-    public StyledText getParent() {
-        return parent;
+    String getString(PartStyle previousStyle, PartStyle.StyleType type, StyledText parent) {
+        if (type == PartStyle.StyleType.NONE) return text;
+
+        return style.asString(previousStyle, type, parent) + text;
     }
 
     public PartStyle getPartStyle() {
@@ -322,7 +319,9 @@ public final class StyledTextPart {
     }
 
     public StyledTextPart withStyle(PartStyle style) {
-        return new StyledTextPart(this, style, parent);
+        if (this.style == style) return this;
+
+        return new StyledTextPart(text, style);
     }
 
     public StyledTextPart withStyle(Function<PartStyle, PartStyle> function) {
@@ -334,15 +333,22 @@ public final class StyledTextPart {
     }
 
     StyledTextPart asNormalized() {
-        return new StyledTextPart(WynnUtils.normalizeBadString(text), style.getStyle(), parent, null);
+        return withText(WynnUtils.normalizeBadString(text));
     }
 
     StyledTextPart stripLeading() {
-        return new StyledTextPart(text.stripLeading(), style.getStyle(), parent, null);
+        return withText(text.stripLeading());
     }
 
     StyledTextPart stripTrailing() {
-        return new StyledTextPart(text.stripTrailing(), style.getStyle(), parent, null);
+        return withText(text.stripTrailing());
+    }
+
+    // Unchanged parts are returned as-is, so derived texts can share them with their source
+    private StyledTextPart withText(String newText) {
+        if (text.equals(newText)) return this;
+
+        return new StyledTextPart(newText, style);
     }
 
     boolean isEmpty() {
@@ -87,9 +87,9 @@ public class ChatCoordinatesFeature extends Feature {
 
                 PartStyle partStyle = partToReplace.getPartStyle();
 
-                StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
+                StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), Style.EMPTY);
                 StyledTextPart coordinate = StyledTextUtils.createLocationPart(location.get());
-                StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
+                StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), Style.EMPTY);
 
                 changes.remove(partToReplace);
                 changes.add(first);
@@ -208,11 +208,11 @@ public class ChatItemFeature extends Feature {
 
             PartStyle partStyle = partToReplace.getPartStyle();
 
-            StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
+            StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), Style.EMPTY);
             List<StyledTextPart> replacedParts = errorOrDecodedItem.hasError()
                     ? List.of(createErrorPart(matcher.group(), errorOrDecodedItem.getError()))
                     : createItemPart(errorOrDecodedItem.getValue());
-            StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
+            StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), Style.EMPTY);
 
             changes.remove(partToReplace);
             changes.add(first);
@@ -232,7 +232,7 @@ public class ChatItemFeature extends Feature {
                 HoverEvent.Action.SHOW_TEXT, Component.literal(error).withStyle(ChatFormatting.RED));
         style = style.withHoverEvent(hoverEvent);
 
-        return new StyledTextPart(originalString, style, null, Style.EMPTY);
+        return new StyledTextPart(originalString, style, Style.EMPTY);
     }
 
     private List<StyledTextPart> createItemPart(WynnItem wynnItem) {
@@ -258,7 +258,7 @@ public class ChatItemFeature extends Feature {
 
         if (wynnItem instanceof ShinyItemProperty shinyItemProperty
                 && shinyItemProperty.getShinyStat().isPresent()) {
-            parts.add(new StyledTextPart("⬡ ", Style.EMPTY.withColor(ChatFormatting.WHITE), null, Style.EMPTY));
+            parts.add(new StyledTextPart("⬡ ", Style.EMPTY.withColor(ChatFormatting.WHITE), Style.EMPTY));
         }
 
         Style style = Style.EMPTY.applyFormat(ChatFormatting.UNDERLINE).withColor(ChatFormatting.GOLD);
@@ -111,13 +111,12 @@ public class ChatMentionFeature extends Feature {
 
                     PartStyle partStyle = partToReplace.getPartStyle();
 
-                    StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), null, Style.EMPTY);
+                    StyledTextPart first = new StyledTextPart(firstPart, partStyle.getStyle(), Style.EMPTY);
                     StyledTextPart mention = new StyledTextPart(
                             mentionPart,
                             partStyle.getStyle().withColor(mentionColor.get().getChatFormatting()),
-                            null,
                             first.getPartStyle().getStyle());
-                    StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), null, Style.EMPTY);
+                    StyledTextPart last = new StyledTextPart(lastPart, partStyle.getStyle(), Style.EMPTY);
 
                     changes.remove(partToReplace);
                     changes.add(first);
@@ -0,0 +1,25 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.features.chat;
+
+import com.wynntils.core.components.Handlers;
+import com.wynntils.core.consumers.features.Feature;
+import com.wynntils.core.consumers.features.properties.StartDisabled;
+import com.wynntils.core.persisted.config.Category;
+import com.wynntils.core.persisted.config.ConfigCategory;
+
+@StartDisabled
+@ConfigCategory(Category.CHAT)
+public class OffThreadChatParsingFeature extends Feature {
+    @Override
+    public void onEnable() {
+        Handlers.Chat.setParsingPipelineEnabled(true);
+    }
+
+    @Override
+    public void onDisable() {
+        Handlers.Chat.setParsingPipelineEnabled(false);
+    }
+}
@@ -93,7 +93,7 @@ public class RevealNicknamesFeature extends Feature {
                                     StyledText.join("\n", newHoverTexts).getComponent()))
                             .getStyle();
 
-                    StyledTextPart newPart = new StyledTextPart(newText, newStyle, null, Style.EMPTY);
+                    StyledTextPart newPart = new StyledTextPart(newText, newStyle, Style.EMPTY);
                     changes.add(newPart);
                 }
                 case PREPEND_USERNAME -> {
@@ -106,11 +106,10 @@ public class RevealNicknamesFeature extends Feature {
                                     StyledText.join("\n", newHoverTexts).getComponent()))
                             .getStyle();
 
-                    StyledTextPart newPart = new StyledTextPart(username + "/", newStyle, null, Style.EMPTY);
+                    StyledTextPart newPart = new StyledTextPart(username + "/", newStyle, Style.EMPTY);
                     StyledTextPart oldPart = new StyledTextPart(
                             currentPart.getString(null, PartStyle.StyleType.NONE),
                             newStyle.withItalic(true),
-                            null,
                             Style.EMPTY);
 
                     changes.remove(currentPart);
@@ -71,7 +71,7 @@ public class AbbreviateMobHealthFeature extends Feature {
                 }
 
                 StyledTextPart newPart =
-                        new StyledTextPart(formattedHealth, part.getPartStyle().getStyle(), null, Style.EMPTY);
+                        new StyledTextPart(formattedHealth, part.getPartStyle().getStyle(), Style.EMPTY);
 
                 changes.remove(part);
                 changes.add(newPart);
@@ -1,11 +1,12 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.features.map;
 
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.components.Services;
 import com.wynntils.core.consumers.features.Feature;
 import com.wynntils.core.consumers.features.properties.RegisterKeyBind;
 import com.wynntils.core.keybinds.KeyBind;
@@ -20,6 +21,7 @@ import com.wynntils.models.containers.containers.reward.LootChestContainer;
 import com.wynntils.models.containers.type.LootChestTier;
 import com.wynntils.screens.maps.MainMapScreen;
 import com.wynntils.screens.maps.PoiCreationScreen;
+import com.wynntils.services.map.MapService;
 import com.wynntils.services.map.pois.CustomPoi;
 import com.wynntils.services.mapdata.providers.builtin.WaypointsProvider;
 import com.wynntils.utils.colors.CommonColors;
@@ -112,6 +114,9 @@ public class MainMapFeature extends Feature {
     @Persisted
     public final Config<Boolean> holdGuildMapOpen = new Config<>(true);
 
+    @Persisted
+    public final Config<Integer> mapTextureMemoryBudget = new Config<>(MapService.DEFAULT_TEXTURE_MEMORY_BUDGET_MB);
+
     private BlockPos lastChestPos;
 
     @RegisterKeyBind
@@ -192,10 +197,22 @@ public class MainMapFeature extends Feature {
         }
     }
 
+    @Override
+    public void onEnable() {
+        Services.Map.setTextureMemoryBudget(mapTextureMemoryBudget.get());
+    }
+
+    @Override
+    public void onDisable() {
+        Services.Map.setTextureMemoryBudget(MapService.DEFAULT_TEXTURE_MEMORY_BUDGET_MB);
+    }
+
     @Override
     protected void onConfigUpdate(Config<?> config) {
         if (config == customPois) {
             updateWaypoints();
+        } else if (config == mapTextureMemoryBudget) {
+            Services.Map.setTextureMemoryBudget(mapTextureMemoryBudget.get());
         }
     }
 
@@ -16,9 +16,13 @@ import com.wynntils.handlers.chat.type.MessageType;
 import com.wynntils.models.players.type.PlayerRank;
 import com.wynntils.utils.StringUtils;
 import com.wynntils.utils.mc.StyledTextUtils;
+import com.wynntils.utils.type.PatternPrefilter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -99,6 +103,8 @@ public class ChatRedirectFeature extends Feature {
     public final Config<RedirectAction> itemDropped = new Config<>(RedirectAction.REDIRECT);
 
     private final List<Redirector> redirectors = new ArrayList<>();
+    // Most messages match no redirector, so only the redirectors whose patterns could match are tried
+    private final Map<MessageType, PatternPrefilter<Redirector>> prefilters = new EnumMap<>(MessageType.class);
 
     public ChatRedirectFeature() {
         register(new BlacksmithRedirector());
@@ -136,6 +142,17 @@ public class ChatRedirectFeature extends Feature {
         register(new UnusedAbilityPointsRedirector());
         register(new UnusedSkillAndAbilityPointsRedirector());
         register(new UnusedSkillPointsRedirector());
+
+        for (MessageType messageType : MessageType.values()) {
+            LinkedHashMap<Redirector, Pattern> patterns = new LinkedHashMap<>();
+            for (Redirector redirector : redirectors) {
+                Pattern pattern = redirector.getPattern(messageType);
+                if (pattern != null) {
+                    patterns.put(redirector, pattern);
+                }
+            }
+            prefilters.put(messageType, new PatternPrefilter<>(patterns));
+        }
     }
 
     private void register(Redirector redirector) {
@@ -146,15 +163,13 @@ public class ChatRedirectFeature extends Feature {
     public void onChatMessage(ChatMessageReceivedEvent e) {
         StyledText message = StyledTextUtils.unwrap(e.getOriginalStyledText()).stripAlignment();
         MessageType messageType = e.getMessageType();
+        String messageString = message.getString();
 
-        for (Redirector redirector : redirectors) {
+        for (Redirector redirector : prefilters.get(messageType).getCandidates(messageString)) {
             RedirectAction action = redirector.getAction();
             if (action == RedirectAction.KEEP) continue;
 
-            Pattern pattern = redirector.getPattern(messageType);
-            if (pattern == null) continue;
-
-            Matcher matcher = message.getMatcher(pattern);
+            Matcher matcher = redirector.getPattern(messageType).matcher(messageString);
 
             if (matcher.find()) {
                 e.setCanceled(true);
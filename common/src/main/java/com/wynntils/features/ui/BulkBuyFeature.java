@@ -246,7 +246,7 @@ public class BulkBuyFeature extends Feature {
                         && part.getString(null, PartStyle.StyleType.NONE).equals("✔")) {
                     changes.remove(part);
                     StyledTextPart newPart = new StyledTextPart(
-                            "✖", part.getPartStyle().getStyle().withColor(ChatFormatting.RED), null, Style.EMPTY);
+                            "✖", part.getPartStyle().getStyle().withColor(ChatFormatting.RED), Style.EMPTY);
                     changes.add(newPart);
                 }
                 if (part.getString(null, PartStyle.StyleType.NONE).startsWith(priceMatcher.group(1))) {
@@ -254,7 +254,6 @@ public class BulkBuyFeature extends Feature {
                     StyledTextPart newPart = new StyledTextPart(
                             String.format(Locale.ROOT, "%,d² ", newPrice),
                             part.getPartStyle().getStyle(),
-                            null,
                             Style.EMPTY);
                     changes.add(newPart);
                     return IterationDecision.CONTINUE;
@@ -264,7 +263,6 @@ public class BulkBuyFeature extends Feature {
                     StyledTextPart newPart = new StyledTextPart(
                             "(" + Models.Emerald.getFormattedString(newPrice, false) + ")",
                             part.getPartStyle().getStyle(),
-                            null,
                             Style.EMPTY);
                     changes.add(newPart);
                     return IterationDecision.CONTINUE;
@@ -187,7 +187,7 @@ public class TranscribeMessagesFeature extends Feature {
 
         while (matcher.find()) {
             StyledTextPart partToBeTranslated =
-                    new StyledTextPart(matcher.group(), part.getPartStyle().getStyle(), null, Style.EMPTY);
+                    new StyledTextPart(matcher.group(), part.getPartStyle().getStyle(), Style.EMPTY);
             StyledTextPart transcribedPart = transcriptorFunction.apply(partToBeTranslated);
 
             if (matcher.start() > 0) {
@@ -204,7 +204,7 @@ public class TranscribeMessagesFeature extends Feature {
                                         .getColor())
                         : part.getPartStyle().getStyle();
 
-                newParts.add(new StyledTextPart(preText, style, null, Style.EMPTY));
+                newParts.add(new StyledTextPart(preText, style, Style.EMPTY));
             }
 
             newParts.add(transcribedPart);
@@ -214,7 +214,7 @@ public class TranscribeMessagesFeature extends Feature {
         }
 
         if (!partText.isEmpty()) {
-            newParts.add(new StyledTextPart(partText, part.getPartStyle().getStyle(), null, Style.EMPTY));
+            newParts.add(new StyledTextPart(partText, part.getPartStyle().getStyle(), Style.EMPTY));
         }
 
         return newParts;
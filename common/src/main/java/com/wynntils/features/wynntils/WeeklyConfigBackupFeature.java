@@ -74,6 +74,21 @@ public class WeeklyConfigBackupFeature extends Feature {
 
             WynntilsMod.info("Created backup of user storage file: " + storageBackupFile.getName());
 
+            File userShardDir = Managers.Storage.getUserShardDir();
+
+            if (userShardDir.isDirectory()) {
+                File shardBackupDir = new File(newBackupDir, userShardDir.getName());
+
+                try {
+                    FileUtils.copyDirectory(userShardDir, shardBackupDir);
+                } catch (Exception e) {
+                    WynntilsMod.warn("Failed to create backup of user storage shards: " + e.getMessage());
+                    return;
+                }
+
+                WynntilsMod.info("Created backup of user storage shards: " + shardBackupDir.getName());
+            }
+
             // Save the time of the backup after we've finished saving the backup
             lastBackup.store(currentTime);
         }
@@ -16,10 +16,22 @@ import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.type.IterationDecision;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.bus.api.SubscribeEvent;
 
+/**
+ * Splits the action bar into segments, using the registered {@link ActionBarSegmentMatcher}s.
+ * <p> A matched segment is removed from the text part it was found in, so segments can never span multiple parts.
+ * The action bar is therefore parsed part by part, and the segments found in a part are kept until the next
+ * update. When only some parts change (like the health and mana values during combat), the matchers are only run
+ * on the changed parts, and the segments of the other parts are reused. If a part has text no matcher could match,
+ * or a matcher matches in multiple parts, the whole action bar is parsed at once instead, as before.
+ */
 public final class ActionBarHandler extends Handler {
     private static final List<ResourceLocation> ACTION_BAR_FONTS = List.of(
             ResourceLocation.withDefaultNamespace("hud/gameplay/default/bottom_middle"),
@@ -36,8 +48,14 @@ public final class ActionBarHandler extends Handler {
     private StyledText lastParsedActionBarText = StyledText.EMPTY;
     private List<ActionBarSegment> lastMatchedSegments = new ArrayList<>();
 
+    // The parsed parts of the last action bar update, by the string of the part
+    private Map<String, ParsedPart> lastParsedParts = new HashMap<>();
+
     public void registerSegment(ActionBarSegmentMatcher segmentMatcher) {
         segmentMatchers.add(segmentMatcher);
+
+        // The new matcher could match text in parts that were already parsed
+        lastParsedParts = new HashMap<>();
     }
 
     @SubscribeEvent
@@ -106,13 +124,13 @@ public final class ActionBarHandler extends Handler {
         if (lastParsedActionBarText.equals(packetText)) {
             matchedSegments = lastMatchedSegments;
         } else {
-            matchedSegments = parseActionBarSegments(actionBarText);
+            matchedSegments = parseChangedParts(actionBarText);
 
             lastParsedActionBarText = packetText;
             lastMatchedSegments = matchedSegments;
 
             if (WynntilsMod.isDevelopmentBuild() || WynntilsMod.isDevelopmentEnvironment()) {
-                debugChecks(matchedSegments, actionBarText);
+                debugChecks(matchedSegments, actionBarText, parseActionBarSegments(actionBarText));
             }
 
             WynntilsMod.postEvent(new ActionBarUpdatedEvent(matchedSegments));
@@ -125,30 +143,111 @@ public final class ActionBarHandler extends Handler {
     public void onWorldStateChange(WorldStateEvent event) {
         lastParsedActionBarText = StyledText.EMPTY;
         lastMatchedSegments = new ArrayList<>();
+        lastParsedParts = new HashMap<>();
     }
 
     public List<ActionBarSegment> parseActionBarSegments(StyledText actionBarText) {
         List<ActionBarSegment> matchedSegments = new ArrayList<>();
 
-        for (ActionBarSegmentMatcher segmentMatcher : segmentMatchers) {
-            ActionBarSegment parsedSegment =
-                    segmentMatcher.parse(actionBarText.getString().replaceAll("%", ""));
-            if (parsedSegment == null) continue;
-
-            matchedSegments.add(parsedSegment);
-            actionBarText = actionBarText.replaceFirst(parsedSegment.getSegmentText(), "%");
-        }
+        StyledText leftoverText = matchAll(actionBarText, (matcherIndex, segment) -> matchedSegments.add(segment));
 
         // Check if there is any leftover text, add them as separate fallback segments
         // (as we could be missing a segment matcher in separate, not continuous parts of the action bar text)
-        Arrays.stream(actionBarText.split("%"))
+        Arrays.stream(leftoverText.split("%"))
                 .filter(text -> !text.isEmpty())
                 .forEach(part -> matchedSegments.add(FALLBACK_SEGMENT_MATCHER.parse(part.getString())));
 
         return matchedSegments;
     }
 
-    private static void debugChecks(List<ActionBarSegment> matchedSegments, StyledText actionBarText) {
+    /**
+     * Parses the action bar like {@link #parseActionBarSegments(StyledText)}, but only runs the matchers
+     * on the parts that changed since the last update.
+     */
+    private List<ActionBarSegment> parseChangedParts(StyledText actionBarText) {
+        Map<String, ParsedPart> parsedParts = new HashMap<>();
+        List<MatchedSegment> matchedSegments = new ArrayList<>();
+        BitSet usedMatchers = new BitSet();
+
+        for (StyledText partText : actionBarText.getPartsAsTextArray()) {
+            String partString = partText.getString();
+            if (partString.isEmpty()) continue;
+
+            ParsedPart parsedPart = parsedParts.get(partString);
+            if (parsedPart == null) {
+                parsedPart = lastParsedParts.get(partString);
+            }
+            if (parsedPart == null) {
+                parsedPart = parsePart(partText);
+            }
+            parsedParts.put(partString, parsedPart);
+
+            // The whole text has to be parsed to know which part a matcher should match in, and what the fallbacks are
+            if (parsedPart.hasLeftoverText() || parsedPart.matchers().intersects(usedMatchers)) {
+                lastParsedParts = new HashMap<>();
+                return parseActionBarSegments(actionBarText);
+            }
+
+            usedMatchers.or(parsedPart.matchers());
+            matchedSegments.addAll(parsedPart.segments());
+        }
+
+        lastParsedParts = parsedParts;
+
+        // Keep the order of the matchers, as parsing the whole text would
+        return matchedSegments.stream()
+                .sorted(Comparator.comparingInt(MatchedSegment::matcherIndex))
+                .map(MatchedSegment::segment)
+                .toList();
+    }
+
+    private ParsedPart parsePart(StyledText partText) {
+        List<MatchedSegment> segments = new ArrayList<>();
+        BitSet matchers = new BitSet();
+
+        StyledText leftoverText = matchAll(partText, (matcherIndex, segment) -> {
+            segments.add(new MatchedSegment(matcherIndex, segment));
+            matchers.set(matcherIndex);
+        });
+
+        boolean hasLeftoverText = Arrays.stream(leftoverText.split("%")).anyMatch(text -> !text.isEmpty());
+
+        return new ParsedPart(segments, matchers, hasLeftoverText);
+    }
+
+    /**
+     * Runs all matchers on the text, in order, replacing each matched segment with a "%".
+     * @return the text left after removing all matched segments
+     */
+    private StyledText matchAll(StyledText text, SegmentConsumer consumer) {
+        // Most matchers do not match, so only rebuild the string to match against when the text changes
+        String textString = text.getString().replace("%", "");
+
+        for (int i = 0; i < segmentMatchers.size(); i++) {
+            ActionBarSegment parsedSegment = segmentMatchers.get(i).parse(textString);
+            if (parsedSegment == null) continue;
+
+            consumer.accept(i, parsedSegment);
+            text = text.replaceFirst(parsedSegment.getSegmentText(), "%");
+            textString = text.getString().replace("%", "");
+        }
+
+        return text;
+    }
+
+    private static void debugChecks(
+            List<ActionBarSegment> matchedSegments,
+            StyledText actionBarText,
+            List<ActionBarSegment> fullyParsedSegments) {
+        List<String> segmentTexts = matchedSegments.stream().map(ActionBarSegment::getSegmentText).toList();
+        List<String> fullyParsedSegmentTexts = fullyParsedSegments.stream()
+                .map(ActionBarSegment::getSegmentText)
+                .toList();
+        if (!segmentTexts.equals(fullyParsedSegmentTexts)) {
+            WynntilsMod.warn("Parsing the action bar by parts gave different segments: " + matchedSegments
+                    + ", expected: " + fullyParsedSegments);
+        }
+
         List<ActionBarSegment> fallbackSegments = matchedSegments.stream()
                 .filter(segment -> segment instanceof FallbackSegment)
                 .toList();
@@ -161,6 +260,15 @@ public final class ActionBarHandler extends Handler {
         }
     }
 
+    @FunctionalInterface
+    private interface SegmentConsumer {
+        void accept(int matcherIndex, ActionBarSegment segment);
+    }
+
+    private record MatchedSegment(int matcherIndex, ActionBarSegment segment) {}
+
+    private record ParsedPart(List<MatchedSegment> segments, BitSet matchers, boolean hasLeftoverText) {}
+
     /**
      * A fallback matcher that matches any action bar text that doesn't match any other segment.
      * This is used to prevent the action bar text from being lost if it doesn't match any other segment.
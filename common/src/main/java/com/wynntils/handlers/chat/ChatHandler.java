@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.chat;
@@ -11,6 +11,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.handlers.chat.type.MessageType;
 import com.wynntils.handlers.chat.type.NpcDialogueType;
 import com.wynntils.handlers.chat.type.RecipientType;
@@ -23,7 +24,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import net.minecraft.network.chat.Component;
 import net.minecraft.world.effect.MobEffects;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
@@ -70,6 +74,14 @@ import net.neoforged.bus.api.SubscribeEvent;
  * sending out information that already sent chat lines would need to be updated to
  * a different formatting. This could be done, but requires extra logic, and most
  * importantly, a way to update already printed chat lines.
+ * <p>
+ * Optionally, converting and classifying the system chat packets can be done on a worker
+ * thread (see {@link #setParsingPipelineEnabled(boolean)}). The packets are then always
+ * canceled, and the messages are shown once they have been handled on the main thread,
+ * in the order they were received. Before a message is shown, a new
+ * {@link ChatPacketReceivedEvent.System} is posted for it, so listeners of both that event and
+ * {@link ChatMessageReceivedEvent} can still cancel or modify it. Player chat packets are not
+ * parsed on the worker, but all pending system messages are handled before them, to keep the order.
  */
 public final class ChatHandler extends Handler {
     // Test in ChatHandler_NPC_CONFIRM_PATTERN
@@ -84,6 +96,12 @@ public final class ChatHandler extends Handler {
     private static final long SLOWDOWN_PACKET_TICK_DELAY = 20;
     private static final int CHAT_SCREEN_TICK_DELAY = 1;
 
+    private final ChatPatternRegistry patternRegistry = new ChatPatternRegistry();
+    private final ChatParsingPipeline parsingPipeline = new ChatParsingPipeline(this::deliverParsedLine);
+
+    // The event posted for a message delivered by the parsing pipeline, which must not be handled again
+    private ChatPacketReceivedEvent redeliveredEvent = null;
+
     private String lastRealChat = null;
 
     // This is used to detect when the lastRealChat message
@@ -104,6 +122,7 @@ public final class ChatHandler extends Handler {
     @SubscribeEvent
     public void onConnectionChange(WynncraftConnectionEvent.Connected event) {
         // Reset chat handler
+        parsingPipeline.discard();
         collectedLines = new ArrayList<>();
         chatScreenTicks = 0;
         lastRealChat = null;
@@ -117,6 +136,9 @@ public final class ChatHandler extends Handler {
 
     @SubscribeEvent
     public void onTick(TickEvent event) {
+        // Lines of a chat screen still being parsed belong to the collected screen
+        parsingPipeline.flush();
+
         if (collectedLines.isEmpty()) return;
 
         // Tick event runs after the chat packets, with the same tick number
@@ -130,20 +152,27 @@ public final class ChatHandler extends Handler {
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onPlayerChatReceived(ChatPacketReceivedEvent.Player event) {
-        if (shouldSeparateNPC()) {
-            handleWithSeparation(event);
-        } else {
-            handleIncomingChatLine(event);
-        }
+        // Player chat is handled right away, so the system chat received before it has to be handled first
+        parsingPipeline.flush();
+
+        handleChatPacket(event);
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSystemChatReceived(ChatPacketReceivedEvent.System event) {
-        if (shouldSeparateNPC()) {
-            handleWithSeparation(event);
-        } else {
-            handleIncomingChatLine(event);
+        if (event == redeliveredEvent) return;
+
+        if (parsingPipeline.isEnabled() && McUtils.mc().level != null) {
+            Component message = event.getMessage();
+            long gameTicks = McUtils.mc().level.getGameTime();
+            boolean separateLines = shouldSeparateNPC();
+
+            parsingPipeline.submit(message, () -> parseChatLine(message, gameTicks, separateLines));
+            event.setCanceled(true);
+            return;
         }
+
+        handleChatPacket(event);
     }
 
     @SubscribeEvent
@@ -173,29 +202,79 @@ public final class ChatHandler extends Handler {
         }
     }
 
+    /**
+     * Registers a listener to be called for every chat message whose projected text matches the pattern as a whole.
+     * <p> Pattern listeners are called before {@link ChatMessageReceivedEvent} is posted, so they also see
+     * messages that are later canceled by a feature. They can still modify or cancel the event themselves.
+     */
+    public void registerChatPattern(
+            Pattern pattern, ChatTextProjection projection, BiConsumer<ChatMessageReceivedEvent, Matcher> listener) {
+        patternRegistry.register(pattern, projection, listener);
+    }
+
     public boolean hasSlowdown() {
         return lastSlowdownApplied != 0;
     }
 
-    private void handleIncomingChatLine(ChatPacketReceivedEvent event) {
-        StyledText styledText = StyledText.fromComponent(event.getMessage());
+    /**
+     * Enables or disables parsing system chat messages on a worker thread.
+     * Disabling it shows all messages that are still being parsed first.
+     */
+    public void setParsingPipelineEnabled(boolean enabled) {
+        parsingPipeline.setEnabled(enabled);
+    }
 
-        // This is a normal one line chat, or we pass a chat screen through
-        StyledText updatedMessage = postChatLine(styledText, MessageType.FOREGROUND);
+    private void handleChatPacket(ChatPacketReceivedEvent event) {
+        boolean separateLines = shouldSeparateNPC();
+        long gameTicks = separateLines ? McUtils.mc().level.getGameTime() : 0;
+        ParsedChatLine line = parseChatLine(event.getMessage(), gameTicks, separateLines);
+
+        StyledText updatedMessage = handleParsedLine(line);
 
         if (updatedMessage == null) {
             event.setCanceled(true);
-        } else if (!updatedMessage.equals(styledText)) {
+        } else if (!updatedMessage.equals(line.styledText())) {
             event.setMessage(updatedMessage.getComponent());
         }
     }
 
-    private void handleWithSeparation(ChatPacketReceivedEvent event) {
-        StyledText styledText = StyledText.fromComponent(event.getMessage());
+    private void deliverParsedLine(ParsedChatLine line) {
+        StyledText updatedMessage = handleParsedLine(line);
+        if (updatedMessage == null) return;
+
+        Component message = updatedMessage.equals(line.styledText()) ? line.message() : updatedMessage.getComponent();
+
+        // The original packet event was canceled before anyone else could see it
+        ChatPacketReceivedEvent event = new ChatPacketReceivedEvent.System(message);
+        redeliveredEvent = event;
+        WynntilsMod.postEvent(event);
+        redeliveredEvent = null;
+
+        if (event.isCanceled()) return;
+
+        McUtils.sendMessageToClient(event.getMessage());
+    }
+
+    /**
+     * Return a "massaged" version of the message, or null if the packet should be canceled.
+     */
+    private StyledText handleParsedLine(ParsedChatLine line) {
+        if (line.separateLines()) {
+            return handleWithSeparation(line);
+        } else {
+            return handleIncomingChatLine(line);
+        }
+    }
 
-        long currentTicks = McUtils.mc().level.getGameTime();
+    private StyledText handleIncomingChatLine(ParsedChatLine line) {
+        // This is a normal one line chat, or we pass a chat screen through
+        return postChatLine(line.styledText(), MessageType.FOREGROUND, line.recipientType());
+    }
 
-        List<StyledText> lines = StyledTextUtils.splitInLines(styledText);
+    private StyledText handleWithSeparation(ParsedChatLine line) {
+        StyledText styledText = line.styledText();
+        long currentTicks = line.gameTicks();
+        List<StyledText> lines = line.lines();
 
         // It is a multi-line screen if it is parsed to be multiple lines,
         // or if it is empty and sent in the same tick (with some fuzziness) as the current screen
@@ -220,7 +299,7 @@ public final class ChatHandler extends Handler {
             }
 
             // For all those cases, we will collect the lines and thus need to cancel the event
-            event.setCanceled(true);
+            return null;
         } else {
             if (chatScreenTicks != 0) {
                 // We got a normal line while collecting chat screen lines. This means the screen is
@@ -229,7 +308,7 @@ public final class ChatHandler extends Handler {
             }
 
             // Process this as a normal line
-            handleIncomingChatLine(event);
+            return handleIncomingChatLine(line);
         }
     }
 
@@ -516,7 +595,8 @@ public final class ChatHandler extends Handler {
             return;
         }
 
-        StyledText updatedMessage = postChatLine(styledText, MessageType.BACKGROUND);
+        StyledText updatedMessage =
+                postChatLine(styledText, MessageType.BACKGROUND, getRecipientType(styledText, MessageType.BACKGROUND));
         // If the message is canceled, we do not need to cancel any packets,
         // just don't send out the chat message
         if (updatedMessage == null) return;
@@ -529,7 +609,7 @@ public final class ChatHandler extends Handler {
      * Return a "massaged" version of the message, or null if we should cancel the
      * message entirely.
      */
-    private StyledText postChatLine(StyledText styledText, MessageType messageType) {
+    private StyledText postChatLine(StyledText styledText, MessageType messageType, RecipientType recipientType) {
         String plainText = styledText.getStringWithoutFormatting();
         if (!plainText.isBlank()) {
             // We store the unformatted string version to be able to compare between
@@ -540,7 +620,6 @@ public final class ChatHandler extends Handler {
 
         // Normally § codes are stripped from the log; need this to be able to debug chat formatting
         WynntilsMod.info("[CHAT] " + styledText.getString().replace("§", "&"));
-        RecipientType recipientType = getRecipientType(styledText, messageType);
 
         if (recipientType == RecipientType.NPC) {
             if (shouldSeparateNPC()) {
@@ -554,6 +633,7 @@ public final class ChatHandler extends Handler {
         }
 
         ChatMessageReceivedEvent event = new ChatMessageReceivedEvent(styledText, messageType, recipientType);
+        patternRegistry.dispatch(event);
         WynntilsMod.postEvent(event);
         if (event.isCanceled()) return null;
         return event.getStyledText();
@@ -583,7 +663,21 @@ public final class ChatHandler extends Handler {
         Models.NpcDialogue.handleDialogue(dialogue, isProtected, type);
     }
 
-    private RecipientType getRecipientType(StyledText codedMessage, MessageType messageType) {
+    /**
+     * Does the part of handling a chat packet that does not depend on the state of this handler,
+     * so it can be run on any thread.
+     */
+    private static ParsedChatLine parseChatLine(Component message, long gameTicks, boolean separateLines) {
+        StyledText styledText = StyledText.fromComponent(message);
+        List<StyledText> lines = separateLines ? StyledTextUtils.splitInLines(styledText) : List.of(styledText);
+
+        // Multi-line chat screens are split up before their lines are classified
+        RecipientType recipientType = lines.size() > 1 ? null : getRecipientType(styledText, MessageType.FOREGROUND);
+
+        return new ParsedChatLine(message, styledText, lines, recipientType, gameTicks, separateLines);
+    }
+
+    private static RecipientType getRecipientType(StyledText codedMessage, MessageType messageType) {
         // Check if message match a recipient category
         for (RecipientType recipientType : RecipientType.values()) {
             if (recipientType.matchPattern(codedMessage, messageType)) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.core.components.Managers;
+import com.wynntils.core.mod.type.ProfilingCategory;
+import com.wynntils.core.mod.type.ProfilingRecorder;
+import com.wynntils.utils.mc.McUtils;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import net.minecraft.network.chat.Component;
+
+/**
+ * Parses chat packets on a worker thread, and hands the results back to the main thread
+ * in the order the packets were received.
+ * <p> All methods must be called from the main thread. If the worker falls behind by more than
+ * {@link #MAX_PENDING_LINES} lines, submitting blocks until the oldest line is delivered;
+ * the time spent waiting is recorded as back-pressure in the profiling data.
+ */
+final class ChatParsingPipeline {
+    private static final int MAX_PENDING_LINES = 256;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("wynntils-chat-parser-%d").setDaemon(true).build());
+    private final Queue<PendingLine> pendingLines = new ArrayDeque<>();
+    private final Consumer<ParsedChatLine> deliverer;
+
+    private final ProfilingRecorder latencyRecorder =
+            Managers.Profiling.getRecorder(ProfilingCategory.CHAT_PIPELINE, "Delivery Latency");
+    private final ProfilingRecorder backPressureRecorder =
+            Managers.Profiling.getRecorder(ProfilingCategory.CHAT_PIPELINE, "Back-pressure Wait");
+
+    private boolean enabled = false;
+
+    ChatParsingPipeline(Consumer<ParsedChatLine> deliverer) {
+        this.deliverer = deliverer;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void setEnabled(boolean enabled) {
+        if (!enabled) {
+            // Lines already taken from the packet handler still have to be shown
+            flush();
+        }
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * Parses a message on the worker thread. The original message is only used if parsing fails,
+     * so it is not lost.
+     */
+    void submit(Component message, Supplier<ParsedChatLine> parser) {
+        if (pendingLines.size() >= MAX_PENDING_LINES) {
+            long startNanos = System.nanoTime();
+            deliver(pendingLines.poll());
+            backPressureRecorder.record(System.nanoTime() - startNanos);
+        }
+
+        CompletableFuture<ParsedChatLine> future = CompletableFuture.supplyAsync(parser, executor);
+        pendingLines.add(new PendingLine(message, future, System.nanoTime()));
+
+        // Delivery is attempted from the main thread after every line, but only delivers the lines
+        // at the front of the queue, so a line finishing early never overtakes the ones before it
+        future.whenComplete((result, throwable) -> McUtils.mc().execute(this::deliverCompleted));
+    }
+
+    /**
+     * Delivers all pending lines, waiting for the worker if needed.
+     */
+    void flush() {
+        while (!pendingLines.isEmpty()) {
+            deliver(pendingLines.poll());
+        }
+    }
+
+    /**
+     * Drops all pending lines without delivering them.
+     */
+    void discard() {
+        pendingLines.forEach(line -> line.future().cancel(false));
+        pendingLines.clear();
+    }
+
+    private void deliverCompleted() {
+        while (!pendingLines.isEmpty() && pendingLines.peek().future().isDone()) {
+            deliver(pendingLines.poll());
+        }
+    }
+
+    private void deliver(PendingLine line) {
+        ParsedChatLine parsedLine;
+        try {
+            parsedLine = line.future().join();
+        } catch (RuntimeException e) {
+            WynntilsMod.error("Failed to parse chat message, showing it unprocessed", e);
+            McUtils.sendMessageToClient(line.message());
+            return;
+        }
+
+        latencyRecorder.record(System.nanoTime() - line.submittedNanos());
+        deliverer.accept(parsedLine);
+    }
+
+    private record PendingLine(Component message, CompletableFuture<ParsedChatLine> future, long submittedNanos) {}
+}
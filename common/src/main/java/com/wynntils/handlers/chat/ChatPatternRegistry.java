@@ -0,0 +1,59 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat;
+
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
+import com.wynntils.utils.type.PatternPrefilter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches every chat message against the patterns registered by models, in a single pass per text projection.
+ * <p> Each projection of the message is computed once, and only the patterns whose required literals are found
+ * in it are run. Listeners are called in registration order, for every pattern that matches the whole text.
+ */
+final class ChatPatternRegistry {
+    private final Map<ChatTextProjection, LinkedHashMap<Registration, Pattern>> registrations =
+            new EnumMap<>(ChatTextProjection.class);
+    // Built on first use, and rebuilt when a pattern is registered after that
+    private final Map<ChatTextProjection, PatternPrefilter<Registration>> prefilters =
+            new EnumMap<>(ChatTextProjection.class);
+
+    void register(
+            Pattern pattern, ChatTextProjection projection, BiConsumer<ChatMessageReceivedEvent, Matcher> listener) {
+        registrations
+                .computeIfAbsent(projection, k -> new LinkedHashMap<>())
+                .put(new Registration(pattern, listener), pattern);
+        prefilters.remove(projection);
+    }
+
+    void dispatch(ChatMessageReceivedEvent event) {
+        for (Map.Entry<ChatTextProjection, LinkedHashMap<Registration, Pattern>> entry : registrations.entrySet()) {
+            ChatTextProjection projection = entry.getKey();
+            String text = projection.getText(event);
+            PatternPrefilter<Registration> prefilter =
+                    prefilters.computeIfAbsent(projection, k -> new PatternPrefilter<>(entry.getValue()));
+
+            for (Registration registration : prefilter.getCandidates(text)) {
+                Matcher matcher = registration.pattern().matcher(text);
+                if (!matcher.matches()) continue;
+
+                try {
+                    registration.listener().accept(event, matcher);
+                } catch (Throwable t) {
+                    WynntilsMod.error("Exception in chat pattern listener for " + registration.pattern(), t);
+                }
+            }
+        }
+    }
+
+    private record Registration(Pattern pattern, BiConsumer<ChatMessageReceivedEvent, Matcher> listener) {}
+}
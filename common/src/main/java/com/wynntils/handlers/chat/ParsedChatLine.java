@@ -0,0 +1,26 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.type.RecipientType;
+import java.util.List;
+import net.minecraft.network.chat.Component;
+
+/**
+ * The result of the thread-independent part of handling a chat packet.
+ *
+ * @param lines the message split in lines if it should be checked for NPC dialogue screens,
+ *              or just the message otherwise
+ * @param recipientType the foreground recipient type of the message, or null if it is a multi-line screen
+ * @param gameTicks the game time when the packet was received
+ */
+record ParsedChatLine(
+        Component message,
+        StyledText styledText,
+        List<StyledText> lines,
+        RecipientType recipientType,
+        long gameTicks,
+        boolean separateLines) {}
@@ -0,0 +1,28 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.handlers.chat.type;
+
+import com.wynntils.core.text.StyledText;
+import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.utils.mc.StyledTextUtils;
+
+/**
+ * The text of a chat message that a registered chat pattern is matched against.
+ */
+public enum ChatTextProjection {
+    // The message as received, before any feature changed it
+    ORIGINAL,
+    // The original message, with the line wrapping and alignment Wynncraft adds removed
+    UNWRAPPED;
+
+    public String getText(ChatMessageReceivedEvent event) {
+        StyledText originalText = event.getOriginalStyledText();
+
+        return switch (this) {
+            case ORIGINAL -> originalText.getString();
+            case UNWRAPPED -> StyledTextUtils.unwrap(originalText).stripAlignment().getString();
+        };
+    }
+}
@@ -6,7 +6,9 @@ package com.wynntils.handlers.item;
 
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handler;
+import com.wynntils.core.components.Managers;
 import com.wynntils.core.mod.type.CrashType;
+import com.wynntils.core.mod.type.ProfilingCategory;
 import com.wynntils.core.text.PartStyle;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.item.event.ItemRenamedEvent;
@@ -21,7 +23,6 @@ import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.mc.McUtils;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,6 +31,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.component.DataComponents;
+import net.minecraft.network.chat.Component;
 import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.world.entity.Display;
 import net.minecraft.world.entity.Entity;
@@ -37,15 +39,16 @@ import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.ItemLore;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public final class ItemHandler extends Handler {
     private static final List<Item> WILDCARD_ITEMS = List.of(Items.DIAMOND_SHOVEL, Items.DIAMOND_PICKAXE);
+    // A fingerprint of 0 means that it has not been calculated yet
+    private static final long NO_FINGERPRINT = 0L;
 
     private final List<ItemAnnotator> annotators = new ArrayList<>();
-    private final Map<Class<?>, Integer> profilingTimes = new HashMap<>();
-    private final Map<Class<?>, Integer> profilingCounts = new HashMap<>();
     // Keep this as a field just of performance reasons to skip a new allocation in annotate()
     private final List<ItemAnnotator> crashedAnnotators = new ArrayList<>();
     private final List<Pattern> knownMarkerNames = new ArrayList<>();
@@ -173,8 +176,17 @@ public final class ItemHandler extends Handler {
             return;
         }
 
-        // We need to check if the name has changed, and/or the lore has changed
         StyledText originalName = ((ItemStackExtension) existingItem).getOriginalName();
+
+        // If the name and lore are exactly the same, this is the same item, so copy existing annotation
+        // This is the most common case, and it avoids converting the name and lore of both items
+        // The fingerprints only rule out a match, the components are compared to confirm it
+        if (getFingerprint(existingItem) == getFingerprint(newItem) && sameNameAndLore(existingItem, newItem)) {
+            updateItem(newItem, annotation, originalName);
+            return;
+        }
+
+        // We need to check if the name has changed, and/or the lore has changed
         StyledText existingName =
                 StyledText.fromComponent(existingItem.getHoverName()).getNormalized();
         StyledText newName = StyledText.fromComponent(newItem.getHoverName()).getNormalized();
@@ -207,6 +219,8 @@ public final class ItemHandler extends Handler {
             WynntilsMod.postEvent(event);
             if (event.isCanceled()) {
                 newItem.set(DataComponents.CUSTOM_NAME, existingItem.getHoverName());
+                // The name has changed, so the fingerprint has to be calculated again
+                ((ItemStackExtension) newItem).setFingerprint(NO_FINGERPRINT);
             }
         } else {
             // The name is different, and it is not a know special name. This means it could be a
@@ -240,6 +254,42 @@ public final class ItemHandler extends Handler {
         return firstItem.getDamageValue() == secondItem.getDamageValue();
     }
 
+    /**
+     * Returns a fingerprint of the parts of the item that annotations are calculated from, that is
+     * the item type, count, damage, name and lore. It is only calculated once per item stack.
+     */
+    private static long getFingerprint(ItemStack itemStack) {
+        ItemStackExtension itemStackExtension = (ItemStackExtension) itemStack;
+
+        long fingerprint = itemStackExtension.getFingerprint();
+        if (fingerprint != NO_FINGERPRINT) return fingerprint;
+
+        List<Component> loreLines = itemStack.getOrDefault(DataComponents.LORE, ItemLore.EMPTY).lines();
+
+        // Components implement hashCode, so they can be hashed without converting them to StyledText
+        fingerprint = Item.getId(itemStack.getItem());
+        fingerprint = fingerprint * 31 + itemStack.count;
+        fingerprint = fingerprint * 31 + itemStack.getDamageValue();
+        fingerprint = fingerprint * 0x9E3779B97F4A7C15L + itemStack.getHoverName().hashCode();
+        fingerprint = fingerprint * 0x9E3779B97F4A7C15L + loreLines.hashCode();
+
+        if (fingerprint == NO_FINGERPRINT) {
+            fingerprint = 1L;
+        }
+
+        itemStackExtension.setFingerprint(fingerprint);
+        return fingerprint;
+    }
+
+    private static boolean sameNameAndLore(ItemStack firstItem, ItemStack secondItem) {
+        if (!firstItem.getHoverName().equals(secondItem.getHoverName())) return false;
+
+        return firstItem
+                .getOrDefault(DataComponents.LORE, ItemLore.EMPTY)
+                .lines()
+                .equals(secondItem.getOrDefault(DataComponents.LORE, ItemLore.EMPTY).lines());
+    }
+
     private boolean isWildcardItem(ItemStack itemStack) {
         // This checks for gear skin items, which are a special exception for item comparisons
         return WILDCARD_ITEMS.contains(itemStack.getItem());
@@ -280,7 +330,7 @@ public final class ItemHandler extends Handler {
     }
 
     private ItemAnnotation calculateAnnotation(ItemStack itemStack, StyledText name) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
 
         StyledText simplified = simplifyName(name);
 
@@ -322,7 +372,7 @@ public final class ItemHandler extends Handler {
         }
 
         // Measure performance
-        logProfilingData(startTime, annotation);
+        Managers.Profiling.record(ProfilingCategory.ANNOTATOR, annotation.getClass(), startTime);
 
         return annotation;
     }
@@ -352,29 +402,6 @@ public final class ItemHandler extends Handler {
         updateItem(itemStack, annotation, name);
     }
 
-    private void logProfilingData(long startTime, ItemAnnotation annotation) {
-        long endTime = System.currentTimeMillis();
-        int timeSpent = (int) (endTime - startTime);
-        int allTime = profilingTimes.getOrDefault(annotation.getClass(), 0);
-        profilingTimes.put(annotation.getClass(), allTime + timeSpent);
-
-        int allCount = profilingCounts.getOrDefault(annotation.getClass(), 0);
-        profilingCounts.put(annotation.getClass(), allCount + 1);
-    }
-
-    public Map<Class<?>, Integer> getProfilingTimes() {
-        return profilingTimes;
-    }
-
-    public Map<Class<?>, Integer> getProfilingCounts() {
-        return profilingCounts;
-    }
-
-    public void resetProfiling() {
-        profilingTimes.clear();
-        profilingCounts.clear();
-    }
-
     public List<ItemAnnotator> getAnnotators() {
         return Collections.unmodifiableList(annotators);
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.handlers.scoreboard;
@@ -15,13 +15,16 @@ import com.wynntils.handlers.scoreboard.type.SegmentMatcher;
 import com.wynntils.mc.event.ScoreboardEvent;
 import com.wynntils.mc.event.ScoreboardSetDisplayObjectiveEvent;
 import com.wynntils.mc.event.ScoreboardSetObjectiveEvent;
+import com.wynntils.mc.event.TickEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import net.minecraft.ChatFormatting;
@@ -37,6 +40,13 @@ import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Reconstructs the Wynncraft scoreboard, splits it into segments for the {@link ScoreboardPart}s,
+ * and displays our own scoreboard with the hidden segments removed.
+ * <p> The lines of the scoreboard are kept up to date from the score updates, instead of being read from the
+ * vanilla scoreboard on every update. Wynncraft sends many updates for a single scoreboard refresh, so they are
+ * only applied once per tick, and nothing is recalculated if the lines end up the same as before.
+ */
 public final class ScoreboardHandler extends Handler {
     private static final Pattern NEXT_LINE_PATTERN = Pattern.compile("À+");
     private static final String SCOREBOARD_KEY = "wynntilsSB";
@@ -49,6 +59,13 @@ public final class ScoreboardHandler extends Handler {
     private String currentScoreboardName = "";
     private List<Pair<ScoreboardPart, ScoreboardSegment>> scoreboardSegments = new ArrayList<>();
 
+    // The lines of the current objective, by their text
+    private final Map<StyledText, ScoreboardLine> scoreboardLines = new HashMap<>();
+    private boolean scoreboardChanged = false;
+    private List<ScoreboardLine> lastReconstructedScoreboard = List.of();
+    // The lines of our own scoreboard, or null if it has to be recreated
+    private List<String> displayedLines = null;
+
     private final List<ScoreboardPart> scoreboardParts = new ArrayList<>();
 
     public void addPart(ScoreboardPart scoreboardPart) {
@@ -67,21 +84,25 @@ public final class ScoreboardHandler extends Handler {
     public void onSetScore(ScoreboardEvent.Set event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        scoreboardLines.put(event.getOwner(), new ScoreboardLine(event.getOwner(), event.getScore()));
+        scoreboardChanged = true;
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSetScore(ScoreboardEvent.Reset event) {
-        if (!currentScoreboardName.equals(event.getObjectiveName())) return;
+        // A reset without an objective resets the owner in all objectives
+        if (event.getObjectiveName() != null && !currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        if (scoreboardLines.remove(event.getOwner()) != null) {
+            scoreboardChanged = true;
+        }
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
     public void onSetObjective(ScoreboardSetObjectiveEvent event) {
         if (!currentScoreboardName.equals(event.getObjectiveName())) return;
 
-        handleUpdate();
+        loadScoreboardLines();
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -89,11 +110,18 @@ public final class ScoreboardHandler extends Handler {
         if (!isValidScoreboardName(event.getObjectiveName())) return;
 
         currentScoreboardName = event.getObjectiveName();
-        handleUpdate();
+        loadScoreboardLines();
 
         event.setCanceled(true);
     }
 
+    @SubscribeEvent
+    public void onTick(TickEvent event) {
+        if (!scoreboardChanged) return;
+
+        handleUpdate();
+    }
+
     @SubscribeEvent
     public void onWorldStateChange(WorldStateEvent event) {
         if (event.getNewState() == WorldState.WORLD) return;
@@ -102,39 +130,56 @@ public final class ScoreboardHandler extends Handler {
 
         scoreboardSegments = new ArrayList<>();
         currentScoreboardName = "";
+        scoreboardLines.clear();
+        scoreboardChanged = false;
+        lastReconstructedScoreboard = List.of();
+        displayedLines = null;
     }
 
     private void handleUpdate() {
-        // 1. Get a reconstructed scoreboard from the current scoreboard state
-        List<ScoreboardLine> reconstructedScoreboard = getCurrentScoreboardState(currentScoreboardName);
+        scoreboardChanged = false;
+
+        // 1. Get a reconstructed scoreboard from the current scoreboard lines
+        List<ScoreboardLine> reconstructedScoreboard = scoreboardLines.values().stream()
+                .sorted(Comparator.comparing(ScoreboardLine::score).reversed())
+                .toList();
+
+        if (reconstructedScoreboard.equals(lastReconstructedScoreboard)) {
+            // The updates in this tick canceled each other out, but the visibility of segments could have changed
+            updateSegmentVisibility();
+        } else {
+            lastReconstructedScoreboard = reconstructedScoreboard;
 
-        // 2. Verify that the scoreboard is in a semi-valid state
-        // (in a state where we can make sense of it, even if the actual data is still being updated)
-        List<ScoreboardPart> validParts = getValidScoreboardParts(reconstructedScoreboard);
+            // 2. Verify that the scoreboard is in a semi-valid state
+            // (in a state where we can make sense of it, even if the actual data is still being updated)
+            List<ScoreboardPart> validParts = getValidScoreboardParts(reconstructedScoreboard);
 
-        // 3. Calculate the scoreboard segments, do segment updates
-        calculateScoreboardSegments(reconstructedScoreboard, validParts);
+            // 3. Calculate the scoreboard segments, do segment updates
+            calculateScoreboardSegments(reconstructedScoreboard, validParts);
+        }
 
         // 4. Create our own scoreboard to hide specific segments
         createScoreboardFromSegments();
     }
 
-    private List<ScoreboardLine> getCurrentScoreboardState(String currentScoreboardName) {
+    private void loadScoreboardLines() {
+        scoreboardLines.clear();
+        scoreboardChanged = true;
+
         Scoreboard scoreboard = McUtils.mc().level.getScoreboard();
         Objective currentObjective = scoreboard.getObjective(currentScoreboardName);
 
         if (currentObjective == null) {
             WynntilsMod.warn("Could not find the current scoreboard objective: " + currentScoreboardName);
-            return List.of();
+            return;
         }
 
-        return scoreboard.playerScores.entrySet().stream()
+        scoreboard.playerScores.entrySet().stream()
                 .map(entry -> Pair.of(entry.getKey(), entry.getValue().get(currentObjective)))
                 .filter(pair -> pair.value() != null)
                 .map(entry -> new ScoreboardLine(
                         StyledText.fromString(entry.key()), entry.value().value()))
-                .sorted(Comparator.comparing(ScoreboardLine::score).reversed())
-                .toList();
+                .forEach(line -> scoreboardLines.put(line.line(), line));
     }
 
     private List<ScoreboardPart> getValidScoreboardParts(List<ScoreboardLine> reconstructedScoreboard) {
@@ -328,14 +373,35 @@ public final class ScoreboardHandler extends Handler {
         }
     }
 
+    private void updateSegmentVisibility() {
+        for (Pair<ScoreboardPart, ScoreboardSegment> pair : scoreboardSegments) {
+            ScoreboardSegment segment = pair.value();
+            boolean wasVisible = segment.isVisible();
+
+            boolean eventCanceled = WynntilsMod.postEvent(new ScoreboardSegmentAdditionEvent(segment));
+            segment.setVisibility(!eventCanceled);
+
+            // Special case for the fallback part, don't call onSegmentChange
+            if (pair.key() != FALLBACK_SCOREBOARD_PART && wasVisible != segment.isVisible()) {
+                pair.key().onSegmentChange(segment);
+            }
+        }
+    }
+
     private void createScoreboardFromSegments() {
         Scoreboard scoreboard = McUtils.player().getScoreboard();
+        List<String> lines = getDisplayedLines();
 
         Objective oldObjective = scoreboard.getObjective(SCOREBOARD_KEY);
         if (oldObjective != null) {
+            // Recreating the objective is expensive, so only do it if the displayed lines changed
+            if (lines.equals(displayedLines)) return;
+
             scoreboard.removeObjective(oldObjective);
         }
 
+        displayedLines = lines;
+
         Objective wynntilsObjective = scoreboard.addObjective(
                 SCOREBOARD_KEY,
                 ObjectiveCriteria.DUMMY,
@@ -344,18 +410,27 @@ public final class ScoreboardHandler extends Handler {
                 true,
                 BlankFormat.INSTANCE);
 
-        if (scoreboardSegments.stream().map(Pair::value).noneMatch(ScoreboardSegment::isVisible)) return;
-
         // Only display the scoreboard if there is at least one visible segment
+        if (lines.isEmpty()) return;
+
         scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, wynntilsObjective);
 
         int currentScoreboardLine = MAX_SCOREBOARD_LINE;
+        for (String line : lines) {
+            scoreboard
+                    .getOrCreatePlayerScore(ScoreHolder.forNameOnly(line), wynntilsObjective)
+                    .set(currentScoreboardLine);
+            currentScoreboardLine--;
+        }
+    }
+
+    private List<String> getDisplayedLines() {
+        if (scoreboardSegments.stream().map(Pair::value).noneMatch(ScoreboardSegment::isVisible)) return List.of();
+
+        List<String> lines = new ArrayList<>();
 
         // Insert the first line at the top
-        scoreboard
-                .getOrCreatePlayerScore(ScoreHolder.forNameOnly("À"), wynntilsObjective)
-                .set(currentScoreboardLine);
-        currentScoreboardLine--;
+        lines.add("À");
 
         int separatorCount = 2;
 
@@ -366,30 +441,19 @@ public final class ScoreboardHandler extends Handler {
             ScoreboardSegment scoreboardSegment = segments.get(i);
             if (!scoreboardSegment.isVisible()) continue;
 
-            scoreboard
-                    .getOrCreatePlayerScore(
-                            ScoreHolder.forNameOnly(
-                                    scoreboardSegment.getHeader().getString()),
-                            wynntilsObjective)
-                    .set(currentScoreboardLine);
-            currentScoreboardLine--;
+            lines.add(scoreboardSegment.getHeader().getString());
 
             for (StyledText line : scoreboardSegment.getContent()) {
-                scoreboard
-                        .getOrCreatePlayerScore(ScoreHolder.forNameOnly(line.getString()), wynntilsObjective)
-                        .set(currentScoreboardLine);
-                currentScoreboardLine--;
+                lines.add(line.getString());
             }
 
             if (i != segments.size() - 1) {
-                scoreboard
-                        .getOrCreatePlayerScore(
-                                ScoreHolder.forNameOnly(StringUtils.repeat('À', separatorCount)), wynntilsObjective)
-                        .set(currentScoreboardLine);
-                currentScoreboardLine--;
+                lines.add(StringUtils.repeat('À', separatorCount));
                 separatorCount++;
             }
         }
+
+        return lines;
     }
 
     private ScoreboardPart getScoreboardPartForHeader(ScoreboardLine scoreboardLine) {
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2023.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.mc.extension;
@@ -15,4 +15,8 @@ public interface ItemStackExtension {
     StyledText getOriginalName();
 
     void setOriginalName(StyledText name);
+
+    long getFingerprint();
+
+    void setFingerprint(long fingerprint);
 }
@@ -24,6 +24,9 @@ public abstract class ItemStackMixin implements ItemStackExtension {
     @Unique
     private StyledText wynntilsOriginalName;
 
+    @Unique
+    private long wynntilsFingerprint;
+
     @ModifyVariable(
             method =
                     "getTooltipLines(Lnet/minecraft/world/item/Item$TooltipContext;Lnet/minecraft/world/entity/player/Player;Lnet/minecraft/world/item/TooltipFlag;)Ljava/util/List;",
@@ -61,4 +64,16 @@ public abstract class ItemStackMixin implements ItemStackExtension {
     public void setOriginalName(StyledText name) {
         this.wynntilsOriginalName = name;
     }
+
+    @Override
+    @Unique
+    public long getFingerprint() {
+        return this.wynntilsFingerprint;
+    }
+
+    @Override
+    @Unique
+    public void setFingerprint(long fingerprint) {
+        this.wynntilsFingerprint = fingerprint;
+    }
 }
@@ -68,6 +68,7 @@ public final class SkillPointModel extends Model {
     public void saveSkillPoints(String name, int[] skillPoints) {
         SavableSkillPointSet assignedSkillPointSet = new SavableSkillPointSet(skillPoints);
         skillPointLoadouts.get().put(name, assignedSkillPointSet);
+        skillPointLoadouts.touched();
         WynntilsMod.info("Saved skill point loadout: " + name + " " + assignedSkillPointSet);
     }
 
@@ -113,6 +114,7 @@ public final class SkillPointModel extends Model {
         SavableSkillPointSet assignedSkillPointSet =
                 new SavableSkillPointSet(skillPoints, weapon, armourNames, accessoryNames);
         skillPointLoadouts.get().put(name, assignedSkillPointSet);
+        skillPointLoadouts.touched();
         WynntilsMod.info("Saved skill point build: " + name + " " + assignedSkillPointSet);
     }
 
@@ -128,6 +130,7 @@ public final class SkillPointModel extends Model {
 
     public void deleteLoadout(String name) {
         skillPointLoadouts.get().remove(name);
+        skillPointLoadouts.touched();
     }
 
     public void loadLoadout(String name) {
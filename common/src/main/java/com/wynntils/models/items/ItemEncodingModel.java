@@ -9,11 +9,15 @@ import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.models.items.encoding.ItemTransformerRegistry;
 import com.wynntils.models.items.encoding.type.EncodingSettings;
+import com.wynntils.models.items.encoding.type.ItemData;
 import com.wynntils.models.items.items.game.GearItem;
 import com.wynntils.models.items.properties.CraftedItemProperty;
 import com.wynntils.utils.EncodedByteBuffer;
 import com.wynntils.utils.type.ErrorOr;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 public final class ItemEncodingModel extends Model {
@@ -32,8 +36,19 @@ public final class ItemEncodingModel extends Model {
     private static final Pattern ENCODED_DATA_PATTERN =
             Pattern.compile("(?<data>(" + RANGE_A + "|" + RANGE_B + ")+)( \"(?<name>.+)\")?");
 
+    // The decoded item cache is bounded by the total size of the cached payloads
+    private static final int DECODED_ITEM_CACHE_MAX_BYTES = 64 * 1024;
+
     private final ItemTransformerRegistry itemTransformerRegistry = new ItemTransformerRegistry();
 
+    // Access-ordered, so the least recently decoded items are evicted first
+    // Only the immutable decoded data blocks are cached, every caller gets its own WynnItem,
+    // as items hold per-stack state in their WynnItemData
+    private final Map<DecodedItemKey, List<ItemData>> decodedItemCache = new LinkedHashMap<>(16, 0.75f, true);
+    private int decodedItemCacheBytes = 0;
+    private int decodedItemCacheHits = 0;
+    private int decodedItemCacheMisses = 0;
+
     public ItemEncodingModel() {
         super(List.of());
     }
@@ -43,7 +58,32 @@ public final class ItemEncodingModel extends Model {
     }
 
     public ErrorOr<WynnItem> decodeItem(EncodedByteBuffer encodedByteBuffer, String itemName) {
-        return itemTransformerRegistry.decodeItem(encodedByteBuffer, itemName);
+        DecodedItemKey key = new DecodedItemKey(encodedByteBuffer, itemName);
+
+        List<ItemData> itemData;
+        synchronized (decodedItemCache) {
+            itemData = decodedItemCache.get(key);
+            if (itemData != null) {
+                decodedItemCacheHits++;
+            } else {
+                decodedItemCacheMisses++;
+            }
+        }
+
+        if (itemData == null) {
+            ErrorOr<List<ItemData>> errorOrItemData =
+                    itemTransformerRegistry.decodeItemData(encodedByteBuffer, itemName);
+
+            // Errors are not cached, as they can be caused by data that is not loaded yet
+            if (errorOrItemData.hasError()) {
+                return ErrorOr.error(errorOrItemData.getError());
+            }
+
+            itemData = errorOrItemData.getValue();
+            cacheDecodedItem(key, itemData);
+        }
+
+        return itemTransformerRegistry.decodeItem(itemData);
     }
 
     public boolean canEncodeItem(WynnItem wynnItem) {
@@ -66,4 +106,56 @@ public final class ItemEncodingModel extends Model {
 
         return encodedItem.toUtf16String() + itemName;
     }
+
+    @Override
+    public void reloadData() {
+        // Decoded items depend on the item and stat data, so they have to be decoded again
+        synchronized (decodedItemCache) {
+            decodedItemCache.clear();
+            decodedItemCacheBytes = 0;
+        }
+    }
+
+    public int getDecodedItemCacheHits() {
+        return decodedItemCacheHits;
+    }
+
+    public int getDecodedItemCacheMisses() {
+        return decodedItemCacheMisses;
+    }
+
+    public int getDecodedItemCacheSize() {
+        synchronized (decodedItemCache) {
+            return decodedItemCache.size();
+        }
+    }
+
+    public void resetDecodedItemCacheCounters() {
+        synchronized (decodedItemCache) {
+            decodedItemCacheHits = 0;
+            decodedItemCacheMisses = 0;
+        }
+    }
+
+    private void cacheDecodedItem(DecodedItemKey key, List<ItemData> itemData) {
+        synchronized (decodedItemCache) {
+            List<ItemData> previousData = decodedItemCache.put(key, itemData);
+            if (previousData == null) {
+                decodedItemCacheBytes += key.size();
+            }
+
+            Iterator<DecodedItemKey> iterator = decodedItemCache.keySet().iterator();
+            while (decodedItemCacheBytes > DECODED_ITEM_CACHE_MAX_BYTES && iterator.hasNext()) {
+                decodedItemCacheBytes -= iterator.next().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    // Items that are shared with a name have it set from the name, not from the payload
+    private record DecodedItemKey(EncodedByteBuffer encodedByteBuffer, String itemName) {
+        private int size() {
+            return encodedByteBuffer.getBytes().length + (itemName == null ? 0 : itemName.length());
+        }
+    }
 }
@@ -42,18 +42,17 @@ import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.ItemData;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.utils.EncodedByteBuffer;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * This class is responsible for registering and storing all data transformers.
- * Data transformers are used for transforming between {@link ItemData} and {@link UnsignedByte} arrays.
+ * Data transformers are used for transforming between {@link ItemData} and (unsigned) byte arrays.
  */
 public final class DataTransformerRegistry {
     private final DataTransformerMap dataTransformers = new DataTransformerMap();
@@ -63,16 +62,16 @@ public final class DataTransformerRegistry {
     }
 
     public ErrorOr<EncodedByteBuffer> encodeData(ItemTransformingVersion version, List<ItemData> data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
 
         for (ItemData itemData : data) {
             try {
-                ErrorOr<UnsignedByte[]> errorOrEncodedData = encodeData(version, itemData);
+                ErrorOr<byte[]> errorOrEncodedData = encodeData(version, itemData);
                 if (errorOrEncodedData.hasError()) {
                     return ErrorOr.error(errorOrEncodedData.getError());
                 }
 
-                bytes.addAll(Arrays.asList(errorOrEncodedData.getValue()));
+                bytes.writeBytes(errorOrEncodedData.getValue());
             } catch (Exception e) {
                 return ErrorOr.error("Failed to encode data class "
                                 + itemData.getClass().getSimpleName() + "!")
@@ -80,11 +79,11 @@ public final class DataTransformerRegistry {
             }
         }
 
-        return ErrorOr.of(EncodedByteBuffer.fromBytes(bytes.toArray(new UnsignedByte[0])));
+        return ErrorOr.of(EncodedByteBuffer.fromBytes(bytes.toByteArray()));
     }
 
     public ErrorOr<List<ItemData>> decodeData(EncodedByteBuffer encodedByteBuffer) {
-        ArrayReader<UnsignedByte> byteReader = encodedByteBuffer.getReader();
+        UnsignedByteReader byteReader = encodedByteBuffer.getReader();
 
         // Handle start data specially
         ErrorOr<StartData> errorOrStartData = StartDataTransformer.decodeData(byteReader);
@@ -95,7 +94,7 @@ public final class DataTransformerRegistry {
         return decodeData(errorOrStartData.getValue().version(), byteReader);
     }
 
-    private ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, ItemData data) {
+    private ErrorOr<byte[]> encodeData(ItemTransformingVersion version, ItemData data) {
         DataTransformer<ItemData> dataTransformer = (DataTransformer<ItemData>) dataTransformers.get(data.getClass());
         if (dataTransformer == null) {
             return ErrorOr.error(
@@ -106,17 +105,17 @@ public final class DataTransformerRegistry {
         return dataTransformer.encode(version, data);
     }
 
-    private ErrorOr<List<ItemData>> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<List<ItemData>> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         List<ItemData> dataList = new ArrayList<>();
 
         while (byteReader.hasRemaining()) {
-            UnsignedByte dataBlockId = byteReader.read();
+            int dataBlockId = byteReader.read();
 
             try {
-                DataTransformer<ItemData> dataTransformer = dataTransformers.get(dataBlockId.toByte());
+                DataTransformer<ItemData> dataTransformer = dataTransformers.get((byte) dataBlockId);
 
                 if (dataTransformer == null) {
-                    return ErrorOr.error("No data transformer found for id " + dataBlockId.value())
+                    return ErrorOr.error("No data transformer found for id " + dataBlockId)
                             .logged();
                 }
 
@@ -128,7 +127,7 @@ public final class DataTransformerRegistry {
 
                 dataList.add(errorOrData.getValue());
             } catch (Exception e) {
-                return ErrorOr.error("Failed to decode data block with id " + dataBlockId.value() + "!")
+                return ErrorOr.error("Failed to decode data block with id " + dataBlockId + "!")
                         .logged();
             }
         }
@@ -173,16 +172,18 @@ public final class DataTransformerRegistry {
         private final Map<Class<? extends ItemData>, DataTransformer<? extends ItemData>> dataTransformers =
                 new HashMap<>();
 
-        private final Map<Byte, DataTransformer<? extends ItemData>> idToTransformerMap = new HashMap<>();
+        // Ids are a single byte, so a lookup table avoids boxing the id for every decoded block
+        private final DataTransformer<?>[] idToTransformerTable = new DataTransformer<?>[256];
 
         public void put(
                 Class<? extends ItemData> dataClass, byte id, DataTransformer<? extends ItemData> dataTransformer) {
             if (dataTransformers.put(dataClass, dataTransformer) != null) {
                 throw new IllegalStateException("Duplicate data class: " + dataClass.getSimpleName());
             }
-            if (idToTransformerMap.put(id, dataTransformer) != null) {
+            if (idToTransformerTable[id & 0xFF] != null) {
                 throw new IllegalStateException("Duplicate id: " + id);
             }
+            idToTransformerTable[id & 0xFF] = dataTransformer;
         }
 
         public <T extends ItemData> DataTransformer<T> get(Class<T> dataClass) {
@@ -190,7 +191,7 @@ public final class DataTransformerRegistry {
         }
 
         public <T extends ItemData> DataTransformer<T> get(byte id) {
-            return (DataTransformer<T>) idToTransformerMap.get(id);
+            return (DataTransformer<T>) idToTransformerTable[id & 0xFF];
         }
     }
 }
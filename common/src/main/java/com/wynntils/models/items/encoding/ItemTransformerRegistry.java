@@ -75,22 +75,31 @@ public final class ItemTransformerRegistry {
     }
 
     public ErrorOr<WynnItem> decodeItem(EncodedByteBuffer encodedByteBuffer, String itemName) {
+        ErrorOr<List<ItemData>> errorOrItemData = decodeItemData(encodedByteBuffer, itemName);
+        if (errorOrItemData.hasError()) {
+            return ErrorOr.error(errorOrItemData.getError());
+        }
+
+        return decodeItem(errorOrItemData.getValue());
+    }
+
+    /**
+     * Decodes the data blocks of an item, without building the item itself.
+     * The returned list is immutable, and can be passed to {@link #decodeItem(List)} any number of times.
+     */
+    public ErrorOr<List<ItemData>> decodeItemData(EncodedByteBuffer encodedByteBuffer, String itemName) {
         ErrorOr<List<ItemData>> errorOrItemData = dataTransformerRegistry.decodeData(encodedByteBuffer);
         if (errorOrItemData.hasError()) {
             return ErrorOr.error(errorOrItemData.getError());
         }
 
         List<ItemData> itemData = errorOrItemData.getValue();
-        Optional<TypeData> typeDataOpt = itemData.stream()
-                .filter(data -> data instanceof TypeData)
-                .map(data -> (TypeData) data)
-                .findFirst();
+        Optional<TypeData> typeDataOpt = findTypeData(itemData);
         if (typeDataOpt.isEmpty()) {
             return ErrorOr.error("No type data found in item data!");
         }
 
         TypeData typeData = typeDataOpt.get();
-        ItemTransformer<WynnItem> transformer = itemTransformers.get(typeData.itemType());
 
         // Don't use the name block for crafted gear and consumables
         // This is used for crafted gear and consumables, so that "bad" names can't be injected into the item
@@ -103,6 +112,20 @@ public final class ItemTransformerRegistry {
             }
         }
 
+        return ErrorOr.of(List.copyOf(itemData));
+    }
+
+    /**
+     * Builds a new item from data blocks returned by {@link #decodeItemData(EncodedByteBuffer, String)}.
+     */
+    public ErrorOr<WynnItem> decodeItem(List<ItemData> itemData) {
+        Optional<TypeData> typeDataOpt = findTypeData(itemData);
+        if (typeDataOpt.isEmpty()) {
+            return ErrorOr.error("No type data found in item data!");
+        }
+
+        ItemTransformer<WynnItem> transformer = itemTransformers.get(typeDataOpt.get().itemType());
+
         try {
             return decodeItem(itemData, transformer);
         } catch (Exception e) {
@@ -144,6 +167,13 @@ public final class ItemTransformerRegistry {
         return versionToEncodeWith;
     }
 
+    private static Optional<TypeData> findTypeData(List<ItemData> itemData) {
+        return itemData.stream()
+                .filter(data -> data instanceof TypeData)
+                .map(data -> (TypeData) data)
+                .findFirst();
+    }
+
     private ErrorOr<WynnItem> decodeItem(List<ItemData> itemData, ItemTransformer<WynnItem> transformer) {
         return transformer.decodeItem(new ItemDataMap(itemData));
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items.encoding.data;
@@ -12,6 +12,7 @@ import com.wynntils.models.stats.type.StatPossibleValues;
 import com.wynntils.models.stats.type.StatType;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.RangedValue;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -38,7 +39,13 @@ public record IdentificationData(
                 Map.of());
     }
 
-    public ErrorOr<Void> processPendingCalculations(Map<StatType, StatPossibleValues> possibleValuesMap) {
+    /**
+     * Returns the identifications, with the pending calculations resolved using the given possible values.
+     * This does not modify the data, so the same decoded data can be used to build multiple items.
+     */
+    public ErrorOr<List<StatActualValue>> resolveIdentifications(Map<StatType, StatPossibleValues> possibleValuesMap) {
+        List<StatActualValue> resolvedIdentifications = new ArrayList<>(identifications);
+
         for (Map.Entry<StatType, Integer> entry : pendingCalculations.entrySet()) {
             StatType statType = entry.getKey();
             int internalRoll = entry.getValue();
@@ -52,12 +59,10 @@ public record IdentificationData(
                     StatCalculator.calculateStarsFromInternalRoll(statType, possibleValues.baseValue(), internalRoll);
             int value = StatCalculator.calculateStatValue(internalRoll, possibleValues);
 
-            identifications.add(
+            resolvedIdentifications.add(
                     new StatActualValue(statType, value, stars, RangedValue.of(internalRoll, internalRoll)));
         }
 
-        pendingCalculations.clear();
-
-        return ErrorOr.of(null);
+        return ErrorOr.of(resolvedIdentifications);
     }
 }
@@ -9,32 +9,28 @@ import com.wynntils.models.items.encoding.data.CustomGearTypeData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class CustomGearTypeTransformer extends DataTransformer<CustomGearTypeData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, CustomGearTypeData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, CustomGearTypeData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> {
                 if (data.gearType().getEncodingId() == -1) {
                     yield ErrorOr.error("Gear type cannot be encoded.");
                 }
 
-                yield ErrorOr.of(new UnsignedByte[] {
-                    new UnsignedByte((byte) data.gearType().getEncodingId())
-                });
+                yield ErrorOr.of(new byte[] {(byte) data.gearType().getEncodingId()});
             }
         };
     }
 
     @Override
-    public ErrorOr<CustomGearTypeData> decodeData(
-            ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<CustomGearTypeData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> {
-                GearType gearType = GearType.fromEncodingId(byteReader.read().value());
+                GearType gearType = GearType.fromEncodingId(byteReader.read());
 
                 if (gearType == null) {
                     yield ErrorOr.error("Gear type cannot be decoded.");
@@ -11,25 +11,25 @@ import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.models.stats.type.DamageType;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
 import com.wynntils.utils.type.RangedValue;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class DamageDataTransformer extends DataTransformer<DamageData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, DamageData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, DamageData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> encodeDamageData(data);
         };
     }
 
     @Override
-    public ErrorOr<DamageData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<DamageData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> decodeDamageData(byteReader);
         };
@@ -45,18 +45,18 @@ public class DamageDataTransformer extends DataTransformer<DamageData> {
         return !data.damages().isEmpty() || data.attackSpeed().isPresent();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeDamageData(DamageData data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+    private ErrorOr<byte[]> encodeDamageData(DamageData data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
 
         if (data.attackSpeed().isEmpty()) {
             return ErrorOr.error("Attack speed is not present, but damage data is present.");
         }
 
         // The first byte is the id of the attack speed of the item.
-        bytes.add(UnsignedByte.of((byte) data.attackSpeed().get().getEncodingId()));
+        bytes.write((byte) data.attackSpeed().get().getEncodingId());
 
         // The next byte is the number of attack damages present on the item.
-        bytes.add(UnsignedByte.of((byte) data.damages().size()));
+        bytes.write((byte) data.damages().size());
 
         // An attack damage is encoded the following way:
         for (Pair<DamageType, RangedValue> damage : data.damages()) {
@@ -69,25 +69,23 @@ public class DamageDataTransformer extends DataTransformer<DamageData> {
             } else {
                 damageTypeId = (byte) damageType.getEncodingId();
             }
-            bytes.add(UnsignedByte.of(damageTypeId));
+            bytes.write(damageTypeId);
 
             // The next bytes are the minimum damage bytes, which are assembled into an integer.
-            UnsignedByte[] unsignedBytes =
-                    UnsignedByteUtils.encodeVariableSizedInteger(damage.b().low());
-            bytes.addAll(List.of(unsignedBytes));
+            byte[] unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(damage.b().low());
+            bytes.writeBytes(unsignedBytes);
 
             // The next bytes are the maximum damage bytes, which are assembled into an integer.
-            unsignedBytes =
-                    UnsignedByteUtils.encodeVariableSizedInteger(damage.b().high());
-            bytes.addAll(List.of(unsignedBytes));
+            unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(damage.b().high());
+            bytes.writeBytes(unsignedBytes);
         }
 
-        return ErrorOr.of(bytes.toArray(new UnsignedByte[0]));
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<DamageData> decodeDamageData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<DamageData> decodeDamageData(UnsignedByteReader byteReader) {
         // The first byte is the id of the attack speed of the item.
-        int attackSpeedId = byteReader.read().value();
+        int attackSpeedId = byteReader.read();
         GearAttackSpeed attackSpeed = GearAttackSpeed.fromEncodingId(attackSpeedId);
 
         if (attackSpeed == null) { // Sometimes null when users mess with custom encoding
@@ -95,13 +93,13 @@ public class DamageDataTransformer extends DataTransformer<DamageData> {
         }
 
         // The next byte is the number of attack damages present on the item.
-        int damageCount = byteReader.read().value();
+        int damageCount = byteReader.read();
 
         List<Pair<DamageType, RangedValue>> damages = new ArrayList<>();
 
         for (int i = 0; i < damageCount; i++) {
             // The first byte is the id of the skill (`ETWFAN`, where N represents Neutral).
-            int damageTypeId = byteReader.read().value();
+            int damageTypeId = byteReader.read();
             DamageType damageType = DamageType.fromEncodingId(damageTypeId);
 
             if (damageType == null) { // Sometimes null when users mess with custom encoding
@@ -10,23 +10,23 @@ import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 public class DefenseDataTransformer extends DataTransformer<DefenseData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, DefenseData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, DefenseData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> encodeDefenseData(data);
         };
     }
 
     @Override
-    public ErrorOr<DefenseData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<DefenseData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> decodeDefenseData(byteReader);
         };
@@ -42,41 +42,41 @@ public class DefenseDataTransformer extends DataTransformer<DefenseData> {
         return data.health() != 0 || !data.defences().isEmpty();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeDefenseData(DefenseData data) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+    private ErrorOr<byte[]> encodeDefenseData(DefenseData data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
 
         // The first bytes are the health bytes, which are assembled into an integer.
-        UnsignedByte[] unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(data.health());
-        bytes.addAll(List.of(unsignedBytes));
+        byte[] unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(data.health());
+        bytes.writeBytes(unsignedBytes);
 
         // The next byte is the number of defense stats present on the item.
-        bytes.add(UnsignedByte.of((byte) data.defences().size()));
+        bytes.write((byte) data.defences().size());
 
         // A defense stat is encoded the following way:
         for (Pair<Element, Integer> defence : data.defences()) {
             // The first byte is the id of the skill (`ETWFA`).
-            bytes.add(UnsignedByte.of((byte) defence.a().getEncodingId()));
+            bytes.write((byte) defence.a().getEncodingId());
 
             // The next bytes are the defense bytes, which are assembled into an integer.
             unsignedBytes = UnsignedByteUtils.encodeVariableSizedInteger(defence.b());
-            bytes.addAll(List.of(unsignedBytes));
+            bytes.writeBytes(unsignedBytes);
         }
 
-        return ErrorOr.of(bytes.toArray(new UnsignedByte[0]));
+        return ErrorOr.of(bytes.toByteArray());
     }
 
-    private ErrorOr<DefenseData> decodeDefenseData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<DefenseData> decodeDefenseData(UnsignedByteReader byteReader) {
         // The first bytes are the health bytes, which are assembled into an integer.
         int health = (int) UnsignedByteUtils.decodeVariableSizedInteger(byteReader);
 
         // The next byte is the number of defense stats present on the item.
-        int defencesCount = byteReader.read().value();
+        int defencesCount = byteReader.read();
         List<Pair<Element, Integer>> defences = new ArrayList<>();
 
         for (int i = 0; i < defencesCount; i++) {
             // A defense stat is encoded the following way:
             // The first byte is the id of the skill (`ETWFA`).
-            int elementTypeId = byteReader.read().value();
+            int elementTypeId = byteReader.read();
             Element element = Element.fromEncodingId(elementTypeId);
 
             if (element == null) { // Sometimes null when users mess with custom encoding
@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items.encoding.impl.block;
@@ -8,19 +8,18 @@ import com.wynntils.models.items.encoding.data.EndData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class EndDataTransformer extends DataTransformer<EndData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, EndData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, EndData data) {
         // End data is always empty
-        return ErrorOr.of(new UnsignedByte[0]);
+        return ErrorOr.of(new byte[0]);
     }
 
     @Override
-    public ErrorOr<EndData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<EndData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         // End data is always empty
         return ErrorOr.of(new EndData());
     }
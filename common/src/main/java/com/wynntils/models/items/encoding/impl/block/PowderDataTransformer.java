@@ -12,17 +12,15 @@ import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
 import com.wynntils.utils.type.Pair;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Stream;
 
 public class PowderDataTransformer extends DataTransformer<PowderData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, PowderData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, PowderData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> encodePowderData(data);
         };
@@ -34,7 +32,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
     }
 
     @Override
-    public ErrorOr<PowderData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<PowderData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> decodePowderData(byteReader);
         };
@@ -45,7 +43,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
         return DataTransformerType.POWDER_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodePowderData(PowderData data) {
+    private ErrorOr<byte[]> encodePowderData(PowderData data) {
         // Powders are encoded as bits, a powder needs 5 bits to encode
         // That means the total size is 5 * powderCount,
         // which is padded to the nearest byte
@@ -79,7 +77,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
             powderData[i] = false;
         }
 
-        UnsignedByte[] dataBytes = UnsignedByteUtils.fromBitArray(powderData);
+        byte[] dataBytes = UnsignedByteUtils.fromBitArray(powderData);
         if (data.powders().size() > 255) {
             return ErrorOr.error("Too many powders on item.");
         }
@@ -89,19 +87,20 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
 
         // The first byte is the powder slots on the item
         // The second byte is the number of powders
-        return ErrorOr.of(Stream.concat(
-                        Stream.of(UnsignedByte.of((byte) data.powderSlots()), UnsignedByte.of((byte)
-                                data.powders().size())),
-                        Stream.of(dataBytes))
-                .toArray(UnsignedByte[]::new));
+        byte[] bytes = new byte[dataBytes.length + 2];
+        bytes[0] = (byte) data.powderSlots();
+        bytes[1] = (byte) data.powders().size();
+        System.arraycopy(dataBytes, 0, bytes, 2, dataBytes.length);
+
+        return ErrorOr.of(bytes);
     }
 
-    private ErrorOr<PowderData> decodePowderData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<PowderData> decodePowderData(UnsignedByteReader byteReader) {
         // The first byte is the powder slots on the item
-        int powderSlots = byteReader.read().value();
+        int powderSlots = byteReader.read();
 
         // The second byte is the number of powders
-        int powderCount = byteReader.read().value();
+        int powderCount = byteReader.read();
 
         if (powderCount > powderSlots) {
             WynntilsMod.warn("Powder count is greater than powder slots. This should not happen.");
@@ -116,7 +115,7 @@ public class PowderDataTransformer extends DataTransformer<PowderData> {
         int totalBits = (bitsNeeded + 7) / 8 * 8;
 
         // The remaining bytes are the powder data
-        UnsignedByte[] powderData = byteReader.read(totalBits / 8);
+        byte[] powderData = byteReader.read(totalBits / 8);
 
         // Convert the powder data to a bit array
         boolean[] powderBits = UnsignedByteUtils.toBitArray(powderData);
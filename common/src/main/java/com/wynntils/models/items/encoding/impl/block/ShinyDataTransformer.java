@@ -11,13 +11,12 @@ import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
 import com.wynntils.models.stats.type.ShinyStat;
 import com.wynntils.utils.UnsignedByteUtils;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class ShinyDataTransformer extends DataTransformer<ShinyData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, ShinyData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, ShinyData data) {
         return switch (version) {
             case VERSION_1 -> ErrorOr.of(encodeShinyData(data));
             case VERSION_2 -> ErrorOr.of(encodeShinyDataV2(data));
@@ -30,7 +29,7 @@ public class ShinyDataTransformer extends DataTransformer<ShinyData> {
     }
 
     @Override
-    public ErrorOr<ShinyData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<ShinyData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1 -> decodeShinyData(byteReader);
             case VERSION_2 -> decodeShinyDataV2(byteReader);
@@ -42,17 +41,16 @@ public class ShinyDataTransformer extends DataTransformer<ShinyData> {
         return DataTransformerType.SHINY_DATA_TRANSFORMER.getId();
     }
 
-    private static UnsignedByte[] encodeShinyDataV2(ShinyData data) {
-        UnsignedByte[] shinyStatValueBytes =
-                UnsignedByteUtils.encodeVariableSizedInteger(data.shinyStat().value());
+    private static byte[] encodeShinyDataV2(ShinyData data) {
+        byte[] shinyStatValueBytes = UnsignedByteUtils.encodeVariableSizedInteger(data.shinyStat().value());
 
-        UnsignedByte[] bytes = new UnsignedByte[shinyStatValueBytes.length + 2];
+        byte[] bytes = new byte[shinyStatValueBytes.length + 2];
 
         // The first byte is the id of the shiny stat.
-        bytes[0] = UnsignedByte.of((byte) data.shinyStat().statType().id());
+        bytes[0] = (byte) data.shinyStat().statType().id();
 
         // The second byte is the shiny reroll count.
-        bytes[1] = UnsignedByte.of((byte) data.shinyStat().shinyRerolls());
+        bytes[1] = (byte) data.shinyStat().shinyRerolls();
 
         // The following bytes is are assembled into an integer representing the shiny value.
         System.arraycopy(shinyStatValueBytes, 0, bytes, 2, shinyStatValueBytes.length);
@@ -60,29 +58,28 @@ public class ShinyDataTransformer extends DataTransformer<ShinyData> {
         return bytes;
     }
 
-    private static ErrorOr<ShinyData> decodeShinyDataV2(ArrayReader<UnsignedByte> byteReader) {
+    private static ErrorOr<ShinyData> decodeShinyDataV2(UnsignedByteReader byteReader) {
         // The first byte is the id of the shiny stat.
-        UnsignedByte statTypeId = byteReader.read();
+        int statTypeId = byteReader.read();
 
         // The second byte is the shiny reroll count.
-        UnsignedByte shinyRerolls = byteReader.read();
+        int shinyRerolls = byteReader.read();
 
         // The following bytes is are assembled into an integer representing the shiny value.
         long statValue = UnsignedByteUtils.decodeVariableSizedInteger(byteReader);
 
         // Note: V1 encoding does not support shiny rerolls, so we default to 0.
         return ErrorOr.of(new ShinyData(
-                new ShinyStat(Models.Shiny.getShinyStatType(statTypeId.value()), statValue, shinyRerolls.value())));
+                new ShinyStat(Models.Shiny.getShinyStatType(statTypeId), statValue, shinyRerolls)));
     }
 
-    private static UnsignedByte[] encodeShinyData(ShinyData data) {
-        UnsignedByte[] shinyStatValueBytes =
-                UnsignedByteUtils.encodeVariableSizedInteger(data.shinyStat().value());
+    private static byte[] encodeShinyData(ShinyData data) {
+        byte[] shinyStatValueBytes = UnsignedByteUtils.encodeVariableSizedInteger(data.shinyStat().value());
 
-        UnsignedByte[] bytes = new UnsignedByte[shinyStatValueBytes.length + 1];
+        byte[] bytes = new byte[shinyStatValueBytes.length + 1];
 
         // The first byte is the id of the shiny stat.
-        bytes[0] = UnsignedByte.of((byte) data.shinyStat().statType().id());
+        bytes[0] = (byte) data.shinyStat().statType().id();
 
         // The following bytes is are assembled into an integer representing the shiny value.
         System.arraycopy(shinyStatValueBytes, 0, bytes, 1, shinyStatValueBytes.length);
@@ -90,15 +87,14 @@ public class ShinyDataTransformer extends DataTransformer<ShinyData> {
         return bytes;
     }
 
-    private ErrorOr<ShinyData> decodeShinyData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<ShinyData> decodeShinyData(UnsignedByteReader byteReader) {
         // The first byte is the id of the shiny stat.
-        UnsignedByte statTypeId = byteReader.read();
+        int statTypeId = byteReader.read();
 
         // The following bytes is are assembled into an integer representing the shiny value.
         long statValue = UnsignedByteUtils.decodeVariableSizedInteger(byteReader);
 
         // Note: V1 encoding does not support shiny rerolls, so we default to 0.
-        return ErrorOr.of(
-                new ShinyData(new ShinyStat(Models.Shiny.getShinyStatType(statTypeId.value()), statValue, 0)));
+        return ErrorOr.of(new ShinyData(new ShinyStat(Models.Shiny.getShinyStatType(statTypeId), statValue, 0)));
     }
 }
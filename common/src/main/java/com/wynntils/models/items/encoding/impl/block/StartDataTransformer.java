@@ -8,9 +8,8 @@ import com.wynntils.models.items.encoding.data.StartData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class StartDataTransformer extends DataTransformer<StartData> {
     /**
@@ -18,15 +17,15 @@ public class StartDataTransformer extends DataTransformer<StartData> {
      * @param byteReader The byte reader to read the data from.
      * @return The decoded start data.
      */
-    public static ErrorOr<StartData> decodeData(ArrayReader<UnsignedByte> byteReader) {
-        UnsignedByte idByte = byteReader.read();
-        if (idByte.value() != DataTransformerType.START_DATA_TRANSFORMER.getId()) {
+    public static ErrorOr<StartData> decodeData(UnsignedByteReader byteReader) {
+        int idByte = byteReader.read();
+        if (idByte != DataTransformerType.START_DATA_TRANSFORMER.getId()) {
             return ErrorOr.error("Encoded data does not start with a start data block.");
         }
 
-        UnsignedByte versionByte = byteReader.read();
+        int versionByte = byteReader.read();
 
-        StartData startData = StartData.fromByte(versionByte);
+        StartData startData = StartData.fromByte((byte) versionByte);
         if (startData.version() == null) {
             return ErrorOr.error("Unknown version: " + versionByte);
         }
@@ -35,17 +34,17 @@ public class StartDataTransformer extends DataTransformer<StartData> {
     }
 
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, StartData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, StartData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 ->
-                ErrorOr.of(new UnsignedByte[] {
-                    UnsignedByte.of(data.version().getId()),
+                ErrorOr.of(new byte[] {
+                    data.version().getId(),
                 });
         };
     }
 
     @Override
-    public ErrorOr<StartData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<StartData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         // NOOP, should never be called
         throw new IllegalStateException("StartDataTransformer should never be called to decode data");
     }
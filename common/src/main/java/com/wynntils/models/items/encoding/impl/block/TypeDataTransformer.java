@@ -8,28 +8,27 @@ import com.wynntils.models.items.encoding.data.TypeData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class TypeDataTransformer extends DataTransformer<TypeData> {
     @Override
-    public ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, TypeData data) {
+    public ErrorOr<byte[]> encodeData(ItemTransformingVersion version, TypeData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 ->
-                ErrorOr.of(new UnsignedByte[] {UnsignedByte.of(data.itemType().getEncodingId())});
+                ErrorOr.of(new byte[] {data.itemType().getEncodingId()});
         };
     }
 
     @Override
-    public ErrorOr<TypeData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<TypeData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> decodeType(byteReader);
         };
     }
 
-    private static ErrorOr<TypeData> decodeType(ArrayReader<UnsignedByte> byteReader) {
-        TypeData typeData = TypeData.fromByte(byteReader.read());
+    private static ErrorOr<TypeData> decodeType(UnsignedByteReader byteReader) {
+        TypeData typeData = TypeData.fromByte((byte) byteReader.read());
         if (typeData.itemType() == null) {
             return ErrorOr.error("Unknown item type.");
         }
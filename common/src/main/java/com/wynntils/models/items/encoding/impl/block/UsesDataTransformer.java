@@ -8,21 +8,20 @@ import com.wynntils.models.items.encoding.data.UsesData;
 import com.wynntils.models.items.encoding.type.DataTransformer;
 import com.wynntils.models.items.encoding.type.DataTransformerType;
 import com.wynntils.models.items.encoding.type.ItemTransformingVersion;
-import com.wynntils.utils.type.ArrayReader;
 import com.wynntils.utils.type.CappedValue;
 import com.wynntils.utils.type.ErrorOr;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 
 public class UsesDataTransformer extends DataTransformer<UsesData> {
     @Override
-    protected ErrorOr<UnsignedByte[]> encodeData(ItemTransformingVersion version, UsesData data) {
+    protected ErrorOr<byte[]> encodeData(ItemTransformingVersion version, UsesData data) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> encodeUsesData(data);
         };
     }
 
     @Override
-    public ErrorOr<UsesData> decodeData(ItemTransformingVersion version, ArrayReader<UnsignedByte> byteReader) {
+    public ErrorOr<UsesData> decodeData(ItemTransformingVersion version, UnsignedByteReader byteReader) {
         return switch (version) {
             case VERSION_1, VERSION_2 -> decodeUsesData(byteReader);
         };
@@ -33,7 +32,7 @@ public class UsesDataTransformer extends DataTransformer<UsesData> {
         return DataTransformerType.USES_DATA_TRANSFORMER.getId();
     }
 
-    private ErrorOr<UnsignedByte[]> encodeUsesData(UsesData data) {
+    private ErrorOr<byte[]> encodeUsesData(UsesData data) {
         if (data.uses().current() < 0
                 || data.uses().max() < 0
                 || data.uses().current() > 255
@@ -41,22 +40,22 @@ public class UsesDataTransformer extends DataTransformer<UsesData> {
             return ErrorOr.error("Uses data does not fit a byte: " + data.uses());
         }
 
-        UnsignedByte[] bytes = new UnsignedByte[2];
+        byte[] bytes = new byte[2];
         // The first byte is the remaining uses for the item.
-        bytes[0] = new UnsignedByte((byte) data.uses().current());
+        bytes[0] = (byte) data.uses().current();
 
         // The second byte is the maximum uses for the item.
-        bytes[1] = new UnsignedByte((byte) data.uses().max());
+        bytes[1] = (byte) data.uses().max();
 
         return ErrorOr.of(bytes);
     }
 
-    private ErrorOr<UsesData> decodeUsesData(ArrayReader<UnsignedByte> byteReader) {
+    private ErrorOr<UsesData> decodeUsesData(UnsignedByteReader byteReader) {
         // The first byte is the remaining uses for the item.
-        int currentUses = byteReader.read().value();
+        int currentUses = byteReader.read();
 
         // The second byte is the maximum uses for the item.
-        int maxUses = byteReader.read().value();
+        int maxUses = byteReader.read();
 
         return ErrorOr.of(new UsesData(new CappedValue(currentUses, maxUses)));
     }
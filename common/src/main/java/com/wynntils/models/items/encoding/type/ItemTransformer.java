@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.items.encoding.type;
@@ -51,12 +51,13 @@ public abstract class ItemTransformer<T extends WynnItem> {
             }
 
             // Process the pending calculations, as we know the base values now
-            ErrorOr<Void> processResult = identificationData.processPendingCalculations(statPossibleValues);
-            if (processResult.hasError()) {
-                return ErrorOr.error(processResult.getError());
+            ErrorOr<List<StatActualValue>> resolvedIdentifications =
+                    identificationData.resolveIdentifications(statPossibleValues);
+            if (resolvedIdentifications.hasError()) {
+                return ErrorOr.error(resolvedIdentifications.getError());
             }
 
-            identifications = identificationData.identifications().stream()
+            identifications = resolvedIdentifications.getValue().stream()
                     .collect(Collectors.toMap(StatActualValue::statType, Function.identity()));
         } else {
             // If there are no encoded possible values, use the item info's possible values
@@ -1031,6 +1031,7 @@ public final class LootrunModel extends Model {
         lootrunDetails.setOrangeAmount(-1);
         lootrunDetails.setRainbowAmount(-1);
         lootrunDetailsStorage.get().put(Models.Character.getId(), lootrunDetails);
+        lootrunDetailsStorage.touched();
     }
 
     private void challengeFailed() {
@@ -1073,6 +1074,7 @@ public final class LootrunModel extends Model {
         lootrunDetails.setOrangeBeaconCounts(orangeCounts);
 
         lootrunDetailsStorage.get().put(Models.Character.getId(), lootrunDetails);
+        lootrunDetailsStorage.touched();
     }
 
     private boolean updateTaskLocationPrediction(Beacon beacon, LootrunBeaconMarkerKind lootrunMarker, int distance) {
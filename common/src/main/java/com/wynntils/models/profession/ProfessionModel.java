@@ -11,6 +11,7 @@ import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.handlers.labels.event.LabelIdentifiedEvent;
 import com.wynntils.models.profession.event.ProfessionXpGainEvent;
 import com.wynntils.models.profession.label.CraftingStationLabelParser;
@@ -82,6 +83,9 @@ public final class ProfessionModel extends Model {
         Handlers.Label.registerParser(new CraftingStationLabelParser());
         Handlers.Label.registerParser(new GatheringNodeHarvestLabelParser());
 
+        Handlers.Chat.registerChatPattern(PROFESSION_CRAFT_PATTERN, ChatTextProjection.ORIGINAL, this::onCraftXpGain);
+        Handlers.Chat.registerChatPattern(PROFESSION_LEVELUP_PATTERN, ChatTextProjection.ORIGINAL, this::onLevelUp);
+
         for (ProfessionType pt : ProfessionType.values()) {
             rawXpGainInLastMinute.put(pt, new TimedSet<>(1, TimeUnit.MINUTES, true));
         }
@@ -116,29 +120,19 @@ public final class ProfessionModel extends Model {
         }
     }
 
-    @SubscribeEvent
-    public void onChatMessage(ChatMessageReceivedEvent event) {
-        StyledText message = event.getOriginalStyledText();
-
-        Matcher craftMatcher = message.getMatcher(PROFESSION_CRAFT_PATTERN);
-        if (craftMatcher.matches()) {
-            ProfessionXpGainEvent xpGainEvent = new ProfessionXpGainEvent(
-                    ProfessionType.fromString(craftMatcher.group("name")),
-                    Float.parseFloat(craftMatcher.group("gain")),
-                    Float.parseFloat(craftMatcher.group("current")));
-            WynntilsMod.postEvent(xpGainEvent);
-            if (xpGainEvent.isCanceled()) {
-                event.setCanceled(true);
-            }
-            return;
+    private void onCraftXpGain(ChatMessageReceivedEvent event, Matcher matcher) {
+        ProfessionXpGainEvent xpGainEvent = new ProfessionXpGainEvent(
+                ProfessionType.fromString(matcher.group("name")),
+                Float.parseFloat(matcher.group("gain")),
+                Float.parseFloat(matcher.group("current")));
+        WynntilsMod.postEvent(xpGainEvent);
+        if (xpGainEvent.isCanceled()) {
+            event.setCanceled(true);
         }
+    }
 
-        Matcher levelUpMatcher = message.getMatcher(PROFESSION_LEVELUP_PATTERN);
-        if (levelUpMatcher.matches()) {
-            updateLevel(
-                    ProfessionType.fromString(levelUpMatcher.group("name")),
-                    Integer.parseInt(levelUpMatcher.group("level")));
-        }
+    private void onLevelUp(ChatMessageReceivedEvent event, Matcher matcher) {
+        updateLevel(ProfessionType.fromString(matcher.group("name")), Integer.parseInt(matcher.group("level")));
     }
 
     @SubscribeEvent(priority = EventPriority.HIGHEST)
@@ -10,6 +10,7 @@ import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.handlers.scoreboard.ScoreboardPart;
 import com.wynntils.handlers.scoreboard.ScoreboardSegment;
 import com.wynntils.mc.event.TickEvent;
@@ -19,7 +20,6 @@ import com.wynntils.models.territories.markers.GuildAttackMarkerProvider;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.GuildResourceValues;
 import com.wynntils.utils.mc.McUtils;
-import com.wynntils.utils.mc.StyledTextUtils;
 import com.wynntils.utils.type.TimedSet;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -70,57 +70,49 @@ public final class GuildAttackTimerModel extends Model {
 
         Handlers.Scoreboard.addPart(GUILD_ATTACK_SCOREBOARD_PART);
         Models.Marker.registerMarkerProvider(GUILD_ATTACK_MARKER_PROVIDER);
-    }
 
-    @SubscribeEvent
-    public void onMessage(ChatMessageReceivedEvent event) {
         // TODO: Once RecipientType supports Wynncraft 2.1 messages, we can check for RecipientType.GUILD
+        Handlers.Chat.registerChatPattern(WAR_MESSAGE_PATTERN, ChatTextProjection.UNWRAPPED, this::onWarMessage);
+        Handlers.Chat.registerChatPattern(CAPTURED_PATTERN, ChatTextProjection.UNWRAPPED, this::onCapturedMessage);
+        Handlers.Chat.registerChatPattern(
+                GUILD_DEFENSE_CHAT_PATTERN, ChatTextProjection.UNWRAPPED, this::onDefenseMessage);
+    }
 
-        StyledText cleanMessaage =
-                StyledTextUtils.unwrap(event.getOriginalStyledText()).stripAlignment();
-        Matcher matcher = cleanMessaage.getMatcher(WAR_MESSAGE_PATTERN);
-        if (matcher.matches()) {
-            long timerEnd = System.currentTimeMillis();
+    private void onWarMessage(ChatMessageReceivedEvent event, Matcher matcher) {
+        long timerEnd = System.currentTimeMillis();
 
-            if (matcher.group("minutes") != null) {
-                timerEnd += Long.parseLong(matcher.group("minutes")) * 60 * 1000;
-            }
-            if (matcher.group("seconds") != null) {
-                timerEnd += Long.parseLong(matcher.group("seconds")) * 1000;
-            }
-
-            String territory = matcher.group("territory");
-            TerritoryAttackTimer scoreboardTimer = scoreboardAttackTimers.remove(territory);
+        if (matcher.group("minutes") != null) {
+            timerEnd += Long.parseLong(matcher.group("minutes")) * 60 * 1000;
+        }
+        if (matcher.group("seconds") != null) {
+            timerEnd += Long.parseLong(matcher.group("seconds")) * 1000;
+        }
 
-            TerritoryAttackTimer attackTimer = new TerritoryAttackTimer(territory, timerEnd);
-            TerritoryAttackTimer oldTimer = chatAttackTimers.put(territory, attackTimer);
+        String territory = matcher.group("territory");
+        TerritoryAttackTimer scoreboardTimer = scoreboardAttackTimers.remove(territory);
 
-            // If we didn't have a timer before, post an event
-            if (oldTimer == null && scoreboardTimer == null) {
-                WynntilsMod.postEvent(new GuildWarQueuedEvent(attackTimer));
-            }
+        TerritoryAttackTimer attackTimer = new TerritoryAttackTimer(territory, timerEnd);
+        TerritoryAttackTimer oldTimer = chatAttackTimers.put(territory, attackTimer);
 
-            return;
+        // If we didn't have a timer before, post an event
+        if (oldTimer == null && scoreboardTimer == null) {
+            WynntilsMod.postEvent(new GuildWarQueuedEvent(attackTimer));
         }
+    }
 
-        matcher = cleanMessaage.getMatcher(CAPTURED_PATTERN);
-        if (matcher.matches()) {
-            // Remove the attack timer for the territory, if it exists
-            // (the captured message appears for both owned and attacked territories)
-            String territory = matcher.group("territory");
+    private void onCapturedMessage(ChatMessageReceivedEvent event, Matcher matcher) {
+        // Remove the attack timer for the territory, if it exists
+        // (the captured message appears for both owned and attacked territories)
+        String territory = matcher.group("territory");
 
-            chatAttackTimers.remove(territory);
-            scoreboardAttackTimers.remove(territory);
-            capturedTerritories.put(territory);
-            return;
-        }
+        chatAttackTimers.remove(territory);
+        scoreboardAttackTimers.remove(territory);
+        capturedTerritories.put(territory);
+    }
 
-        matcher = cleanMessaage.getMatcher(GUILD_DEFENSE_CHAT_PATTERN);
-        if (matcher.matches()) {
-            String territory = matcher.group(1);
-            territoryDefenses.put(territory, GuildResourceValues.fromString(matcher.group(2)));
-            return;
-        }
+    private void onDefenseMessage(ChatMessageReceivedEvent event, Matcher matcher) {
+        String territory = matcher.group(1);
+        territoryDefenses.put(territory, GuildResourceValues.fromString(matcher.group(2)));
     }
 
     @SubscribeEvent
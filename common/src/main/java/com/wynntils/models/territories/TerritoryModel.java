@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.models.territories;
@@ -13,6 +13,7 @@ import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
+import com.wynntils.core.mod.type.ScheduledTask;
 import com.wynntils.core.net.Download;
 import com.wynntils.core.net.UrlId;
 import com.wynntils.core.text.StyledText;
@@ -20,23 +21,23 @@ import com.wynntils.mc.event.AdvancementUpdateEvent;
 import com.wynntils.models.items.items.gui.TerritoryItem;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.TerritoryConnectionType;
+import com.wynntils.models.territories.type.TradingRoute;
 import com.wynntils.screens.territorymanagement.TerritoryManagementHolder;
 import com.wynntils.services.map.pois.TerritoryPoi;
+import com.wynntils.services.map.type.PoiSpatialIndex;
 import com.wynntils.services.map.type.TerritoryDefenseFilterType;
+import com.wynntils.utils.type.BoundingBox;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -57,14 +58,18 @@ public final class TerritoryModel extends Model {
     // This is territory POIs as returned by the advancement from Wynncraft
     private final Map<String, TerritoryPoi> territoryPoiMap = new ConcurrentHashMap<>();
 
+    // The trading routes between the territories in territoryPoiMap, rebuilt whenever it changes
+    private List<TradingRoute> tradingRoutes = List.of();
+
     // This is the profiles as downloaded from Athena
     private Map<String, TerritoryProfile> territoryProfileMap = new HashMap<>();
 
     // This is just a cache of TerritoryPois created for all territoryProfileMap values
     private Set<TerritoryPoi> allTerritoryPois = new HashSet<>();
+    private PoiSpatialIndex<TerritoryPoi> allTerritoryPoiIndex = PoiSpatialIndex.empty();
+    private TerritoryProfileIndex territoryProfileIndex = new TerritoryProfileIndex(List.of());
 
-    private ScheduledFuture<?> scheduledFuture;
-    private final ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1);
+    private ScheduledTask updateTask;
     private long lastGuildUpdate = 0;
 
     public TerritoryModel() {
@@ -75,11 +80,11 @@ public final class TerritoryModel extends Model {
 
     @Override
     public void reloadData() {
-        if (scheduledFuture != null && !scheduledFuture.isCancelled()) {
-            scheduledFuture.cancel(false);
+        if (updateTask != null) {
+            updateTask.cancel();
         }
 
-        scheduledFuture = timerExecutor.scheduleWithFixedDelay(
+        updateTask = Managers.TickScheduler.scheduleRepeating(
                 this::updateTerritoryProfileMap, 0, IN_GUILD_TERRITORY_UPDATE_MS, TimeUnit.MILLISECONDS);
     }
 
@@ -95,11 +100,7 @@ public final class TerritoryModel extends Model {
      * @return The territory profile, or null if not found
      */
     public TerritoryProfile getTerritoryProfileFromShortName(String shortName, Collection<String> excludedTerritories) {
-        return territoryProfileMap.values().stream()
-                .filter(profile -> excludedTerritories.stream().noneMatch(ex -> ex.equals(profile.getName())))
-                .filter(profile -> profile.getName().startsWith(shortName))
-                .min(Comparator.comparing(TerritoryProfile::getName))
-                .orElse(null);
+        return territoryProfileIndex.getProfileFromShortName(shortName, excludedTerritories);
     }
 
     public Stream<String> getTerritoryNames() {
@@ -110,6 +111,14 @@ public final class TerritoryModel extends Model {
         return allTerritoryPois;
     }
 
+    /**
+     * Returns the territory POIs that could intersect the given box, when rendered with the given zoom and scale.
+     * See {@link PoiSpatialIndex#getPois(BoundingBox, float, float)}.
+     */
+    public List<TerritoryPoi> getTerritoryPois(BoundingBox box, float mapZoom, float scale) {
+        return allTerritoryPoiIndex.getPois(box, mapZoom, scale);
+    }
+
     public List<TerritoryPoi> getTerritoryPoisFromAdvancement() {
         return new ArrayList<>(territoryPoiMap.values());
     }
@@ -133,11 +142,16 @@ public final class TerritoryModel extends Model {
         return territoryPoiMap.get(name);
     }
 
+    /**
+     * Returns every trading route between the territories known from the advancements, once per route.
+     * Routes to territories that are not known are left out.
+     */
+    public List<TradingRoute> getTradingRoutes() {
+        return tradingRoutes;
+    }
+
     public TerritoryProfile getTerritoryProfileForPosition(Position position) {
-        return territoryProfileMap.values().stream()
-                .filter(profile -> profile.insideArea(position))
-                .findFirst()
-                .orElse(null);
+        return territoryProfileIndex.getProfileForPosition(position);
     }
 
     @SubscribeEvent
@@ -182,6 +196,24 @@ public final class TerritoryModel extends Model {
             territoryPoiMap.put(
                     entry.getKey(), new TerritoryPoi(() -> getTerritoryProfile(entry.getKey()), entry.getValue()));
         }
+
+        if (!tempMap.isEmpty()) {
+            updateTradingRoutes();
+        }
+    }
+
+    private void updateTradingRoutes() {
+        Set<TradingRoute> routes = new LinkedHashSet<>();
+
+        for (Map.Entry<String, TerritoryPoi> entry : territoryPoiMap.entrySet()) {
+            for (String tradingRoute : entry.getValue().getTerritoryInfo().getTradingRoutes()) {
+                if (!territoryPoiMap.containsKey(tradingRoute)) continue;
+
+                routes.add(TradingRoute.of(entry.getKey(), tradingRoute));
+            }
+        }
+
+        tradingRoutes = List.copyOf(routes);
     }
 
     public Map<TerritoryItem, TerritoryConnectionType> getTerritoryConnections(List<TerritoryItem> territoryItems) {
@@ -263,9 +295,11 @@ public final class TerritoryModel extends Model {
                     }
 
                     territoryProfileMap = tempMap;
+                    territoryProfileIndex = new TerritoryProfileIndex(tempMap.values());
                     allTerritoryPois = territoryProfileMap.values().stream()
                             .map(TerritoryPoi::new)
                             .collect(Collectors.toSet());
+                    allTerritoryPoiIndex = PoiSpatialIndex.of(allTerritoryPois);
 
                     lastGuildUpdate = System.currentTimeMillis();
                 },
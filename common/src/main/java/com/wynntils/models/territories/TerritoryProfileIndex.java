@@ -0,0 +1,116 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories;
+
+import com.wynntils.models.territories.profile.TerritoryProfile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.core.Position;
+
+/**
+ * Lookups of territory profiles by position and by name prefix, built once for every territory list download.
+ * <p> Positions are looked up in a uniform grid of the territory areas. The territory found last is checked
+ * before the grid, as the player usually stays in the same territory for a while.
+ */
+final class TerritoryProfileIndex {
+    private static final int CELL_SIZE = 256;
+    // Territories covering more cells than this are checked for every position instead
+    private static final int MAX_CELLS_PER_TERRITORY = 64;
+
+    private final Map<Long, List<TerritoryProfile>> cells = new HashMap<>();
+    private final List<TerritoryProfile> unindexedProfiles = new ArrayList<>();
+    private final List<TerritoryProfile> profilesByName;
+
+    private volatile TerritoryProfile lastFoundProfile;
+
+    TerritoryProfileIndex(Collection<TerritoryProfile> profiles) {
+        for (TerritoryProfile profile : profiles) {
+            int minCellX = toCell(profile.getStartX());
+            int maxCellX = toCell(profile.getEndX());
+            int minCellZ = toCell(profile.getStartZ());
+            int maxCellZ = toCell(profile.getEndZ());
+
+            if (((long) maxCellX - minCellX + 1) * ((long) maxCellZ - minCellZ + 1) > MAX_CELLS_PER_TERRITORY) {
+                unindexedProfiles.add(profile);
+                continue;
+            }
+
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    cells.computeIfAbsent(cellKey(cellX, cellZ), k -> new ArrayList<>()).add(profile);
+                }
+            }
+        }
+
+        profilesByName = profiles.stream()
+                .sorted(Comparator.comparing(TerritoryProfile::getName))
+                .toList();
+    }
+
+    TerritoryProfile getProfileForPosition(Position position) {
+        TerritoryProfile lastProfile = lastFoundProfile;
+        if (lastProfile != null && lastProfile.insideArea(position)) return lastProfile;
+
+        List<TerritoryProfile> cell =
+                cells.getOrDefault(cellKey(toCell(position.x()), toCell(position.z())), List.of());
+        TerritoryProfile profile = findProfile(cell, position);
+        if (profile == null) {
+            profile = findProfile(unindexedProfiles, position);
+        }
+
+        if (profile != null) {
+            lastFoundProfile = profile;
+        }
+        return profile;
+    }
+
+    /**
+     * Returns the first territory, by name, whose name starts with the given prefix and is not excluded.
+     */
+    TerritoryProfile getProfileFromShortName(String shortName, Collection<String> excludedTerritories) {
+        int low = 0;
+        int high = profilesByName.size();
+
+        // Find the first name that is not less than the prefix, all names with the prefix follow it
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (profilesByName.get(middle).getName().compareTo(shortName) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        for (int i = low; i < profilesByName.size(); i++) {
+            TerritoryProfile profile = profilesByName.get(i);
+            if (!profile.getName().startsWith(shortName)) break;
+            if (excludedTerritories.contains(profile.getName())) continue;
+
+            return profile;
+        }
+
+        return null;
+    }
+
+    private static TerritoryProfile findProfile(List<TerritoryProfile> profiles, Position position) {
+        for (TerritoryProfile profile : profiles) {
+            if (profile.insideArea(position)) return profile;
+        }
+
+        return null;
+    }
+
+    private static int toCell(double coordinate) {
+        return (int) Math.floorDiv((long) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
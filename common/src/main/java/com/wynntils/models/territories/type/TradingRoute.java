@@ -0,0 +1,17 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.models.territories.type;
+
+/**
+ * An undirected trading route between two territories. The names are sorted, so a route
+ * listed by both of its territories is only stored once.
+ */
+public record TradingRoute(String territory1, String territory2) {
+    public static TradingRoute of(String territoryA, String territoryB) {
+        return territoryA.compareTo(territoryB) <= 0
+                ? new TradingRoute(territoryA, territoryB)
+                : new TradingRoute(territoryB, territoryA);
+    }
+}
@@ -11,7 +11,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.persisted.Persisted;
 import com.wynntils.core.persisted.storage.Storage;
 import com.wynntils.core.text.StyledText;
-import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.mc.event.ChatSentEvent;
 import com.wynntils.mc.event.ContainerSetContentEvent;
 import com.wynntils.mc.event.ContainerSetSlotEvent;
@@ -33,7 +33,6 @@ import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.screens.trademarket.TradeMarketSearchResultHolder;
 import com.wynntils.utils.mc.LoreUtils;
 import com.wynntils.utils.mc.McUtils;
-import com.wynntils.utils.mc.StyledTextUtils;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -44,7 +43,6 @@ import net.minecraft.client.gui.screens.inventory.ContainerScreen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
-import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public final class TradeMarketModel extends Model {
@@ -109,6 +107,11 @@ public final class TradeMarketModel extends Model {
 
         Handlers.Item.addSimplifiablePatterns(ITEM_NAME_PATTERNS);
         Handlers.WrappedScreen.registerWrappedScreen(new TradeMarketSearchResultHolder());
+
+        registerChatInputPattern(SEARCH_INPUT_PATTERN, TradeMarketState.SEARCH_CHAT_INPUT);
+        registerChatInputPattern(AMOUNT_INPUT_PATTERN, TradeMarketState.AMOUNT_CHAT_INPUT);
+        registerChatInputPattern(PRICE_INPUT_PATTERN, TradeMarketState.PRICE_CHAT_INPUT);
+        registerChatInputPattern(CANCELLED_PATTERN, TradeMarketState.NOT_ACTIVE);
     }
 
     @SubscribeEvent
@@ -160,20 +163,9 @@ public final class TradeMarketModel extends Model {
         handleSellDialogueUpdate();
     }
 
-    @SubscribeEvent(priority = EventPriority.HIGH)
-    public void onChatMessageReceive(ChatMessageReceivedEvent event) {
-        StyledText styledText =
-                StyledTextUtils.unwrap(event.getOriginalStyledText()).stripAlignment();
-
-        if (styledText.matches(SEARCH_INPUT_PATTERN)) {
-            tradeMarketState = TradeMarketState.SEARCH_CHAT_INPUT;
-        } else if (styledText.matches(AMOUNT_INPUT_PATTERN)) {
-            tradeMarketState = TradeMarketState.AMOUNT_CHAT_INPUT;
-        } else if (styledText.matches(PRICE_INPUT_PATTERN)) {
-            tradeMarketState = TradeMarketState.PRICE_CHAT_INPUT;
-        } else if (styledText.matches(CANCELLED_PATTERN)) {
-            tradeMarketState = TradeMarketState.NOT_ACTIVE;
-        }
+    private void registerChatInputPattern(Pattern pattern, TradeMarketState state) {
+        Handlers.Chat.registerChatPattern(
+                pattern, ChatTextProjection.UNWRAPPED, (event, matcher) -> tradeMarketState = state);
     }
 
     @SubscribeEvent
@@ -8,15 +8,14 @@ import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Handlers;
 import com.wynntils.core.components.Model;
 import com.wynntils.core.components.Models;
-import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.bossbar.TrackedBar;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.models.worlds.bossbars.InfoBar;
 import com.wynntils.models.worlds.event.BombEvent;
 import com.wynntils.models.worlds.event.WorldStateEvent;
 import com.wynntils.models.worlds.type.BombInfo;
 import com.wynntils.models.worlds.type.BombType;
-import com.wynntils.utils.mc.StyledTextUtils;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
@@ -26,7 +25,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public final class BombModel extends Model {
@@ -52,58 +50,46 @@ public final class BombModel extends Model {
         super(List.of());
 
         Handlers.BossBar.registerBar(InfoBar);
+
+        Handlers.Chat.registerChatPattern(BOMB_BELL_PATTERN, ChatTextProjection.UNWRAPPED, this::onBombBell);
+        Handlers.Chat.registerChatPattern(BOMB_THROWN_PATTERN, ChatTextProjection.UNWRAPPED, this::onBombThrown);
+        Handlers.Chat.registerChatPattern(BOMB_EXPIRED_PATTERN, ChatTextProjection.UNWRAPPED, this::onBombExpired);
     }
 
-    @SubscribeEvent(priority = EventPriority.HIGHEST)
-    public void onChat(ChatMessageReceivedEvent event) {
-        StyledText message = event.getOriginalStyledText();
-        StyledText unwrapped =
-                StyledTextUtils.unwrap(event.getOriginalStyledText()).stripAlignment();
-
-        Matcher bellMatcher = unwrapped.getMatcher(BOMB_BELL_PATTERN);
-        if (bellMatcher.matches()) {
-            BombInfo bombInfo = addBombFromChat(
-                    bellMatcher.group("user"),
-                    bellMatcher.group("bomb"),
-                    bellMatcher.group("server").trim());
-            if (bombInfo == null) return;
-
-            BombEvent.BombBell bombEvent = new BombEvent.BombBell(bombInfo, message);
-            WynntilsMod.postEvent(bombEvent);
-            event.setMessage(bombEvent.getMessage());
-
-            return;
-        }
+    private void onBombBell(ChatMessageReceivedEvent event, Matcher matcher) {
+        BombInfo bombInfo =
+                addBombFromChat(matcher.group("user"), matcher.group("bomb"), matcher.group("server").trim());
+        if (bombInfo == null) return;
 
-        Matcher localMatcher = unwrapped.getMatcher(BOMB_THROWN_PATTERN);
-        if (localMatcher.matches()) {
-            // FIXME: User is sent on following chat line, we don't currently use the name anywhere but if we do in
-            //  the future then this needs fixing
-            BombInfo bombInfo =
-                    addBombFromChat("", localMatcher.group("bomb"), Models.WorldState.getCurrentWorldName());
-            if (bombInfo == null) return;
-
-            BombEvent.Local bombEvent = new BombEvent.Local(bombInfo, message);
-            WynntilsMod.postEvent(bombEvent);
-            event.setMessage(bombEvent.getMessage());
-            return;
-        }
+        BombEvent.BombBell bombEvent = new BombEvent.BombBell(bombInfo, event.getOriginalStyledText());
+        WynntilsMod.postEvent(bombEvent);
+        event.setMessage(bombEvent.getMessage());
+    }
 
-        Matcher expiredMatcher = unwrapped.getMatcher(BOMB_EXPIRED_PATTERN);
-        if (expiredMatcher.matches()) {
-            String bomb = expiredMatcher.group("bomb");
+    private void onBombThrown(ChatMessageReceivedEvent event, Matcher matcher) {
+        // FIXME: User is sent on following chat line, we don't currently use the name anywhere but if we do in
+        //  the future then this needs fixing
+        BombInfo bombInfo = addBombFromChat("", matcher.group("bomb"), Models.WorldState.getCurrentWorldName());
+        if (bombInfo == null) return;
 
-            // Better to do a bit of processing and clean up the set than leaking memory
-            removeOldTimers();
+        BombEvent.Local bombEvent = new BombEvent.Local(bombInfo, event.getOriginalStyledText());
+        WynntilsMod.postEvent(bombEvent);
+        event.setMessage(bombEvent.getMessage());
+    }
 
-            BombType bombType = BombType.fromString(bomb);
-            if (bombType == null) return;
+    private void onBombExpired(ChatMessageReceivedEvent event, Matcher matcher) {
+        String bomb = matcher.group("bomb");
 
-            BombInfo removed = CURRENT_SERVER_BOMBS.remove(bombType);
-            if (removed == null) return;
+        // Better to do a bit of processing and clean up the set than leaking memory
+        removeOldTimers();
 
-            BOMBS.remove(removed);
-        }
+        BombType bombType = BombType.fromString(bomb);
+        if (bombType == null) return;
+
+        BombInfo removed = CURRENT_SERVER_BOMBS.remove(bombType);
+        if (removed == null) return;
+
+        BOMBS.remove(removed);
     }
 
     private BombInfo addBombFromChat(String user, String bomb, String server) {
@@ -11,6 +11,7 @@ import com.wynntils.core.mod.event.WynncraftConnectionEvent;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.handlers.actionbar.event.ActionBarUpdatedEvent;
 import com.wynntils.handlers.chat.event.ChatMessageReceivedEvent;
+import com.wynntils.handlers.chat.type.ChatTextProjection;
 import com.wynntils.mc.event.PlayerInfoEvent.PlayerDisplayNameChangeEvent;
 import com.wynntils.mc.event.PlayerInfoEvent.PlayerLogOutEvent;
 import com.wynntils.mc.event.PlayerInfoFooterChangedEvent;
@@ -30,7 +31,6 @@ import com.wynntils.models.worlds.type.ServerRegion;
 import com.wynntils.models.worlds.type.WorldState;
 import com.wynntils.models.worlds.type.WynncraftVersion;
 import com.wynntils.utils.mc.PosUtils;
-import com.wynntils.utils.mc.StyledTextUtils;
 import java.util.List;
 import java.util.UUID;
 import java.util.regex.Matcher;
@@ -72,6 +72,7 @@ public final class WorldStateModel extends Model {
         Handlers.ActionBar.registerSegment(new WynncraftVersionSegmentMatcher());
         Handlers.ActionBar.registerSegment(new CharacterWardrobeSegmentMacher());
         Handlers.BossBar.registerBar(skipCutsceneBar);
+        Handlers.Chat.registerChatPattern(STREAMER_MESSAGE, ChatTextProjection.UNWRAPPED, this::onStreamerMessage);
     }
 
     private WorldState currentState = WorldState.NOT_CONNECTED;
@@ -158,16 +159,9 @@ public final class WorldStateModel extends Model {
         }
     }
 
-    @SubscribeEvent
-    public void onChatReceived(ChatMessageReceivedEvent e) {
-        StyledText styledText =
-                StyledTextUtils.unwrap(e.getOriginalStyledText()).stripAlignment();
-        Matcher matcher = styledText.getMatcher(STREAMER_MESSAGE);
-
-        if (matcher.matches()) {
-            inStream = matcher.group(1).equals("was enabled");
-            WynntilsMod.postEvent(new StreamModeEvent(inStream));
-        }
+    private void onStreamerMessage(ChatMessageReceivedEvent event, Matcher matcher) {
+        inStream = matcher.group(1).equals("was enabled");
+        WynntilsMod.postEvent(new StreamModeEvent(inStream));
     }
 
     @SubscribeEvent
@@ -106,7 +106,7 @@ public final class WynnAlphabetModel extends Model {
         partStyle = partStyle.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, hoverComponent));
 
         return new StyledTextPart(
-                originalTextAsTooltip ? originalString : transcriptedString, partStyle.getStyle(), null, Style.EMPTY);
+                originalTextAsTooltip ? originalString : transcriptedString, partStyle.getStyle(), Style.EMPTY);
     }
 
     public String transcribeBracketedText(String message) {
@@ -263,9 +263,16 @@ public class MinimapOverlay extends Overlay {
         }
 
         float currentZoom = 1f / zoomRenderScale;
-
-        Stream<? extends Poi> poisToRender = Services.Poi.getServicePois();
-        poisToRender = Stream.concat(poisToRender, Services.Poi.getCombatPois());
+        BoundingBox textureBoundingBox = new BoundingBox(
+                textureBoundingCircle.x() - textureBoundingCircle.radius(),
+                textureBoundingCircle.z() - textureBoundingCircle.radius(),
+                textureBoundingCircle.x() + textureBoundingCircle.radius(),
+                textureBoundingCircle.z() + textureBoundingCircle.radius());
+
+        Stream<? extends Poi> poisToRender =
+                Services.Poi.getServicePois(textureBoundingBox, currentZoom, poiScale.get()).stream();
+        poisToRender = Stream.concat(
+                poisToRender, Services.Poi.getCombatPois(textureBoundingBox, currentZoom, poiScale.get()).stream());
         poisToRender = Stream.concat(
                 poisToRender, Managers.Feature.getFeatureInstance(MainMapFeature.class).customPois.get().stream());
         poisToRender = Stream.concat(poisToRender, Services.Poi.getProvidedCustomPois().stream());
@@ -475,9 +475,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
         // Clear current items
         this.menu.clear();
 
-        List<SavedItem> savedItems = Services.ItemRecord.savedItems.get().stream()
-                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                .toList();
+        List<SavedItem> savedItems = Services.ItemRecord.getItemsInCategory(currentCategory);
 
         // No items in current category
         if (savedItems.isEmpty()) return;
@@ -536,13 +534,7 @@ public final class SavedItemsScreen extends WynntilsContainerScreen<SavedItemsMe
     }
 
     private int getMaxScrollOffset() {
-        int maxItemOffset = Math.max(
-                0,
-                Services.ItemRecord.savedItems.get().stream()
-                                .filter(savedItem -> savedItem.categories().contains(currentCategory))
-                                .toList()
-                                .size()
-                        - MAX_ITEMS);
+        int maxItemOffset = Math.max(0, Services.ItemRecord.getItemCountInCategory(currentCategory) - MAX_ITEMS);
         return maxItemOffset / ITEMS_PER_ROW + (maxItemOffset % ITEMS_PER_ROW > 0 ? 1 : 0);
     }
 }
@@ -15,6 +15,7 @@ import com.wynntils.models.territories.TerritoryInfo;
 import com.wynntils.models.territories.profile.TerritoryProfile;
 import com.wynntils.models.territories.type.GuildResource;
 import com.wynntils.models.territories.type.GuildResourceValues;
+import com.wynntils.models.territories.type.TradingRoute;
 import com.wynntils.screens.base.widgets.BasicTexturedButton;
 import com.wynntils.services.map.pois.Poi;
 import com.wynntils.services.map.pois.TerritoryPoi;
@@ -32,9 +33,12 @@ import com.wynntils.utils.render.type.TextShadow;
 import com.wynntils.utils.render.type.VerticalAlignment;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.CappedValue;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.floats.FloatList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.events.GuiEventListener;
@@ -236,28 +240,7 @@ public final class GuildMapScreen extends AbstractMapScreen {
 
         List<Poi> filteredPois = getRenderedPois(pois, textureBoundingBox, poiScale, mouseX, mouseY);
 
-        // Render trading routes
-        // We render them in both directions because optimizing it is not cheap either
-        for (Poi poi : filteredPois) {
-            if (!(poi instanceof TerritoryPoi territoryPoi)) continue;
-
-            float poiRenderX = MapRenderer.getRenderX(poi, mapCenterX, centerX, zoomRenderScale);
-            float poiRenderZ = MapRenderer.getRenderZ(poi, mapCenterZ, centerZ, zoomRenderScale);
-
-            for (String tradingRoute : territoryPoi.getTerritoryInfo().getTradingRoutes()) {
-                Optional<Poi> routePoi = filteredPois.stream()
-                        .filter(filteredPoi -> filteredPoi.getName().equals(tradingRoute))
-                        .findFirst();
-
-                // Only render connection if the other poi is also in the filtered pois
-                if (routePoi.isPresent() && filteredPois.contains(routePoi.get())) {
-                    float x = MapRenderer.getRenderX(routePoi.get(), mapCenterX, centerX, zoomRenderScale);
-                    float z = MapRenderer.getRenderZ(routePoi.get(), mapCenterZ, centerZ, zoomRenderScale);
-
-                    RenderUtils.drawLine(poseStack, CommonColors.DARK_GRAY, poiRenderX, poiRenderZ, x, z, 0, 1);
-                }
-            }
-        }
+        renderTradingRoutes(poseStack, filteredPois);
 
         MultiBufferSource.BufferSource bufferSource =
                 McUtils.mc().renderBuffers().bufferSource();
@@ -284,6 +267,30 @@ public final class GuildMapScreen extends AbstractMapScreen {
         bufferSource.endBatch();
     }
 
+    private void renderTradingRoutes(PoseStack poseStack, List<Poi> filteredPois) {
+        Map<String, TerritoryPoi> renderedTerritories = new HashMap<>();
+        for (Poi poi : filteredPois) {
+            if (!(poi instanceof TerritoryPoi territoryPoi)) continue;
+
+            renderedTerritories.putIfAbsent(territoryPoi.getName(), territoryPoi);
+        }
+
+        // Only render routes if both territories are rendered
+        FloatList lines = new FloatArrayList();
+        for (TradingRoute tradingRoute : Models.Territory.getTradingRoutes()) {
+            TerritoryPoi poi1 = renderedTerritories.get(tradingRoute.territory1());
+            TerritoryPoi poi2 = renderedTerritories.get(tradingRoute.territory2());
+            if (poi1 == null || poi2 == null) continue;
+
+            lines.add(MapRenderer.getRenderX(poi1, mapCenterX, centerX, zoomRenderScale));
+            lines.add(MapRenderer.getRenderZ(poi1, mapCenterZ, centerZ, zoomRenderScale));
+            lines.add(MapRenderer.getRenderX(poi2, mapCenterX, centerX, zoomRenderScale));
+            lines.add(MapRenderer.getRenderZ(poi2, mapCenterZ, centerZ, zoomRenderScale));
+        }
+
+        RenderUtils.drawLines(poseStack, CommonColors.DARK_GRAY, lines.toFloatArray(), 0, 1);
+    }
+
     @Override
     public boolean doMouseClicked(double mouseX, double mouseY, int button) {
         for (GuiEventListener child : children()) {
@@ -307,10 +307,15 @@ public final class MainMapScreen extends AbstractMapScreen {
     }
 
     private void renderPois(PoseStack poseStack, int mouseX, int mouseY) {
-        Stream<? extends Poi> pois = Services.Poi.getServicePois();
+        BoundingBox textureBoundingBox =
+                BoundingBox.centered(mapCenterX, mapCenterZ, width / zoomRenderScale, height / zoomRenderScale);
+        float poiScale = Managers.Feature.getFeatureInstance(MainMapFeature.class).poiScale.get();
 
-        pois = Stream.concat(pois, Services.Poi.getCombatPois());
-        pois = Stream.concat(pois, Services.Poi.getLabelPois());
+        Stream<? extends Poi> pois =
+                Services.Poi.getServicePois(textureBoundingBox, zoomRenderScale, poiScale).stream();
+
+        pois = Stream.concat(pois, Services.Poi.getCombatPois(textureBoundingBox, zoomRenderScale, poiScale).stream());
+        pois = Stream.concat(pois, Services.Poi.getLabelPois(textureBoundingBox, zoomRenderScale, poiScale).stream());
         pois = Stream.concat(pois, Managers.Feature.getFeatureInstance(MainMapFeature.class).customPois.get().stream());
         pois = Stream.concat(pois, Services.Poi.getProvidedCustomPois().stream());
         pois = Stream.concat(pois, Models.Marker.getAllPois());
@@ -325,18 +330,12 @@ public final class MainMapScreen extends AbstractMapScreen {
                                 .get()));
 
         if (showTerrs) {
-            pois = Stream.concat(pois, Models.Territory.getTerritoryPois().stream());
+            pois = Stream.concat(
+                    pois,
+                    Models.Territory.getTerritoryPois(textureBoundingBox, zoomRenderScale, poiScale).stream());
         }
 
-        renderPois(
-                pois.collect(Collectors.toList()),
-                poseStack,
-                BoundingBox.centered(mapCenterX, mapCenterZ, width / zoomRenderScale, height / zoomRenderScale),
-                Managers.Feature.getFeatureInstance(MainMapFeature.class)
-                        .poiScale
-                        .get(),
-                mouseX,
-                mouseY);
+        renderPois(pois.collect(Collectors.toList()), poseStack, textureBoundingBox, poiScale, mouseX, mouseY);
     }
 
     private Stream<PlayerMainMapPoi> getPlayerPois(
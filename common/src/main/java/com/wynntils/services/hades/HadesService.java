@@ -9,6 +9,7 @@ import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
+import com.wynntils.core.mod.type.ScheduledTask;
 import com.wynntils.features.players.HadesFeature;
 import com.wynntils.hades.objects.HadesConnection;
 import com.wynntils.hades.protocol.builders.HadesNetworkBuilder;
@@ -32,8 +33,6 @@ import com.wynntils.utils.type.CappedValue;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import net.minecraft.ChatFormatting;
@@ -54,7 +53,7 @@ public final class HadesService extends Service {
     private HadesConnection hadesConnection;
     private int tickCountUntilUpdate = 0;
     private PlayerStatus lastSentStatus;
-    private ScheduledExecutorService pingScheduler;
+    private ScheduledTask pingTask;
 
     public HadesService() {
         super(List.of());
@@ -102,15 +101,17 @@ public final class HadesService extends Service {
 
         WynntilsMod.info("Starting Hades Ping Scheduler Task");
 
-        pingScheduler = Executors.newSingleThreadScheduledExecutor();
-        pingScheduler.scheduleAtFixedRate(this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
+        if (pingTask != null) {
+            pingTask.cancel();
+        }
+        pingTask = Managers.TickScheduler.scheduleRepeating(this::sendPing, 0, MS_PER_PING, TimeUnit.MILLISECONDS);
     }
 
     @SubscribeEvent
     public void onDisconnect(HadesEvent.Disconnected event) {
-        if (pingScheduler == null) return;
-        pingScheduler.shutdown();
-        pingScheduler = null;
+        if (pingTask == null) return;
+        pingTask.cancel();
+        pingTask = null;
     }
 
     private void sendPing() {
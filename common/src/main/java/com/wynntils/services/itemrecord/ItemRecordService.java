@@ -16,7 +16,9 @@ import com.wynntils.utils.mc.KeyboardUtils;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.Pair;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import net.minecraft.ChatFormatting;
@@ -37,10 +39,22 @@ public class ItemRecordService extends Service {
     @Persisted
     public final Storage<Set<String>> categories = new Storage<>(new TreeSet<>(List.of(DEFAULT_CATEGORY)));
 
+    // Indexes over the saved items, which are kept in sync with the persisted set
+    // Category sets are tree sets, so items are kept in the same order as in the persisted set
+    private final Map<String, SavedItem> itemsByBase64 = new HashMap<>();
+    private final Map<String, Set<SavedItem>> itemsByCategory = new HashMap<>();
+
     public ItemRecordService() {
         super(List.of());
     }
 
+    @Override
+    public void onStorageLoad(Storage<?> storage) {
+        if (storage == savedItems) {
+            rebuildIndexes();
+        }
+    }
+
     public boolean saveItem(WynnItem wynnItem, ItemStack itemStack, Component itemName) {
         // Regular ItemStack can't be converted to json so store the tags needed
         // to recreate it
@@ -48,7 +62,7 @@ public class ItemRecordService extends Service {
                 SavedItem.create(wynnItem, new TreeSet<>(List.of(Services.ItemRecord.getDefaultCategory())), itemStack);
 
         // Check if the item is already saved
-        if (savedItems.get().contains(itemToSave)) {
+        if (itemsByBase64.containsKey(itemToSave.base64())) {
             McUtils.sendMessageToClient(Component.translatable(
                             "screens.wynntils.itemSharing.alreadySaved",
                             StyledText.fromComponent(itemName).getString() + ChatFormatting.RED)
@@ -57,6 +71,7 @@ public class ItemRecordService extends Service {
         }
 
         savedItems.get().add(itemToSave);
+        addToIndexes(itemToSave);
 
         Services.ItemRecord.savedItems.touched();
 
@@ -72,7 +87,7 @@ public class ItemRecordService extends Service {
         for (Pair<String, String> selectedItem : selectedItems) {
             SavedItem savedItem = Services.ItemRecord.getItem(selectedItem.b());
 
-            if (selectedItem != null) {
+            if (savedItem != null) {
                 moveItemCategory(savedItem, category, selectedItem.a(), keepOriginal);
             }
         }
@@ -81,22 +96,23 @@ public class ItemRecordService extends Service {
     public void moveItemCategory(
             SavedItem savedItem, String currentCategory, String originalCategory, boolean keepOriginal) {
         savedItem.categories().add(currentCategory);
+        getCategoryIndex(currentCategory).add(savedItem);
 
-        if (!keepOriginal) {
+        if (!keepOriginal && !originalCategory.equals(currentCategory)) {
             savedItem.categories().remove(originalCategory);
+            removeFromCategoryIndex(originalCategory, savedItem);
         }
 
         Services.ItemRecord.savedItems.touched();
     }
 
     public void deleteItem(String base64) {
-        for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                Services.ItemRecord.savedItems.get().remove(savedItem);
-                Services.ItemRecord.savedItems.touched();
-                break;
-            }
-        }
+        SavedItem savedItem = itemsByBase64.get(base64);
+        if (savedItem == null) return;
+
+        Services.ItemRecord.savedItems.get().remove(savedItem);
+        removeFromIndexes(savedItem);
+        Services.ItemRecord.savedItems.touched();
     }
 
     public void addCategory(String newCategory, List<Pair<String, String>> selectedItems, boolean keepOriginals) {
@@ -110,17 +126,22 @@ public class ItemRecordService extends Service {
     }
 
     public void renameCategory(String originalName, String newName) {
+        if (originalName.equals(newName)) return;
+
         // Add renamed category and remove previous name
         categories.get().add(newName);
         categories.get().remove(originalName);
         categories.touched();
 
-        for (SavedItem savedItem : savedItems.get()) {
-            // If an item is in the current category, add it to the renamed and remove previous name
-            if (savedItem.categories().contains(originalName)) {
+        // Only the items in the current category have to be moved to the renamed one
+        Set<SavedItem> itemsInCategory = itemsByCategory.remove(originalName);
+        if (itemsInCategory != null) {
+            for (SavedItem savedItem : itemsInCategory) {
                 savedItem.categories().add(newName);
                 savedItem.categories().remove(originalName);
             }
+
+            getCategoryIndex(newName).addAll(itemsInCategory);
         }
 
         savedItems.touched();
@@ -128,28 +149,35 @@ public class ItemRecordService extends Service {
 
     public void deleteCategory(String categoryToDelete) {
         if (KeyboardUtils.isShiftDown()) {
-            Set<SavedItem> newSavedItems = new TreeSet<>();
-
-            // Remove category from all items
-            for (SavedItem savedItem : savedItems.get()) {
-                savedItem.categories().remove(categoryToDelete);
-
-                // If the item is no longer in any categories then it should be deleted
-                if (!savedItem.categories().isEmpty()) {
-                    newSavedItems.add(savedItem);
+            Set<SavedItem> itemsInCategory = itemsByCategory.remove(categoryToDelete);
+
+            // Remove category from all items in it
+            if (itemsInCategory != null) {
+                for (SavedItem savedItem : itemsInCategory) {
+                    savedItem.categories().remove(categoryToDelete);
+
+                    // If the item is no longer in any categories then it should be deleted
+                    if (savedItem.categories().isEmpty()) {
+                        savedItems.get().remove(savedItem);
+                        itemsByBase64.remove(savedItem.base64());
+                    }
                 }
             }
 
-            Services.ItemRecord.savedItems.store(newSavedItems);
             Services.ItemRecord.savedItems.touched();
         } else if (!categoryToDelete.equals(Services.ItemRecord.getDefaultCategory())) {
-            // Remove category from all items and add default
-            for (SavedItem savedItem : savedItems.get()) {
-                savedItem.categories().remove(categoryToDelete);
-                savedItem.categories().add(Services.ItemRecord.getDefaultCategory());
+            Set<SavedItem> itemsInCategory = itemsByCategory.remove(categoryToDelete);
+
+            // Remove category from all items in it and add default
+            if (itemsInCategory != null) {
+                for (SavedItem savedItem : itemsInCategory) {
+                    savedItem.categories().remove(categoryToDelete);
+                    savedItem.categories().add(Services.ItemRecord.getDefaultCategory());
+                }
+
+                getCategoryIndex(Services.ItemRecord.getDefaultCategory()).addAll(itemsInCategory);
             }
 
-            Services.ItemRecord.savedItems.store(savedItems.get());
             Services.ItemRecord.savedItems.touched();
         }
 
@@ -164,6 +192,16 @@ public class ItemRecordService extends Service {
         return DEFAULT_CATEGORY;
     }
 
+    public List<SavedItem> getItemsInCategory(String category) {
+        Set<SavedItem> itemsInCategory = itemsByCategory.get(category);
+        return itemsInCategory == null ? List.of() : List.copyOf(itemsInCategory);
+    }
+
+    public int getItemCountInCategory(String category) {
+        Set<SavedItem> itemsInCategory = itemsByCategory.get(category);
+        return itemsInCategory == null ? 0 : itemsInCategory.size();
+    }
+
     public void cleanupItemRecord() {
         // Try to remove all invalid items
         List<SavedItem> itemsToRemove = new ArrayList<>();
@@ -199,6 +237,8 @@ public class ItemRecordService extends Service {
         faultyItems.get().removeAll(itemsToReadd);
         savedItems.get().addAll(itemsToReadd);
 
+        rebuildIndexes();
+
         // Save changes
         faultyItems.touched();
         savedItems.touched();
@@ -211,12 +251,45 @@ public class ItemRecordService extends Service {
     }
 
     private SavedItem getItem(String base64) {
+        return itemsByBase64.get(base64);
+    }
+
+    private void rebuildIndexes() {
+        itemsByBase64.clear();
+        itemsByCategory.clear();
+
         for (SavedItem savedItem : savedItems.get()) {
-            if (savedItem.base64().equals(base64)) {
-                return savedItem;
-            }
+            addToIndexes(savedItem);
         }
+    }
+
+    private void addToIndexes(SavedItem savedItem) {
+        itemsByBase64.put(savedItem.base64(), savedItem);
 
-        return null;
+        for (String category : savedItem.categories()) {
+            getCategoryIndex(category).add(savedItem);
+        }
+    }
+
+    private void removeFromIndexes(SavedItem savedItem) {
+        itemsByBase64.remove(savedItem.base64());
+
+        for (String category : savedItem.categories()) {
+            removeFromCategoryIndex(category, savedItem);
+        }
+    }
+
+    private Set<SavedItem> getCategoryIndex(String category) {
+        return itemsByCategory.computeIfAbsent(category, k -> new TreeSet<>());
+    }
+
+    private void removeFromCategoryIndex(String category, SavedItem savedItem) {
+        Set<SavedItem> itemsInCategory = itemsByCategory.get(category);
+        if (itemsInCategory == null) return;
+
+        itemsInCategory.remove(savedItem);
+        if (itemsInCategory.isEmpty()) {
+            itemsByCategory.remove(category);
+        }
     }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+import com.google.common.base.Suppliers;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPosition;
+import com.wynntils.utils.MathUtils;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.longs.LongSets;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.util.CubicSpline;
+import net.minecraft.util.ToFloatFunction;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Compiles a lootrun while it is being recorded, only processing the points added since the last compilation.
+ * <p> A spline interval depends only on its two ends and their slopes, and the slope of a point depends only on
+ * the point after it. So a new point only changes the samples after the point two before it, and those are the
+ * only ones resampled. The result is the same as {@link LootrunCompiler#generatePointsByChunk}.
+ * <p> If the recording was changed in any other way than adding points, everything is compiled again.
+ * <p> The compiled points are always the same map, changed in place, and {@link #getChangedChunks} tells which
+ * chunks changed, so only their buffers have to be built again.
+ */
+public final class IncrementalLootrunCompiler {
+    private int color;
+    private int processedPoints = 0;
+    private Vec3 lastProcessedPoint = null;
+
+    // The connected part of the recording that is currently being added to, and the distance along it of each point
+    private final List<Vec3> segmentPoints = new ArrayList<>();
+    private final FloatArrayList segmentDistances = new FloatArrayList();
+    // The distance along the segment of each of its samples, and the index of its first sample in samples
+    private final FloatArrayList segmentSampleDistances = new FloatArrayList();
+    private int segmentSampleStart = 0;
+
+    private final List<ColoredPosition> samples = new ArrayList<>();
+    private final List<ChunkPath> chunkPaths = new ArrayList<>();
+    private final Long2ObjectMap<List<ColoredPath>> pointsByChunk = new Long2ObjectOpenHashMap<>();
+    private final LongSet changedChunks = new LongOpenHashSet();
+
+    public LootrunPathInstance compile(UncompiledLootrunPath recording, int color) {
+        List<Vec3> points = recording.path().points();
+        changedChunks.clear();
+
+        if (color != this.color
+                || points.size() < processedPoints
+                || (processedPoints > 0 && points.get(processedPoints - 1) != lastProcessedPoint)) {
+            reset(color);
+        }
+
+        for (int i = processedPoints; i < points.size(); i++) {
+            addPoint(points.get(i));
+        }
+        processedPoints = points.size();
+        lastProcessedPoint = points.isEmpty() ? null : points.getLast();
+
+        return new LootrunPathInstance(
+                LootrunCompiler.RECORDING_NAME,
+                recording.path(),
+                Suppliers.memoize(() -> LootrunCompiler.generateSimplifiedPoints(recording.path(), 0.5)),
+                pointsByChunk,
+                LootrunCompiler.getChests(recording.chests()),
+                LootrunCompiler.getNotes(recording.notes()));
+    }
+
+    /**
+     * Returns the chunks whose paths were changed by the last compilation.
+     */
+    public LongSet getChangedChunks() {
+        return LongSets.unmodifiable(changedChunks);
+    }
+
+    private void reset(int color) {
+        this.color = color;
+        processedPoints = 0;
+        lastProcessedPoint = null;
+
+        segmentPoints.clear();
+        segmentDistances.clear();
+        segmentSampleDistances.clear();
+        segmentSampleStart = 0;
+
+        samples.clear();
+        chunkPaths.clear();
+        changedChunks.addAll(pointsByChunk.keySet());
+        pointsByChunk.clear();
+    }
+
+    private void addPoint(Vec3 point) {
+        if (segmentPoints.isEmpty()
+                || segmentPoints.getLast().distanceTo(point) >= LootrunCompiler.MAX_CONNECTED_DISTANCE) {
+            segmentPoints.clear();
+            segmentDistances.clear();
+            segmentSampleDistances.clear();
+            segmentSampleStart = samples.size();
+
+            segmentPoints.add(point);
+            segmentDistances.add(0f);
+            return;
+        }
+
+        float distance = segmentDistances.getFloat(segmentDistances.size() - 1);
+        distance += segmentPoints.getLast().distanceTo(point);
+        segmentPoints.add(point);
+        segmentDistances.add(distance);
+
+        // The slope of the point before the previous one did not change, so its interval can be kept
+        int windowStart = Math.max(0, segmentPoints.size() - 3);
+        float resampleFrom = segmentDistances.getFloat(windowStart);
+
+        int keptSamples = segmentSampleDistances.size();
+        while (keptSamples > 0 && segmentSampleDistances.getFloat(keptSamples - 1) >= resampleFrom) {
+            keptSamples--;
+        }
+        removeSamplesFrom(segmentSampleStart + keptSamples);
+        segmentSampleDistances.size(keptSamples);
+
+        CubicSpline.Builder<Float, ToFloatFunction<Float>> builderX = CubicSpline.builder(ToFloatFunction.IDENTITY);
+        CubicSpline.Builder<Float, ToFloatFunction<Float>> builderY = CubicSpline.builder(ToFloatFunction.IDENTITY);
+        CubicSpline.Builder<Float, ToFloatFunction<Float>> builderZ = CubicSpline.builder(ToFloatFunction.IDENTITY);
+        for (int i = windowStart; i < segmentPoints.size(); i++) {
+            Vec3 position = segmentPoints.get(i);
+
+            float slopeX = 0f;
+            float slopeY = 0f;
+            float slopeZ = 0f;
+            if (i < segmentPoints.size() - 1) {
+                Vec3 next = segmentPoints.get(i + 1);
+                slopeX = (float) ((next.x - position.x) / position.distanceTo(next));
+                slopeY = (float) ((next.y - position.y) / position.distanceTo(next));
+                slopeZ = (float) ((next.z - position.z) / position.distanceTo(next));
+            }
+            float location = segmentDistances.getFloat(i);
+            builderX.addPoint(location, (float) position.x, slopeX);
+            builderY.addPoint(location, (float) position.y, slopeY);
+            builderZ.addPoint(location, (float) position.z, slopeZ);
+        }
+        CubicSpline<Float, ToFloatFunction<Float>> splineX = builderX.build();
+        CubicSpline<Float, ToFloatFunction<Float>> splineY = builderY.build();
+        CubicSpline<Float, ToFloatFunction<Float>> splineZ = builderZ.build();
+
+        // Continue the exact float sequence of the full compilation, so the samples are at the same distances
+        float i = keptSamples == 0
+                ? 0f
+                : segmentSampleDistances.getFloat(keptSamples - 1) + (1f / LootrunCompiler.SAMPLE_RATE);
+        for (; i < distance; i += (1f / LootrunCompiler.SAMPLE_RATE)) {
+            segmentSampleDistances.add(i);
+            addSample(new ColoredPosition(new Vec3(splineX.apply(i), splineY.apply(i), splineZ.apply(i)), color));
+        }
+    }
+
+    // Same as LootrunCompiler#groupByChunk, for one more sample
+    private void addSample(ColoredPosition sample) {
+        Vec3 position = sample.position();
+        long chunk = ChunkPos.asLong(MathUtils.floor(position.x()) >> 4, MathUtils.floor(position.z()) >> 4);
+
+        ChunkPath lastPath = chunkPaths.isEmpty() ? null : chunkPaths.getLast();
+        if (lastPath == null || lastPath.chunk() != chunk) {
+            if (lastPath != null
+                    && position.distanceTo(samples.getLast().position()) < LootrunCompiler.MAX_CONNECTED_DISTANCE) {
+                lastPath.path().points().add(sample);
+                changedChunks.add(lastPath.chunk());
+            }
+
+            lastPath = new ChunkPath(samples.size(), chunk, new ColoredPath(new ArrayList<>()));
+            chunkPaths.add(lastPath);
+            pointsByChunk.computeIfAbsent(chunk, k -> new ArrayList<>()).add(lastPath.path());
+        }
+
+        lastPath.path().points().add(sample);
+        samples.add(sample);
+        changedChunks.add(chunk);
+    }
+
+    private void removeSamplesFrom(int index) {
+        if (index >= samples.size()) return;
+
+        while (!chunkPaths.isEmpty() && chunkPaths.getLast().start() >= index) {
+            ChunkPath removed = chunkPaths.removeLast();
+            changedChunks.add(removed.chunk());
+
+            List<ColoredPath> chunkPoints = pointsByChunk.get(removed.chunk());
+            chunkPoints.removeLast();
+            if (chunkPoints.isEmpty()) {
+                pointsByChunk.remove(removed.chunk());
+            }
+        }
+
+        // The last path holds the samples from its start, and the first sample of the next path if it was connected
+        if (!chunkPaths.isEmpty()) {
+            ChunkPath lastPath = chunkPaths.getLast();
+            List<ColoredPosition> lastPoints = lastPath.path().points();
+            lastPoints.subList(index - lastPath.start(), lastPoints.size()).clear();
+            changedChunks.add(lastPath.chunk());
+        }
+
+        samples.subList(index, samples.size()).clear();
+    }
+
+    private record ChunkPath(int start, long chunk, ColoredPath path) {}
+}
@@ -4,6 +4,7 @@
  */
 package com.wynntils.services.lootrunpaths;
 
+import com.google.common.base.Suppliers;
 import com.wynntils.core.components.Managers;
 import com.wynntils.features.LootrunFeature;
 import com.wynntils.services.lootrunpaths.type.ColoredPath;
@@ -29,6 +30,11 @@ import net.minecraft.world.phys.Vec3;
 import org.joml.Vector2d;
 
 public final class LootrunCompiler {
+    static final String RECORDING_NAME = "recorded_lootrun";
+    static final float SAMPLE_RATE = 10f;
+    // Points further apart than this are not connected
+    static final double MAX_CONNECTED_DISTANCE = 32;
+
     private static final List<Integer> COLORS = List.of(
             ChatFormatting.RED.getColor(),
             ChatFormatting.GOLD.getColor(),
@@ -47,14 +53,26 @@ public final class LootrunCompiler {
         return new LootrunPathInstance(
                 lootrunName,
                 uncompiled.path(),
-                generateSimplifiedPoints(uncompiled.path(), 0.5),
+                Suppliers.memoize(() -> generateSimplifiedPoints(uncompiled.path(), 0.5)),
                 points,
                 chests,
                 notes);
     }
 
+    /**
+     * Compiles the path into segments of a single color, grouped by chunk, as they are for a recording.
+     */
+    public static Long2ObjectMap<List<ColoredPath>> generatePointsByChunk(LootrunPath raw, int color) {
+        List<ColoredPosition> locations = new ArrayList<>();
+        for (Vec3 position : samplePositions(raw)) {
+            locations.add(new ColoredPosition(position, color));
+        }
+
+        return groupByChunk(locations);
+    }
+
     private static String getLootrunName(UncompiledLootrunPath uncompiled, boolean recording) {
-        if (recording) return "recorded_lootrun";
+        if (recording) return RECORDING_NAME;
         if (uncompiled.file() == null) return "lootrun";
 
         return uncompiled.file().getName().replace(".json", "");
@@ -66,7 +84,7 @@ public final class LootrunCompiler {
         positions.add(currentPositions);
         for (Vec3 element : raw.points()) {
             if (!currentPositions.points().isEmpty()
-                    && currentPositions.points().getLast().distanceTo(element) >= 32) {
+                    && currentPositions.points().getLast().distanceTo(element) >= MAX_CONNECTED_DISTANCE) {
                 currentPositions = new LootrunPath(new ArrayList<>());
                 positions.add(currentPositions);
             }
@@ -111,12 +129,15 @@ public final class LootrunCompiler {
         return result;
     }
 
-    private static Long2ObjectMap<List<ColoredPath>> generatePointsByChunk(LootrunPath raw, boolean recording) {
-        float sampleRate = 10f;
+    private static List<Vec3> samplePositions(LootrunPath raw) {
+        return sample(raw, SAMPLE_RATE).stream()
+                .map(LootrunPath::points)
+                .flatMap(List::stream)
+                .toList();
+    }
 
-        List<List<Vec3>> sampled =
-                sample(raw, sampleRate).stream().map(LootrunPath::points).toList();
-        List<Vec3> positions = sampled.stream().flatMap(List::stream).toList();
+    private static Long2ObjectMap<List<ColoredPath>> generatePointsByChunk(LootrunPath raw, boolean recording) {
+        List<Vec3> positions = samplePositions(raw);
 
         ColoredPath locationsList = new ColoredPath(new ArrayList<>());
 
@@ -178,17 +199,21 @@ public final class LootrunCompiler {
             }
         }
 
+        return groupByChunk(locationsList.points());
+    }
+
+    private static Long2ObjectMap<List<ColoredPath>> groupByChunk(List<ColoredPosition> locations) {
         ColoredPath lastLocationList = null;
         Long2ObjectMap<List<ColoredPath>> sampleByChunk = new Long2ObjectOpenHashMap<>();
         ChunkPos lastChunkPos = null;
-        for (int i = 0; i < locationsList.points().size(); i++) {
-            Vec3 position = locationsList.points().get(i).position();
+        for (int i = 0; i < locations.size(); i++) {
+            Vec3 position = locations.get(i).position();
             ChunkPos currentChunkPos =
                     new ChunkPos(MathUtils.floor(position.x()) >> 4, MathUtils.floor(position.z()) >> 4);
             if (!currentChunkPos.equals(lastChunkPos)) {
                 if (lastChunkPos != null
-                        && position.distanceTo(locationsList.points().get(i - 1).position()) < 32) {
-                    lastLocationList.points().add(locationsList.points().get(i));
+                        && position.distanceTo(locations.get(i - 1).position()) < MAX_CONNECTED_DISTANCE) {
+                    lastLocationList.points().add(locations.get(i));
                 }
 
                 lastChunkPos = currentChunkPos;
@@ -198,12 +223,12 @@ public final class LootrunCompiler {
                         .get(ChunkPos.asLong(currentChunkPos.x, currentChunkPos.z))
                         .add(lastLocationList);
             }
-            lastLocationList.points().add(locationsList.points().get(i));
+            lastLocationList.points().add(locations.get(i));
         }
         return sampleByChunk;
     }
 
-    private static List<Vector2d> generateSimplifiedPoints(LootrunPath raw, double tolerance) {
+    static List<Vector2d> generateSimplifiedPoints(LootrunPath raw, double tolerance) {
         List<Vector2d> points = new ArrayList<>();
 
         // y is discarded in the process, as map doesn't show height info
@@ -269,7 +294,7 @@ public final class LootrunCompiler {
         return closestPoint.distance(point);
     }
 
-    private static Long2ObjectMap<Set<BlockPos>> getChests(Set<BlockPos> chests) {
+    static Long2ObjectMap<Set<BlockPos>> getChests(Set<BlockPos> chests) {
         Long2ObjectMap<Set<BlockPos>> result = new Long2ObjectOpenHashMap<>();
         for (BlockPos pos : chests) {
             Set<BlockPos> addTo = result.computeIfAbsent(new ChunkPos(pos).toLong(), (chunk) -> new HashSet<>());
@@ -278,7 +303,7 @@ public final class LootrunCompiler {
         return result;
     }
 
-    private static Long2ObjectMap<List<LootrunNote>> getNotes(List<LootrunNote> notes) {
+    static Long2ObjectMap<List<LootrunNote>> getNotes(List<LootrunNote> notes) {
         Long2ObjectMap<List<LootrunNote>> result = new Long2ObjectOpenHashMap<>();
         for (LootrunNote note : notes) {
             ChunkPos chunk = new ChunkPos(PosUtils.newBlockPos(note.position()));
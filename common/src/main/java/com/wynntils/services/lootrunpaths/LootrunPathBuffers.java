@@ -0,0 +1,298 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+import com.mojang.blaze3d.buffers.BufferUsage;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.wynntils.features.LootrunFeature;
+import com.wynntils.services.lootrunpaths.type.BlockValidness;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPosition;
+import com.wynntils.utils.mc.PosUtils;
+import com.wynntils.utils.render.buffered.CustomRenderType;
+import com.wynntils.utils.type.Pair;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.joml.Matrix4f;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Vertex buffers of the path of a lootrun, one for each chunk, so the path is not built again every frame.
+ * <p> Which parts of the path are drawn depends on the blocks below it, so the buffer of a chunk is built again
+ * when it, or a chunk next to it, is received. All buffers are built again when the compiled points or the path
+ * type change. A lootrun that is being recorded keeps the same points, which are changed in place, and only the
+ * chunks that changed are released. Vertices are relative to the corner of their chunk, so they keep their
+ * precision far from the origin.
+ * <p> All methods must be called from the render thread.
+ */
+public final class LootrunPathBuffers {
+    private final Long2ObjectMap<ChunkBuffer> chunkBuffers = new Long2ObjectOpenHashMap<>();
+
+    private Long2ObjectMap<List<ColoredPath>> points = null;
+    private LootrunFeature.PathType pathType = null;
+
+    /**
+     * Releases the buffers if they were built for other points or another path type.
+     */
+    public void update(LootrunPathInstance lootrun, LootrunFeature.PathType pathType) {
+        // Compared by identity, as the points of a recording are changed in place
+        if (lootrun.points() == points && pathType == this.pathType) return;
+
+        clear();
+        this.points = lootrun.points();
+        this.pathType = pathType;
+    }
+
+    /**
+     * Draws the path in the given chunks, building the buffers of the chunks that do not have one yet.
+     *
+     * @param pose the transformation from world coordinates to the camera
+     */
+    public void render(Level level, LongList chunks, Matrix4f pose) {
+        RenderType renderType = getRenderType();
+
+        List<ChunkBuffer> buffers = new ArrayList<>(chunks.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            ChunkBuffer buffer = chunkBuffers.computeIfAbsent(chunks.getLong(i), chunk -> build(level, chunk));
+            if (buffer.vertexBuffer() == null) continue;
+
+            buffers.add(buffer);
+        }
+        if (buffers.isEmpty()) return;
+
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        renderType.setupRenderState();
+
+        // The render state can change the model view matrix, so it has to be read after setting it up
+        Matrix4f modelView = new Matrix4f(RenderSystem.getModelViewMatrix()).mul(pose);
+        for (ChunkBuffer buffer : buffers) {
+            Matrix4f chunkModelView = new Matrix4f(modelView).translate(buffer.originX(), 0, buffer.originZ());
+
+            buffer.vertexBuffer().bind();
+            buffer.vertexBuffer()
+                    .drawWithShader(chunkModelView, RenderSystem.getProjectionMatrix(), RenderSystem.getShader());
+        }
+        VertexBuffer.unbind();
+
+        renderType.clearRenderState();
+    }
+
+    /**
+     * Releases the buffers of the chunk, and of the chunks next to it, as the path close to the edge of a chunk
+     * depends on the blocks of the next one.
+     */
+    public void invalidateChunk(int chunkX, int chunkZ) {
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                ChunkBuffer buffer = chunkBuffers.remove(ChunkPos.asLong(x, z));
+                if (buffer != null && buffer.vertexBuffer() != null) {
+                    buffer.vertexBuffer().close();
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (ChunkBuffer buffer : chunkBuffers.values()) {
+            if (buffer.vertexBuffer() != null) {
+                buffer.vertexBuffer().close();
+            }
+        }
+
+        chunkBuffers.clear();
+        points = null;
+        pathType = null;
+    }
+
+    private RenderType getRenderType() {
+        return switch (pathType) {
+            case TEXTURED -> CustomRenderType.LOOTRUN_QUAD;
+            case LINE -> CustomRenderType.LOOTRUN_LINE;
+        };
+    }
+
+    private ChunkBuffer build(Level level, long chunk) {
+        int originX = ChunkPos.getX(chunk) << 4;
+        int originZ = ChunkPos.getZ(chunk) << 4;
+        Vector3f origin = new Vector3f(originX, 0, originZ);
+
+        List<ColoredPath> paths = points.get(chunk);
+        if (paths == null) return new ChunkBuffer(null, originX, originZ);
+
+        RenderType renderType = getRenderType();
+        try (ByteBufferBuilder byteBufferBuilder = new ByteBufferBuilder(renderType.bufferSize())) {
+            BufferBuilder bufferBuilder = new BufferBuilder(byteBufferBuilder, renderType.mode(), renderType.format());
+
+            for (ColoredPath path : paths) {
+                switch (pathType) {
+                    case TEXTURED -> addTexturedPath(bufferBuilder, path, level, origin);
+                    case LINE -> addLinePath(bufferBuilder, path, level, origin);
+                }
+            }
+
+            MeshData meshData = bufferBuilder.build();
+            if (meshData == null) return new ChunkBuffer(null, originX, originZ);
+
+            VertexBuffer vertexBuffer = new VertexBuffer(BufferUsage.STATIC_WRITE);
+            vertexBuffer.bind();
+            vertexBuffer.upload(meshData);
+            VertexBuffer.unbind();
+
+            return new ChunkBuffer(vertexBuffer, originX, originZ);
+        }
+    }
+
+    private static void addLinePath(VertexConsumer consumer, ColoredPath path, Level level, Vector3f origin) {
+        forEachVisibleRun(path.points(), point -> point, level, run -> {
+            // Each pair of points in the run is a separate line, so runs can share a buffer
+            for (int i = 1; i < run.size(); i++) {
+                addLineVertex(consumer, run.get(i - 1), origin);
+                addLineVertex(consumer, run.get(i), origin);
+            }
+        });
+    }
+
+    private static void addLineVertex(VertexConsumer consumer, ColoredPosition point, Vector3f origin) {
+        consumer.addVertex(
+                        (float) (point.position().x() - origin.x),
+                        (float) (point.position().y() - origin.y),
+                        (float) (point.position().z() - origin.z))
+                .setColor(point.color())
+                .setNormal(0, 0, 1);
+    }
+
+    private static void addTexturedPath(VertexConsumer consumer, ColoredPath path, Level level, Vector3f origin) {
+        List<ColoredPosition> points = path.points();
+
+        // An arrow is drawn every 10 points, pointing at the next point
+        List<Pair<ColoredPosition, ColoredPosition>> arrows = new ArrayList<>();
+        for (int i = 0; i < points.size() - 1; i += 10) {
+            arrows.add(new Pair<>(points.get(i), points.get(Math.min(points.size() - 1, i + 1))));
+        }
+
+        forEachVisibleRun(arrows, Pair::a, level, run -> {
+            for (Pair<ColoredPosition, ColoredPosition> arrow : run) {
+                addArrow(consumer, arrow.a(), arrow.b(), origin);
+            }
+        });
+    }
+
+    private static void addArrow(VertexConsumer consumer, ColoredPosition start, ColoredPosition end, Vector3f origin) {
+        Vector3f startVec = start.position().toVector3f();
+        Vector3f endVec = end.position().toVector3f();
+        int color = start.color();
+
+        // vertex position delta to starting point
+        Vector3f pos1 = new Vector3f(-0.5f, 0.24f, -0.5f);
+        Vector3f pos2 = new Vector3f(0.5f, 0.24f, -0.5f);
+        Vector3f pos3 = new Vector3f(0.5f, 0.24f, 0.5f);
+        Vector3f pos4 = new Vector3f(-0.5f, 0.24f, 0.5f);
+
+        Vector3f direction =
+                new Vector3f(endVec.x, endVec.y, endVec.z).sub(startVec).normalize();
+
+        // rotation angle to point surface normal to end position
+        // rotate the angle so the arrow point to the end position instead of surface normal
+        float xAngle = (float) ((float) Math.acos(direction.y / direction.length()) - Math.PI / 2);
+        float yAngle = (float) Math.atan2(direction.x, direction.z);
+
+        Quaternionf yRot = new Quaternionf().rotateY(yAngle);
+        Vector3f xRotAxis = new Vector3f(1, 0, 0).rotate(yRot);
+        Quaternionf xRot = new Quaternionf().rotateAxis(xAngle, xRotAxis);
+
+        // apply vertex rotation
+        pos1.rotate(yRot).rotate(xRot);
+        pos2.rotate(yRot).rotate(xRot);
+        pos3.rotate(yRot).rotate(xRot);
+        pos4.rotate(yRot).rotate(xRot);
+
+        // transform position back to world space and then to the chunk corner
+        pos1 = pos1.add(startVec).sub(origin);
+        pos2 = pos2.add(startVec).sub(origin);
+        pos3 = pos3.add(startVec).sub(origin);
+        pos4 = pos4.add(startVec).sub(origin);
+
+        consumer.addVertex(pos1.x, pos1.y, pos1.z).setUv(0, 1).setColor(color);
+        consumer.addVertex(pos2.x, pos2.y, pos2.z).setUv(0, 0).setColor(color);
+        consumer.addVertex(pos3.x, pos3.y, pos3.z).setUv(1, 0).setColor(color);
+        consumer.addVertex(pos4.x, pos4.y, pos4.z).setUv(1, 1).setColor(color);
+    }
+
+    /**
+     * Splits the elements into the runs that are drawn.
+     * <p> Elements are drawn when there is a solid block below them. Elements above air are only drawn if a later
+     * element is above a solid block, and a barrier below an element hides it and ends the run.
+     */
+    private static <T> void forEachVisibleRun(
+            List<T> elements, Function<T, ColoredPosition> toPoint, Level level, Consumer<List<T>> runConsumer) {
+        List<T> run = new ArrayList<>();
+        boolean runEnded = false;
+
+        List<T> queued = new ArrayList<>();
+        boolean pauseDraw = false;
+        BlockPos lastBlockPos = null;
+
+        for (T element : elements) {
+            ColoredPosition point = toPoint.apply(element);
+            BlockPos blockPos = PosUtils.newBlockPos(point.position());
+
+            if (blockPos.equals(lastBlockPos)) { // Do not recalculate block validness
+                if (!queued.isEmpty()) {
+                    queued.add(element);
+                }
+            } else {
+                BlockValidness blockValidness = BlockValidness.checkBlockValidness(level, point);
+
+                if (blockValidness == BlockValidness.VALID) {
+                    pauseDraw = false;
+                    if (runEnded) {
+                        run = new ArrayList<>();
+                        runEnded = false;
+                    }
+                    run.addAll(queued);
+                    queued.clear();
+                } else if (blockValidness == BlockValidness.HAS_BARRIER) {
+                    pauseDraw = true;
+                    queued.clear();
+                } else {
+                    pauseDraw = false;
+                    queued.add(element);
+                    continue;
+                }
+            }
+
+            lastBlockPos = blockPos;
+
+            if (!pauseDraw) {
+                run.add(element);
+            } else if (!runEnded) {
+                runConsumer.accept(run);
+                runEnded = true;
+            }
+        }
+
+        if (!runEnded) {
+            run.addAll(queued);
+            runConsumer.accept(run);
+        }
+    }
+
+    private record ChunkBuffer(VertexBuffer vertexBuffer, int originX, int originZ) {}
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.lootrunpaths;
+
+import com.google.common.base.Suppliers;
+import com.google.gson.JsonParser;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPosition;
+import com.wynntils.services.lootrunpaths.type.LootrunNote;
+import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import com.wynntils.utils.FileUtils;
+import com.wynntils.utils.mc.McUtils;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.Position;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Compiled lootruns, stored in a binary file for each lootrun file, so unchanged lootruns can be loaded without
+ * parsing and compiling them again.
+ * <p> A cache file is only used if the size and modification time of its lootrun file, and the settings the lootrun
+ * was compiled with, are the same as when it was written. Compiled points come from float splines, so they are
+ * stored as floats without losing anything.
+ * <p> Each lootrun file has its own cache file, and every write goes to its own temporary file, so they can be read
+ * and written from several threads at once.
+ */
+public final class LootrunPathCache {
+    private static final String CACHE_EXTENSION = ".bin";
+    // Change this when the format, or the output of the compiler, changes
+    private static final int FORMAT_VERSION = 1;
+
+    // Minimum sizes of the stored elements, used to reject counts that can not fit in the rest of the file
+    private static final int POINT_SIZE = 3 * Double.BYTES;
+    private static final int CHEST_SIZE = 3 * Integer.BYTES;
+    private static final int NOTE_SIZE = 3 * Double.BYTES + Integer.BYTES;
+    private static final int CHUNK_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int PATH_SIZE = Integer.BYTES;
+    private static final int POSITION_SIZE = 3 * Float.BYTES + Integer.BYTES;
+
+    private final File cacheDir = WynntilsMod.getModStorageDir("lootruncache");
+
+    LootrunPathCache() {
+        FileUtils.mkdir(cacheDir);
+    }
+
+    /**
+     * Returns the cached lootrun for the file, or null if there is none that is still valid.
+     */
+    LootrunPathInstance read(File lootrunFile, int settingsKey) {
+        File cacheFile = getCacheFile(lootrunFile);
+        if (!cacheFile.exists()) return null;
+
+        try (DataInputStream input =
+                new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (input.readInt() != FORMAT_VERSION
+                    || input.readLong() != lootrunFile.length()
+                    || input.readLong() != lootrunFile.lastModified()
+                    || input.readInt() != settingsKey) {
+                return null;
+            }
+
+            return readLootrun(
+                    input.readAllBytes(), getLootrunName(lootrunFile), McUtils.mc().player.registryAccess());
+        } catch (Exception e) {
+            WynntilsMod.warn("Could not read lootrun cache " + cacheFile.getName() + ", it will be compiled again.", e);
+            return null;
+        }
+    }
+
+    void write(File lootrunFile, UncompiledLootrunPath uncompiled, LootrunPathInstance compiled, int settingsKey) {
+        File cacheFile = getCacheFile(lootrunFile);
+        Path tempFile = null;
+
+        try {
+            // Lootruns can be refreshed several times at once, so every write needs its own temporary file
+            tempFile = Files.createTempFile(cacheDir.toPath(), cacheFile.getName(), ".tmp");
+
+            try (DataOutputStream output =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(lootrunFile.length());
+                output.writeLong(lootrunFile.lastModified());
+                output.writeInt(settingsKey);
+
+                writeLootrun(output, uncompiled, compiled.points(), McUtils.mc().player.registryAccess());
+            }
+
+            // Replace the old cache file in one step, so a crash while writing never leaves a broken one
+            Files.move(
+                    tempFile,
+                    cacheFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            WynntilsMod.warn("Could not write lootrun cache " + cacheFile.getName(), e);
+            if (tempFile != null) {
+                FileUtils.deleteFile(tempFile.toFile());
+            }
+        }
+    }
+
+    /**
+     * Writes the lootrun, and its compiled points, in the format read by {@link #readLootrun}.
+     */
+    public static void writeLootrun(
+            OutputStream outputStream,
+            UncompiledLootrunPath uncompiled,
+            Long2ObjectMap<List<ColoredPath>> compiledPoints,
+            HolderLookup.Provider registries)
+            throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+
+        output.writeInt(uncompiled.path().points().size());
+        for (Vec3 point : uncompiled.path().points()) {
+            output.writeDouble(point.x);
+            output.writeDouble(point.y);
+            output.writeDouble(point.z);
+        }
+
+        output.writeInt(uncompiled.chests().size());
+        for (BlockPos chest : uncompiled.chests()) {
+            output.writeInt(chest.getX());
+            output.writeInt(chest.getY());
+            output.writeInt(chest.getZ());
+        }
+
+        output.writeInt(uncompiled.notes().size());
+        for (LootrunNote note : uncompiled.notes()) {
+            output.writeDouble(note.position().x());
+            output.writeDouble(note.position().y());
+            output.writeDouble(note.position().z());
+
+            byte[] json = Component.Serializer.toJson(note.component(), registries)
+                    .getBytes(StandardCharsets.UTF_8);
+            output.writeInt(json.length);
+            output.write(json);
+        }
+
+        output.writeInt(compiledPoints.size());
+        for (Long2ObjectMap.Entry<List<ColoredPath>> entry : compiledPoints.long2ObjectEntrySet()) {
+            output.writeLong(entry.getLongKey());
+            output.writeInt(entry.getValue().size());
+            for (ColoredPath path : entry.getValue()) {
+                output.writeInt(path.points().size());
+                for (ColoredPosition position : path.points()) {
+                    output.writeFloat((float) position.position().x);
+                    output.writeFloat((float) position.position().y);
+                    output.writeFloat((float) position.position().z);
+                    output.writeInt(position.color());
+                }
+            }
+        }
+
+        output.flush();
+    }
+
+    /**
+     * Reads a lootrun written by {@link #writeLootrun}.
+     *
+     * @throws IOException if the data is cut off, or has counts that do not fit in it
+     */
+    public static LootrunPathInstance readLootrun(byte[] data, String name, HolderLookup.Provider registries)
+            throws IOException {
+        // The remaining bytes of a byte array stream are known, so counts can be checked before allocating for them
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(data));
+
+        LootrunPath path = new LootrunPath(new ArrayList<>());
+        int pointCount = readCount(input, POINT_SIZE);
+        for (int i = 0; i < pointCount; i++) {
+            path.points().add(new Vec3(input.readDouble(), input.readDouble(), input.readDouble()));
+        }
+
+        Set<BlockPos> chests = new HashSet<>();
+        int chestCount = readCount(input, CHEST_SIZE);
+        for (int i = 0; i < chestCount; i++) {
+            chests.add(new BlockPos(input.readInt(), input.readInt(), input.readInt()));
+        }
+
+        List<LootrunNote> notes = new ArrayList<>();
+        int noteCount = readCount(input, NOTE_SIZE);
+        for (int i = 0; i < noteCount; i++) {
+            Position position = new Vec3(input.readDouble(), input.readDouble(), input.readDouble());
+            String json = new String(input.readNBytes(readCount(input, 1)), StandardCharsets.UTF_8);
+            Component component = Component.Serializer.fromJson(JsonParser.parseString(json), registries);
+            notes.add(new LootrunNote(position, component));
+        }
+
+        Long2ObjectMap<List<ColoredPath>> points = new Long2ObjectOpenHashMap<>();
+        int chunkCount = readCount(input, CHUNK_SIZE);
+        for (int i = 0; i < chunkCount; i++) {
+            long chunk = input.readLong();
+            int pathCount = readCount(input, PATH_SIZE);
+            List<ColoredPath> chunkPaths = new ArrayList<>(pathCount);
+            for (int j = 0; j < pathCount; j++) {
+                int positionCount = readCount(input, POSITION_SIZE);
+                List<ColoredPosition> positions = new ArrayList<>(positionCount);
+                for (int k = 0; k < positionCount; k++) {
+                    Vec3 position = new Vec3(input.readFloat(), input.readFloat(), input.readFloat());
+                    positions.add(new ColoredPosition(position, input.readInt()));
+                }
+                chunkPaths.add(new ColoredPath(positions));
+            }
+            points.put(chunk, chunkPaths);
+        }
+
+        return new LootrunPathInstance(
+                name,
+                path,
+                Suppliers.memoize(() -> LootrunCompiler.generateSimplifiedPoints(path, 0.5)),
+                points,
+                LootrunCompiler.getChests(chests),
+                LootrunCompiler.getNotes(notes));
+    }
+
+    private static int readCount(DataInputStream input, int elementSize) throws IOException {
+        int count = input.readInt();
+        if (count < 0 || (long) count * elementSize > input.available()) {
+            throw new IOException("Invalid element count " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Deletes the cache files of lootruns that are not in the given files anymore.
+     */
+    void removeStale(File[] lootrunFiles) {
+        Set<String> cacheFileNames = new HashSet<>();
+        for (File lootrunFile : lootrunFiles) {
+            cacheFileNames.add(getCacheFile(lootrunFile).getName());
+        }
+
+        File[] cacheFiles = cacheDir.listFiles();
+        for (File cacheFile : cacheFiles != null ? cacheFiles : new File[0]) {
+            if (!cacheFile.getName().endsWith(CACHE_EXTENSION)) continue;
+            if (cacheFileNames.contains(cacheFile.getName())) continue;
+
+            FileUtils.deleteFile(cacheFile);
+        }
+    }
+
+    private File getCacheFile(File lootrunFile) {
+        return new File(cacheDir, getLootrunName(lootrunFile) + CACHE_EXTENSION);
+    }
+
+    // Same as the name given by LootrunCompiler
+    private static String getLootrunName(File lootrunFile) {
+        return lootrunFile.getName().replace(".json", "");
+    }
+}
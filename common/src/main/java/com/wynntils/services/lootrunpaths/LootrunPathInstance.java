@@ -1,5 +1,5 @@
 /*
- * Copyright © Wynntils 2023.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.lootrunpaths;
@@ -10,13 +10,19 @@ import com.wynntils.services.lootrunpaths.type.LootrunPath;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import net.minecraft.core.BlockPos;
 import org.joml.Vector2d;
 
 public record LootrunPathInstance(
         String name,
         LootrunPath path,
-        List<Vector2d> simplifiedPath,
+        Supplier<List<Vector2d>> simplifiedPathSupplier,
         Long2ObjectMap<List<ColoredPath>> points,
         Long2ObjectMap<Set<BlockPos>> chests,
-        Long2ObjectMap<List<LootrunNote>> notes) {}
+        Long2ObjectMap<List<LootrunNote>> notes) {
+    // The simplified path is only needed for the map, so it is only calculated once it is first rendered there
+    public List<Vector2d> simplifiedPath() {
+        return simplifiedPathSupplier.get();
+    }
+}
@@ -1,9 +1,10 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.lootrunpaths;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.mojang.blaze3d.vertex.PoseStack;
@@ -13,6 +14,7 @@ import com.wynntils.core.components.Models;
 import com.wynntils.core.components.Service;
 import com.wynntils.core.components.Services;
 import com.wynntils.features.LootrunFeature;
+import com.wynntils.mc.event.ChunkReceivedEvent;
 import com.wynntils.mc.event.PlayerInteractEvent;
 import com.wynntils.mc.event.RenderLevelEvent;
 import com.wynntils.mc.event.ScreenOpenedEvent;
@@ -31,8 +33,14 @@ import java.io.File;
 import java.io.FileReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.GraphicsStatus;
 import net.minecraft.client.player.LocalPlayer;
@@ -42,13 +50,24 @@ import net.minecraft.core.Position;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.phys.Vec3;
 import net.neoforged.bus.api.SubscribeEvent;
 
 public final class LootrunPathsService extends Service {
     public static final File LOOTRUNS = WynntilsMod.getModStorageDir("lootruns");
 
-    private List<LootrunPathInstance> lootrunPathInstanceCache = new ArrayList<>();
+    // Loading lootruns is mostly JSON parsing and compiling, so a few threads are enough
+    private static final int LOADER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final ExecutorService loaderExecutor = Executors.newFixedThreadPool(
+            LOADER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("wynntils-lootrun-loader-%d").setDaemon(true).build());
+    private final LootrunPathCache lootrunPathCache = new LootrunPathCache();
+    private final AtomicInteger refreshGeneration = new AtomicInteger();
+    private final AtomicBoolean refreshEventPending = new AtomicBoolean();
+
+    private volatile List<LootrunPathInstance> lootrunPathInstanceCache = List.of();
 
     private UncompiledLootrunPath uncompiled = null;
 
@@ -56,7 +75,10 @@ public final class LootrunPathsService extends Service {
 
     private LootrunPathInstance lootrun = null;
     private LootrunPathInstance recordingCompiled = null;
+    private final LootrunPathBuffers lootrunBuffers = new LootrunPathBuffers();
+    private final LootrunPathBuffers recordingBuffers = new LootrunPathBuffers();
     private UncompiledLootrunPath recording = null;
+    private IncrementalLootrunCompiler recordingCompiler = null;
 
     private RecordingInformation recordingInformation = null;
 
@@ -116,6 +138,7 @@ public final class LootrunPathsService extends Service {
         uncompiled = null;
         recording = null;
         recordingCompiled = null;
+        recordingCompiler = null;
         recordingInformation = null;
     }
 
@@ -126,6 +149,7 @@ public final class LootrunPathsService extends Service {
         uncompiled = recording;
         recording = null;
         recordingCompiled = null;
+        recordingCompiler = null;
         recordingInformation = null;
     }
 
@@ -133,6 +157,7 @@ public final class LootrunPathsService extends Service {
         state = LootrunState.RECORDING;
         recording =
                 new UncompiledLootrunPath(new LootrunPath(new ArrayList<>()), new HashSet<>(), new ArrayList<>(), null);
+        recordingCompiler = new IncrementalLootrunCompiler();
         recordingInformation = new RecordingInformation();
     }
 
@@ -140,25 +165,77 @@ public final class LootrunPathsService extends Service {
         return lootrunPathInstanceCache;
     }
 
+    /**
+     * Loads every lootrun in the lootruns folder in the background. The list is published as lootruns finish loading,
+     * with a {@link LootrunPathCacheRefreshEvent} at most once per tick.
+     */
     public void refreshLootrunCache() {
-        List<LootrunPathInstance> lootruns = new ArrayList<>();
-
-        File[] files = LOOTRUNS.listFiles();
-        for (File file : files != null ? files : new File[0]) {
-            if (file.getName().endsWith(".json")) {
-                try {
-                    FileReader reader = new FileReader(file, StandardCharsets.UTF_8);
-                    JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
-                    UncompiledLootrunPath uncompiled = LootrunPathFileParser.readJson(file, json);
-                    lootruns.add(LootrunCompiler.compile(uncompiled, false));
-                } catch (Exception e) {
-                    WynntilsMod.warn("Could not parse lootrun file.", e);
+        int generation = refreshGeneration.incrementAndGet();
+
+        File[] files = LOOTRUNS.listFiles((dir, name) -> name.endsWith(".json"));
+        File[] lootrunFiles = files != null ? files : new File[0];
+        lootrunPathCache.removeStale(lootrunFiles);
+
+        // Keep the order of the files, no matter which one finished loading first
+        LootrunPathInstance[] loaded = new LootrunPathInstance[lootrunFiles.length];
+        int settingsKey = getCompileSettingsKey();
+
+        lootrunPathInstanceCache = List.of();
+        publishLootrunCache();
+
+        for (int i = 0; i < lootrunFiles.length; i++) {
+            int index = i;
+            loaderExecutor.execute(() -> {
+                // A newer refresh was started, so this one does not have to finish
+                if (generation != refreshGeneration.get()) return;
+
+                LootrunPathInstance lootrun = loadLootrun(lootrunFiles[index], settingsKey);
+                if (lootrun == null) return;
+
+                synchronized (loaded) {
+                    if (generation != refreshGeneration.get()) return;
+
+                    loaded[index] = lootrun;
+                    lootrunPathInstanceCache = Arrays.stream(loaded).filter(Objects::nonNull).toList();
                 }
-            }
+                publishLootrunCache();
+            });
+        }
+    }
+
+    private LootrunPathInstance loadLootrun(File file, int settingsKey) {
+        LootrunPathInstance cached = lootrunPathCache.read(file, settingsKey);
+        if (cached != null) return cached;
+
+        try (FileReader reader = new FileReader(file, StandardCharsets.UTF_8)) {
+            JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+            UncompiledLootrunPath uncompiled = LootrunPathFileParser.readJson(file, json);
+            LootrunPathInstance lootrun = LootrunCompiler.compile(uncompiled, false);
+
+            lootrunPathCache.write(file, uncompiled, lootrun, settingsKey);
+            return lootrun;
+        } catch (Exception e) {
+            WynntilsMod.warn("Could not parse lootrun file.", e);
+            return null;
         }
+    }
+
+    private void publishLootrunCache() {
+        if (!refreshEventPending.compareAndSet(false, true)) return;
 
-        lootrunPathInstanceCache = lootruns;
-        WynntilsMod.postEvent(new LootrunPathCacheRefreshEvent());
+        Managers.TickScheduler.scheduleNextTick(() -> {
+            refreshEventPending.set(false);
+            WynntilsMod.postEvent(new LootrunPathCacheRefreshEvent());
+        });
+    }
+
+    // The colors of compiled lootruns depend on these, so cached lootruns compiled with others can not be used
+    private static int getCompileSettingsKey() {
+        LootrunFeature feature = Managers.Feature.getFeatureInstance(LootrunFeature.class);
+        return Objects.hash(
+                feature.rainbowLootRun.get(),
+                feature.cycleDistance.get(),
+                feature.activePathColor.get().asInt());
     }
 
     private boolean loadFile(String fileName) {
@@ -294,14 +371,23 @@ public final class LootrunPathsService extends Service {
                 Managers.Feature.getFeatureInstance(LootrunFeature.class)
                         .activePathColor
                         .get()
-                        .asInt());
+                        .asInt(),
+                lootrunBuffers);
         LootrunRenderer.renderLootrun(
                 poseStack,
                 recordingCompiled,
                 Managers.Feature.getFeatureInstance(LootrunFeature.class)
                         .recordingPathColor
                         .get()
-                        .asInt());
+                        .asInt(),
+                recordingBuffers);
+    }
+
+    @SubscribeEvent
+    public void onChunkReceived(ChunkReceivedEvent event) {
+        // The parts of the path that are drawn depend on the blocks of the chunk
+        lootrunBuffers.invalidateChunk(event.getChunkX(), event.getChunkZ());
+        recordingBuffers.invalidateChunk(event.getChunkX(), event.getChunkZ());
     }
 
     @SubscribeEvent
@@ -343,7 +429,17 @@ public final class LootrunPathsService extends Service {
         }
 
         if (recordingInformation.isDirty()) {
-            recordingCompiled = LootrunCompiler.compile(recording, true);
+            recordingCompiled = recordingCompiler.compile(
+                    recording,
+                    Managers.Feature.getFeatureInstance(LootrunFeature.class)
+                            .recordingPathColor
+                            .get()
+                            .asInt());
+            // The compiled points stay the same map, so only the buffers of the chunks that changed are built again
+            recordingCompiler
+                    .getChangedChunks()
+                    .forEach((long chunk) ->
+                            recordingBuffers.invalidateChunk(ChunkPos.getX(chunk), ChunkPos.getZ(chunk)));
             recordingInformation.setDirty(false);
         }
     }
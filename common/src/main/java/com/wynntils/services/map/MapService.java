@@ -1,11 +1,10 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.map;
 
 import com.google.common.reflect.TypeToken;
-import com.mojang.blaze3d.platform.NativeImage;
 import com.wynntils.core.WynntilsMod;
 import com.wynntils.core.components.Managers;
 import com.wynntils.core.components.Service;
@@ -16,15 +15,21 @@ import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.BoundingBox;
 import com.wynntils.utils.type.BoundingCircle;
 import com.wynntils.utils.type.BoundingShape;
-import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.resources.ResourceLocation;
 
 public final class MapService extends Service {
-    private final List<MapTexture> maps = new CopyOnWriteArrayList<>();
+    public static final int DEFAULT_TEXTURE_MEMORY_BUDGET_MB = 128;
+
+    // Replaced as a whole once every map part is downloaded
+    private volatile List<MapTexture> maps = List.of();
+    private final MapTextureCache textureCache = new MapTextureCache(toBytes(DEFAULT_TEXTURE_MEMORY_BUDGET_MB));
 
     public MapService() {
         super(List.of());
@@ -47,6 +52,17 @@ public final class MapService extends Service {
                 .toList();
     }
 
+    /**
+     * Sets how much memory the uploaded map textures may take before the least recently rendered ones are released.
+     */
+    public void setTextureMemoryBudget(int megabytes) {
+        textureCache.setMemoryBudget(toBytes(megabytes));
+    }
+
+    ResourceLocation getTextureResource(MapTexture map, int mipLevel) {
+        return textureCache.getResource(map, mipLevel);
+    }
+
     public boolean isPlayerInMappedArea(float width, float height, float scale) {
         BoundingCircle textureBoundingCircle = BoundingCircle.enclosingCircle(BoundingBox.centered(
                 (float) McUtils.player().getX(), (float) McUtils.player().getZ(), width * scale, height * scale));
@@ -58,27 +74,61 @@ public final class MapService extends Service {
         Type type = new TypeToken<List<MapPartProfile>>() {}.getType();
 
         List<MapPartProfile> mapPartList = WynntilsMod.GSON.fromJson(reader, type);
-        for (MapPartProfile mapPart : mapPartList) {
-            String fileName = mapPart.md5 + ".png";
+        MapTexture[] loadedMaps = new MapTexture[mapPartList.size()];
+        AtomicInteger remainingParts = new AtomicInteger(mapPartList.size());
+        long startTime = System.currentTimeMillis();
+
+        if (mapPartList.isEmpty()) {
+            McUtils.mc().execute(() -> {
+                textureCache.releaseAll();
+                maps = List.of();
+            });
+            return;
+        }
+
+        Runnable onPartFinished = () -> {
+            if (remainingParts.decrementAndGet() > 0) return;
+
+            List<MapTexture> newMaps = Arrays.stream(loadedMaps).filter(Objects::nonNull).toList();
+            WynntilsMod.info("[MapService] Loaded " + newMaps.size() + "/" + loadedMaps.length + " map parts in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
 
-            loadMapPart(mapPart, fileName);
+            // The textures of the old map parts are released on the render thread, before they can be replaced
+            McUtils.mc().execute(() -> {
+                textureCache.releaseAll();
+                maps = newMaps;
+            });
+        };
+
+        for (int i = 0; i < mapPartList.size(); i++) {
+            loadMapPart(mapPartList.get(i), loadedMaps, i, onPartFinished);
         }
     }
 
-    private void loadMapPart(MapPartProfile mapPart, String fileName) {
-        Download dl = Managers.Net.download(URI.create(mapPart.url), "maps/" + fileName, mapPart.md5);
+    private void loadMapPart(MapPartProfile mapPart, MapTexture[] loadedMaps, int index, Runnable onPartFinished) {
+        String fileName = mapPart.md5 + ".png";
+        String localFileName = "maps/" + fileName;
+        Download dl = Managers.Net.download(URI.create(mapPart.url), localFileName, mapPart.md5);
+        // The image is only decoded when it is first rendered, so just keep track of the downloaded file
         dl.handleInputStream(
                 inputStream -> {
-                    try {
-                        NativeImage nativeImage = NativeImage.read(inputStream);
-                        MapTexture mapPartImage =
-                                new MapTexture(fileName, nativeImage, mapPart.x1, mapPart.z1, mapPart.x2, mapPart.z2);
-                        maps.add(mapPartImage);
-                    } catch (IOException e) {
-                        WynntilsMod.warn("IOException occurred while loading map image of " + mapPart.name, e);
-                    }
+                    loadedMaps[index] = new MapTexture(
+                            fileName,
+                            Managers.Net.getCacheFile(localFileName),
+                            mapPart.x1,
+                            mapPart.z1,
+                            mapPart.x2,
+                            mapPart.z2);
+                    onPartFinished.run();
                 },
-                onError -> WynntilsMod.warn("Error occurred while downloading map image of " + mapPart.name, onError));
+                onError -> {
+                    WynntilsMod.warn("Error occurred while downloading map image of " + mapPart.name, onError);
+                    onPartFinished.run();
+                });
+    }
+
+    private static long toBytes(int megabytes) {
+        return megabytes * 1024L * 1024L;
     }
 
     private static final class MapPartProfile {
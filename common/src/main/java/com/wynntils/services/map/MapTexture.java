@@ -1,20 +1,27 @@
 /*
- * Copyright © Wynntils 2022-2024.
+ * Copyright © Wynntils 2022-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.services.map;
 
-import com.mojang.blaze3d.platform.NativeImage;
+import com.wynntils.core.components.Services;
 import com.wynntils.utils.mc.McUtils;
 import com.wynntils.utils.type.BoundingBox;
-import net.minecraft.client.renderer.texture.DynamicTexture;
+import java.io.File;
 import net.minecraft.resources.ResourceLocation;
 
 public class MapTexture {
-    private final NativeImage texture;
-    private final ResourceLocation mapResource;
+    // Every mip level has half the resolution of the level before it
+    static final int MAX_MIP_LEVEL = 2;
 
-    private boolean registered = false;
+    private final File file;
+    private final ResourceLocation[] mipResources = new ResourceLocation[MAX_MIP_LEVEL + 1];
+
+    // Whether each mip level is loading or uploaded; only accessed from the render thread
+    private final boolean[] loading = new boolean[MAX_MIP_LEVEL + 1];
+    private final boolean[] uploaded = new boolean[MAX_MIP_LEVEL + 1];
+    // Whether the file could not be decoded, so it is not tried again until the map parts are downloaded again
+    private boolean failed = false;
 
     private final int x1;
     private final int z1;
@@ -24,28 +31,31 @@ public class MapTexture {
     private final int textureWidth;
     private final int textureHeight;
 
-    public MapTexture(String name, NativeImage texture, int x1, int z1, int x2, int z2) {
-        this.texture = texture;
+    public MapTexture(String name, File file, int x1, int z1, int x2, int z2) {
+        this.file = file;
         this.x1 = x1;
         this.z1 = z1;
         this.x2 = x2;
         this.z2 = z2;
-        this.textureWidth = texture.getWidth();
-        this.textureHeight = texture.getHeight();
-
-        this.mapResource = ResourceLocation.fromNamespaceAndPath("wynntils", "/maps/" + name);
-
-        assert (x2 - x1 + 1 == textureWidth);
-        assert (z2 - z1 + 1 == textureHeight);
-    }
+        this.textureWidth = x2 - x1 + 1;
+        this.textureHeight = z2 - z1 + 1;
 
-    public ResourceLocation resource() {
-        if (!registered) {
-            registered = true;
-            McUtils.mc().getTextureManager().register(mapResource, new DynamicTexture(texture));
+        this.mipResources[0] = ResourceLocation.fromNamespaceAndPath("wynntils", "/maps/" + name);
+        for (int level = 1; level <= MAX_MIP_LEVEL; level++) {
+            this.mipResources[level] =
+                    ResourceLocation.fromNamespaceAndPath("wynntils", "/maps/mip" + level + "/" + name);
         }
+    }
 
-        return mapResource;
+    /**
+     * Returns the texture to render this map part with, or null if no texture is loaded yet.
+     * <p> The texture is loaded in the background the first time it is needed, and may be a lower resolution
+     * one while the one that fits the scale is loading.
+     *
+     * @param scale the number of blocks per rendered GUI pixel
+     */
+    public ResourceLocation resource(float scale) {
+        return Services.Map.getTextureResource(this, getMipLevel(scale));
     }
 
     public float getTextureXPosition(double posX) {
@@ -91,4 +101,44 @@ public class MapTexture {
     public int getTextureWidth() {
         return textureWidth;
     }
+
+    File getFile() {
+        return file;
+    }
+
+    ResourceLocation getMipResource(int level) {
+        return mipResources[level];
+    }
+
+    boolean isLoading(int level) {
+        return loading[level];
+    }
+
+    void setLoading(int level, boolean loading) {
+        this.loading[level] = loading;
+    }
+
+    boolean isUploaded(int level) {
+        return uploaded[level];
+    }
+
+    void setUploaded(int level, boolean uploaded) {
+        this.uploaded[level] = uploaded;
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    void setFailed() {
+        this.failed = true;
+    }
+
+    // Each level is used once a screen pixel covers at least 2^level blocks
+    private static int getMipLevel(float scale) {
+        float blocksPerPixel = scale / (float) McUtils.guiScale();
+        if (blocksPerPixel < 2f) return 0;
+
+        return Math.min(MAX_MIP_LEVEL, 31 - Integer.numberOfLeadingZeros((int) blocksPerPixel));
+    }
 }
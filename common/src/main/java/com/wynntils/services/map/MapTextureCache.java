@@ -0,0 +1,230 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.map;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.mojang.blaze3d.platform.NativeImage;
+import com.wynntils.core.WynntilsMod;
+import com.wynntils.utils.FileUtils;
+import com.wynntils.utils.mc.McUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Loads map part textures from the download cache when they are first rendered, and releases the least recently
+ * rendered ones when the uploaded textures take more memory than the budget.
+ * <p> All methods must be called from the render thread. Images are decoded on a worker thread.
+ */
+final class MapTextureCache {
+    // Textures rendered this recently are never released, so the visible ones do not reload every frame
+    // when the budget is too small for them
+    private static final long MIN_UNUSED_MILLIS = 5000;
+
+    // Decoding is mostly PNG inflation, so a few threads are enough to load the visible parts at once
+    private static final int DECODER_THREADS =
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            DECODER_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("wynntils-map-loader-%d").setDaemon(true).build());
+
+    // In order of last use, least recently used first
+    private final Map<LoadedTexture, Long> lastUsedTimes = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long memoryBudget;
+    private long usedMemory = 0;
+    // Changed when all textures are released, so images still being decoded for old map parts are dropped
+    private int generation = 0;
+
+    MapTextureCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        evictOverBudget();
+    }
+
+    /**
+     * Releases every uploaded texture. This must be done before the map parts are replaced, as the new map parts
+     * use the same texture locations as the old ones.
+     */
+    void releaseAll() {
+        lastUsedTimes.keySet().forEach(this::release);
+        lastUsedTimes.clear();
+        generation++;
+    }
+
+    ResourceLocation getResource(MapTexture map, int mipLevel) {
+        // Textures that were in use when the budget was exceeded can be released once they are not anymore
+        if (usedMemory > memoryBudget) {
+            evictOverBudget();
+        }
+
+        if (map.isUploaded(mipLevel)) {
+            lastUsedTimes.put(new LoadedTexture(map, mipLevel), System.currentTimeMillis());
+            return map.getMipResource(mipLevel);
+        }
+
+        load(map, mipLevel);
+
+        // Use the closest loaded level until the right one is ready, preferring the sharper ones
+        for (int distance = 1; distance <= MapTexture.MAX_MIP_LEVEL; distance++) {
+            for (int level : new int[] {mipLevel - distance, mipLevel + distance}) {
+                if (level < 0 || level > MapTexture.MAX_MIP_LEVEL || !map.isUploaded(level)) continue;
+
+                lastUsedTimes.put(new LoadedTexture(map, level), System.currentTimeMillis());
+                return map.getMipResource(level);
+            }
+        }
+
+        return null;
+    }
+
+    private void load(MapTexture map, int mipLevel) {
+        if (map.isLoading(mipLevel) || map.isFailed()) return;
+
+        int loadGeneration = generation;
+        map.setLoading(mipLevel, true);
+        CompletableFuture.supplyAsync(() -> decode(map, mipLevel), executor)
+                .whenComplete((image, throwable) -> McUtils.mc().execute(() -> {
+                    map.setLoading(mipLevel, false);
+
+                    // The map part was replaced while it was loading
+                    if (loadGeneration != generation) {
+                        if (image != null) {
+                            image.close();
+                        }
+                        return;
+                    }
+
+                    if (throwable != null) {
+                        onLoadFailed(map, throwable);
+                        return;
+                    }
+
+                    upload(map, mipLevel, image);
+                }));
+    }
+
+    private void onLoadFailed(MapTexture map, Throwable throwable) {
+        // Other mip levels of the same file can fail at the same time
+        if (map.isFailed()) return;
+
+        // Don't try to decode the file every frame. As the cached file is missing or corrupt,
+        // delete it so it is downloaded again the next time the map parts are loaded.
+        map.setFailed();
+        WynntilsMod.warn("Failed to load map image " + map.getFile().getName() + ", deleting cached file", throwable);
+        FileUtils.deleteFile(map.getFile());
+    }
+
+    private void upload(MapTexture map, int mipLevel, NativeImage image) {
+        McUtils.mc().getTextureManager().register(map.getMipResource(mipLevel), new DynamicTexture(image));
+        map.setUploaded(mipLevel, true);
+
+        lastUsedTimes.put(new LoadedTexture(map, mipLevel), System.currentTimeMillis());
+        usedMemory += getMemorySize(map, mipLevel);
+
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        long now = System.currentTimeMillis();
+
+        Iterator<Map.Entry<LoadedTexture, Long>> iterator = lastUsedTimes.entrySet().iterator();
+        while (usedMemory > memoryBudget && iterator.hasNext()) {
+            Map.Entry<LoadedTexture, Long> entry = iterator.next();
+            // Everything after this was used even more recently
+            if (now - entry.getValue() < MIN_UNUSED_MILLIS) break;
+
+            release(entry.getKey());
+            iterator.remove();
+        }
+    }
+
+    private void release(LoadedTexture texture) {
+        MapTexture map = texture.map();
+        if (!map.isUploaded(texture.mipLevel())) return;
+
+        map.setUploaded(texture.mipLevel(), false);
+        usedMemory -= getMemorySize(map, texture.mipLevel());
+
+        // This also closes the image
+        McUtils.mc().getTextureManager().release(map.getMipResource(texture.mipLevel()));
+    }
+
+    private static NativeImage decode(MapTexture map, int mipLevel) {
+        try (InputStream inputStream = Files.newInputStream(map.getFile().toPath())) {
+            NativeImage image = NativeImage.read(inputStream);
+
+            for (int level = 0; level < mipLevel; level++) {
+                NativeImage halfImage = downsample(image);
+                image.close();
+                image = halfImage;
+            }
+
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static NativeImage downsample(NativeImage image) {
+        int width = Math.max(1, image.getWidth() / 2);
+        int height = Math.max(1, image.getHeight() / 2);
+        NativeImage halfImage = new NativeImage(width, height, false);
+
+        for (int x = 0; x < width; x++) {
+            int sourceX1 = Math.min(x * 2, image.getWidth() - 1);
+            int sourceX2 = Math.min(x * 2 + 1, image.getWidth() - 1);
+
+            for (int y = 0; y < height; y++) {
+                int sourceY1 = Math.min(y * 2, image.getHeight() - 1);
+                int sourceY2 = Math.min(y * 2 + 1, image.getHeight() - 1);
+
+                halfImage.setPixel(
+                        x,
+                        y,
+                        average(
+                                image.getPixel(sourceX1, sourceY1),
+                                image.getPixel(sourceX2, sourceY1),
+                                image.getPixel(sourceX1, sourceY2),
+                                image.getPixel(sourceX2, sourceY2)));
+            }
+        }
+
+        return halfImage;
+    }
+
+    private static int average(int color1, int color2, int color3, int color4) {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 8) {
+            int sum = ((color1 >>> shift) & 0xFF)
+                    + ((color2 >>> shift) & 0xFF)
+                    + ((color3 >>> shift) & 0xFF)
+                    + ((color4 >>> shift) & 0xFF);
+            result |= (sum / 4) << shift;
+        }
+        return result;
+    }
+
+    private static long getMemorySize(MapTexture map, int mipLevel) {
+        long width = Math.max(1, map.getTextureWidth() >> mipLevel);
+        long height = Math.max(1, map.getTextureHeight() >> mipLevel);
+        return width * height * 4;
+    }
+
+    private record LoadedTexture(MapTexture map, int mipLevel) {}
+}
@@ -23,6 +23,7 @@ import com.wynntils.services.map.pois.LabelPoi;
 import com.wynntils.services.map.pois.ServicePoi;
 import com.wynntils.services.map.type.CombatKind;
 import com.wynntils.services.map.type.CustomPoiProvider;
+import com.wynntils.services.map.type.PoiSpatialIndex;
 import com.wynntils.services.map.type.ServiceKind;
 import com.wynntils.services.mapdata.providers.builtin.CombatListProvider;
 import com.wynntils.services.mapdata.providers.builtin.PlaceListProvider;
@@ -30,6 +31,7 @@ import com.wynntils.services.mapdata.providers.builtin.ServiceListProvider;
 import com.wynntils.utils.mc.type.Location;
 import com.wynntils.utils.mc.type.PoiLocation;
 import com.wynntils.utils.render.Texture;
+import com.wynntils.utils.type.BoundingBox;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -70,6 +72,11 @@ public class PoiService extends Service {
     private final Set<CombatPoi> cavePois = new HashSet<>();
     private final Map<CustomPoiProvider, List<CustomPoi>> providedCustomPois = new ConcurrentHashMap<>();
 
+    // Rebuilt whenever the POIs above are downloaded, which may happen off the render thread
+    private volatile PoiSpatialIndex<LabelPoi> labelPoiIndex = PoiSpatialIndex.empty();
+    private volatile PoiSpatialIndex<ServicePoi> servicePoiIndex = PoiSpatialIndex.empty();
+    private volatile PoiSpatialIndex<CombatPoi> combatPoiIndex = PoiSpatialIndex.empty();
+
     @Persisted
     private final Storage<List<CustomPoiProvider>> customPoiProviders = new Storage<>(new ArrayList<>());
 
@@ -102,6 +109,22 @@ public class PoiService extends Service {
         return Stream.concat(combatPois.stream(), cavePois.stream());
     }
 
+    /**
+     * Returns the label POIs that could intersect the given box, when rendered with the given zoom and scale.
+     * See {@link PoiSpatialIndex#getPois(BoundingBox, float, float)}.
+     */
+    public List<LabelPoi> getLabelPois(BoundingBox box, float mapZoom, float scale) {
+        return labelPoiIndex.getPois(box, mapZoom, scale);
+    }
+
+    public List<ServicePoi> getServicePois(BoundingBox box, float mapZoom, float scale) {
+        return servicePoiIndex.getPois(box, mapZoom, scale);
+    }
+
+    public List<CombatPoi> getCombatPois(BoundingBox box, float mapZoom, float scale) {
+        return combatPoiIndex.getPois(box, mapZoom, scale);
+    }
+
     public List<CustomPoi> getProvidedCustomPois() {
         return customPoiProviders.get().stream()
                 .filter(CustomPoiProvider::isEnabled)
@@ -128,6 +151,7 @@ public class PoiService extends Service {
         if (provider.isEmpty()) return false;
 
         customPoiProviders.get().remove(provider.get());
+        customPoiProviders.touched();
         providedCustomPois.remove(provider.get());
 
         return true;
@@ -143,6 +167,8 @@ public class PoiService extends Service {
             labelPois.add(new LabelPoi(label));
             PlaceListProvider.registerFeature(label);
         }
+
+        labelPoiIndex = PoiSpatialIndex.of(labelPois);
     }
 
     private void handleServices(Reader reader) {
@@ -160,6 +186,8 @@ public class PoiService extends Service {
                 WynntilsMod.warn("Unknown service type in services.json: " + service.type);
             }
         }
+
+        servicePoiIndex = PoiSpatialIndex.of(servicePois);
     }
 
     private void handleCombat(Reader reader) {
@@ -178,6 +206,8 @@ public class PoiService extends Service {
                 WynntilsMod.warn("Unknown combat type in combat.json: " + combatList.type);
             }
         }
+
+        rebuildCombatPoiIndex();
     }
 
     private void handleCaves(Reader reader) {
@@ -191,6 +221,12 @@ public class PoiService extends Service {
                     return new CombatPoi(PoiLocation.fromLocation(profile.location), profile.name, CombatKind.CAVES);
                 })
                 .collect(Collectors.toUnmodifiableSet()));
+
+        rebuildCombatPoiIndex();
+    }
+
+    private synchronized void rebuildCombatPoiIndex() {
+        combatPoiIndex = PoiSpatialIndex.of(getCombatPois().toList());
     }
 
     public void loadCustomPoiProviders() {
@@ -0,0 +1,155 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.services.map.type;
+
+import com.wynntils.services.map.pois.Poi;
+import com.wynntils.utils.mc.type.PoiLocation;
+import com.wynntils.utils.type.BoundingBox;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid of POIs, keyed by the world X/Z coordinates of their location.
+ * <p> The index is not modified after it is built, so it can be built on any thread and swapped in as a whole.
+ * POIs without a static location can not be put in a cell, and are returned by every query.
+ * Queries return the POIs in the order they were given, so rendering them looks the same as rendering all POIs.
+ */
+public final class PoiSpatialIndex<T extends Poi> {
+    private static final int CELL_SIZE = 128;
+    private static final int MAX_CACHED_EXTENTS = 4;
+
+    private final List<T> pois;
+    // Indexes into pois of the POIs in each cell, in ascending order
+    private final Map<Long, int[]> cells;
+    private final int[] unindexedPois;
+
+    // The largest half-extent of any POI, for recently used zooms and scales, as it is expensive to calculate
+    private final Map<Long, Float> maxHalfExtents = new LinkedHashMap<>(MAX_CACHED_EXTENTS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Float> eldest) {
+            return size() > MAX_CACHED_EXTENTS;
+        }
+    };
+
+    private PoiSpatialIndex(List<T> pois) {
+        this.pois = pois;
+
+        Map<Long, List<Integer>> cellLists = new HashMap<>();
+        List<Integer> unindexed = new ArrayList<>();
+
+        for (int i = 0; i < pois.size(); i++) {
+            T poi = pois.get(i);
+            PoiLocation location = poi.getLocation();
+
+            if (!poi.hasStaticLocation() || location == null) {
+                unindexed.add(i);
+                continue;
+            }
+
+            long key = cellKey(toCell(location.getX()), toCell(location.getZ()));
+            cellLists.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        cells = new HashMap<>(cellLists.size());
+        cellLists.forEach((key, indexes) ->
+                cells.put(key, indexes.stream().mapToInt(Integer::intValue).toArray()));
+        unindexedPois = unindexed.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static <T extends Poi> PoiSpatialIndex<T> of(Collection<? extends T> pois) {
+        return new PoiSpatialIndex<>(List.copyOf(pois));
+    }
+
+    public static <T extends Poi> PoiSpatialIndex<T> empty() {
+        return new PoiSpatialIndex<>(List.of());
+    }
+
+    public List<T> getPois() {
+        return pois;
+    }
+
+    /**
+     * Returns the POIs that could intersect the given box.
+     * <p> The size of a POI depends on the zoom and scale it is rendered with, so they have to be the same ones
+     * passed to {@link Poi#getWidth(float, float)} and {@link Poi#getHeight(float, float)} when checking the
+     * returned POIs. This only filters out POIs that are too far away to intersect the box; the caller still has
+     * to do the exact check.
+     */
+    public List<T> getPois(BoundingBox box, float mapZoom, float scale) {
+        if (pois.isEmpty()) return List.of();
+
+        float margin = getMaxHalfExtent(mapZoom, scale);
+        int minCellX = toCell(box.x1() - margin);
+        int maxCellX = toCell(box.x2() + margin);
+        int minCellZ = toCell(box.z1() - margin);
+        int maxCellZ = toCell(box.z2() + margin);
+
+        BitSet found = new BitSet(pois.size());
+        for (int index : unindexedPois) {
+            found.set(index);
+        }
+
+        long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellZ - minCellZ + 1);
+        if (cellCount > cells.size()) {
+            // The box covers more cells than are occupied, so check every occupied cell instead
+            for (Map.Entry<Long, int[]> entry : cells.entrySet()) {
+                int cellX = (int) (entry.getKey() >> 32);
+                int cellZ = (int) entry.getKey().longValue();
+                if (cellX < minCellX || cellX > maxCellX || cellZ < minCellZ || cellZ > maxCellZ) continue;
+
+                for (int index : entry.getValue()) {
+                    found.set(index);
+                }
+            }
+        } else {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    int[] cell = cells.get(cellKey(cellX, cellZ));
+                    if (cell == null) continue;
+
+                    for (int index : cell) {
+                        found.set(index);
+                    }
+                }
+            }
+        }
+
+        List<T> result = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            result.add(pois.get(i));
+        }
+        return result;
+    }
+
+    private float getMaxHalfExtent(float mapZoom, float scale) {
+        long key = ((long) Float.floatToIntBits(mapZoom) << 32) | (Float.floatToIntBits(scale) & 0xFFFFFFFFL);
+
+        Float cached = maxHalfExtents.get(key);
+        if (cached != null) return cached;
+
+        int maxExtent = 0;
+        for (T poi : pois) {
+            maxExtent = Math.max(maxExtent, poi.getWidth(mapZoom, scale));
+            maxExtent = Math.max(maxExtent, poi.getHeight(mapZoom, scale));
+        }
+
+        float halfExtent = maxExtent / 2f;
+        maxHalfExtents.put(key, halfExtent);
+        return halfExtent;
+    }
+
+    private static int toCell(float coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -1,48 +1,47 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.utils;
 
-import com.wynntils.utils.type.ArrayReader;
-import com.wynntils.utils.type.UnsignedByte;
-import java.util.ArrayList;
+import com.wynntils.utils.type.UnsignedByteReader;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * A buffer of bytes that can be encoded and decoded to various formats.
+ * <p> The bytes are stored as a primitive array, and are treated as unsigned values.
  */
 public final class EncodedByteBuffer {
     private static final int PRIVATE_USE_AREA_A_START = 0xF0000;
     private static final int PRIVATE_USE_AREA_B_START = 0x100000;
 
-    private UnsignedByte[] bytes;
+    private final byte[] bytes;
 
-    private EncodedByteBuffer(UnsignedByte[] bytes) {
+    private EncodedByteBuffer(byte[] bytes) {
         this.bytes = bytes;
     }
 
-    public static EncodedByteBuffer fromBytes(UnsignedByte[] bytes) {
+    public static EncodedByteBuffer fromBytes(byte[] bytes) {
         return new EncodedByteBuffer(bytes);
     }
 
     public static EncodedByteBuffer fromUtf16String(String string) {
-        List<UnsignedByte> bytes = new ArrayList<>();
+        // Every code point decodes to at most two bytes
+        byte[] bytes = new byte[string.codePointCount(0, string.length()) * 2];
+        int size = 0;
 
-        int[] codePoints = string.codePoints().toArray();
+        for (int i = 0; i < string.length(); ) {
+            int codePoint = string.codePointAt(i);
+            i += Character.charCount(codePoint);
 
-        for (int codePoint : codePoints) {
             // Special cases
             if (codePoint >= PRIVATE_USE_AREA_B_START) {
                 // Single byte
                 int singleByteOffset = PRIVATE_USE_AREA_B_START + 0xEE;
                 if ((codePoint & 0xFF) == 0xEE) {
                     int actualValue = (codePoint - singleByteOffset) >> 8;
-                    bytes.add(UnsignedByte.of((byte) actualValue));
+                    bytes[size++] = (byte) actualValue;
 
                     assert actualValue <= 255 : "Invalid code point: " + codePoint;
                     continue;
@@ -51,11 +50,8 @@ public final class EncodedByteBuffer {
                 // Two bytes
                 int values = codePoint - PRIVATE_USE_AREA_B_START;
 
-                UnsignedByte firstByte = UnsignedByte.of((byte) 255);
-                UnsignedByte secondByte = UnsignedByte.of((byte) (254 + (values & 0xFF)));
-
-                bytes.add(firstByte);
-                bytes.add(secondByte);
+                bytes[size++] = (byte) 255;
+                bytes[size++] = (byte) (254 + (values & 0xFF));
 
                 // Only 0x100000-0x100001 are used
                 assert codePoint < 0x100002 : "Invalid code point: " + codePoint;
@@ -65,23 +61,18 @@ public final class EncodedByteBuffer {
             // Normal case
             int values = codePoint - PRIVATE_USE_AREA_A_START;
 
-            UnsignedByte firstByte = UnsignedByte.of((byte) (values >> 8));
-            UnsignedByte secondByte = UnsignedByte.of((byte) (values & 0xFF));
-
-            bytes.add(firstByte);
-            bytes.add(secondByte);
+            bytes[size++] = (byte) (values >> 8);
+            bytes[size++] = (byte) (values & 0xFF);
 
             // Only 0xF0000-0xFFFFD are used
             assert codePoint < 0xFFFFE : "Invalid code point: " + codePoint;
         }
 
-        return fromBytes(bytes.toArray(UnsignedByte[]::new));
+        return fromBytes(size == bytes.length ? bytes : Arrays.copyOf(bytes, size));
     }
 
     public static EncodedByteBuffer fromBase64String(String string) {
-        byte[] decodedBytes = Base64.getDecoder().decode(string);
-        UnsignedByte[] bytes = UnsignedByte.of(decodedBytes);
-        return fromBytes(bytes);
+        return fromBytes(Base64.getDecoder().decode(string));
     }
 
     public String toUtf16String() {
@@ -89,13 +80,16 @@ public final class EncodedByteBuffer {
 
         // 2 byte -> UTF-16
         for (int i = 0; i < bytes.length - 1; i += 2) {
+            int firstByte = bytes[i] & 0xFF;
+            int secondByte = bytes[i + 1] & 0xFF;
+
             int codePoint;
 
             // 0xFFFE-0xFFFF are using private use area B
-            if (bytes[i].value() == 255 && bytes[i + 1].value() >= 254) {
-                codePoint = PRIVATE_USE_AREA_B_START + (bytes[i + 1].value() - 254);
+            if (firstByte == 255 && secondByte >= 254) {
+                codePoint = PRIVATE_USE_AREA_B_START + (secondByte - 254);
             } else {
-                codePoint = PRIVATE_USE_AREA_A_START + (bytes[i].value() << 8 | bytes[i + 1].value());
+                codePoint = PRIVATE_USE_AREA_A_START + (firstByte << 8 | secondByte);
             }
 
             builder.appendCodePoint(codePoint);
@@ -105,31 +99,51 @@ public final class EncodedByteBuffer {
         if (bytes.length % 2 == 1) {
             // Odd number of bytes, so we add a padding character
             // Pad with 0xEE to stay in the private use area
-            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + (bytes[bytes.length - 1].value() << 8) + 238);
+            builder.appendCodePoint(PRIVATE_USE_AREA_B_START + ((bytes[bytes.length - 1] & 0xFF) << 8) + 238);
         }
 
         return builder.toString();
     }
 
     public String toBase64String() {
-        byte[] bytes = UnsignedByte.toPrimitive(this.bytes);
         return Base64.getEncoder().encodeToString(bytes);
     }
 
-    public UnsignedByte[] getBytes() {
+    /**
+     * @return the underlying bytes of this buffer, which must not be modified
+     */
+    public byte[] getBytes() {
         return bytes;
     }
 
-    public ArrayReader<UnsignedByte> getReader() {
-        return new ArrayReader<>(bytes);
+    public UnsignedByteReader getReader() {
+        return new UnsignedByteReader(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EncodedByteBuffer that = (EncodedByteBuffer) o;
+        return Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
     }
 
     @Override
     public String toString() {
-        return "EncodedByteBuffer{" + "bytes="
-                + Arrays.stream(bytes)
-                        .map(UnsignedByte::value)
-                        .map(Objects::toString)
-                        .collect(Collectors.joining(", ")) + '}';
+        StringBuilder builder = new StringBuilder("EncodedByteBuffer{bytes=");
+
+        for (int i = 0; i < bytes.length; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(bytes[i] & 0xFF);
+        }
+
+        return builder.append('}').toString();
     }
 }
@@ -101,6 +101,14 @@ public final class FileUtils {
         }
     }
 
+    public static void copyDirectory(File sourceDir, File destDir) throws IOException {
+        if (sourceDir == null || destDir == null) {
+            throw new IllegalArgumentException("Argument directories should not be null.");
+        }
+
+        org.apache.commons.io.FileUtils.copyDirectory(sourceDir, destDir);
+    }
+
     private static void copyFileWindows(File sourceFile, File destFile) {
         try (FileInputStream inputStream = new FileInputStream(sourceFile);
                 FileChannel source = inputStream.getChannel();
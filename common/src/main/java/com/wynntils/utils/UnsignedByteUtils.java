@@ -1,33 +1,31 @@
 /*
- * Copyright © Wynntils 2023-2024.
+ * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
 package com.wynntils.utils;
 
-import com.wynntils.utils.type.ArrayReader;
-import com.wynntils.utils.type.UnsignedByte;
+import com.wynntils.utils.type.UnsignedByteReader;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 
 public final class UnsignedByteUtils {
-    public static UnsignedByte[] fromBitArray(boolean[] values) {
+    public static byte[] fromBitArray(boolean[] values) {
         assert values.length % 8 == 0;
 
-        UnsignedByte[] bytes = new UnsignedByte[values.length / 8];
+        byte[] bytes = new byte[values.length / 8];
         for (int i = 0; i < values.length; i += 8) {
             byte value = 0;
             for (int j = 0; j < 8; j++) {
                 value |= (values[i + j] ? 1 : 0) << (7 - j);
             }
-            bytes[i / 8] = UnsignedByte.of(value);
+            bytes[i / 8] = value;
         }
         return bytes;
     }
 
-    public static boolean[] toBitArray(UnsignedByte[] unsignedBytes) {
-        boolean[] values = new boolean[unsignedBytes.length * 8];
-        for (int i = 0; i < unsignedBytes.length; i++) {
-            byte value = unsignedBytes[i].toByte();
+    public static boolean[] toBitArray(byte[] bytes) {
+        boolean[] values = new boolean[bytes.length * 8];
+        for (int i = 0; i < bytes.length; i++) {
+            byte value = bytes[i];
             for (int j = 0; j < 8; j++) {
                 values[i * 8 + j] = ((value >> (7 - j)) & 1) == 1;
             }
@@ -35,7 +33,7 @@ public final class UnsignedByteUtils {
         return values;
     }
 
-    public static UnsignedByte[] encodeString(String string) {
+    public static byte[] encodeString(String string) {
         // Check if the string only contains ASCII characters
         for (int i = 0; i < string.length(); i++) {
             if (string.charAt(i) > 127) {
@@ -45,31 +43,23 @@ public final class UnsignedByteUtils {
 
         // Strings are encoded by encoding the char's ASCII value
         // and is terminated by a 0 byte
-        UnsignedByte[] bytes = new UnsignedByte[string.length() + 1];
+        byte[] bytes = new byte[string.length() + 1];
         byte[] asciiBytes = string.getBytes(StandardCharsets.US_ASCII);
 
-        for (int i = 0; i < asciiBytes.length; i++) {
-            bytes[i] = UnsignedByte.of(asciiBytes[i]);
-        }
+        System.arraycopy(asciiBytes, 0, bytes, 0, asciiBytes.length);
 
-        // NULL terminate the string
-        bytes[bytes.length - 1] = UnsignedByte.of((byte) 0);
+        // NULL terminate the string (the array is initialized with 0 bytes, but we do this for clarity)
+        bytes[bytes.length - 1] = 0;
 
         return bytes;
     }
 
-    public static String decodeString(List<UnsignedByte> bytes) {
+    public static String decodeString(byte[] bytes) {
         // Strings are encoded by encoding the char's ASCII value
-        byte[] asciiBytes = new byte[bytes.size()];
-
-        for (int i = 0; i < bytes.size(); i++) {
-            asciiBytes[i] = bytes.get(i).toByte();
-        }
-
-        return new String(asciiBytes, StandardCharsets.US_ASCII);
+        return new String(bytes, StandardCharsets.US_ASCII);
     }
 
-    public static UnsignedByte[] encodeVariableSizedInteger(long value) {
+    public static byte[] encodeVariableSizedInteger(long value) {
         // Use zig-zag encoding to encode negative numbers
         // (this gets rid of the sign bit, so we only work with positive numbers)
         value = (value << 1) ^ (value >> 63);
@@ -87,7 +77,7 @@ public final class UnsignedByteUtils {
         }
 
         // Encode the value
-        UnsignedByte[] bytes = new UnsignedByte[numBytes];
+        byte[] bytes = new byte[numBytes];
         for (int i = 0; i < numBytes; i++) {
             // Grab the next 7 bits
             byte nextByte = (byte) (value & 0x7F);
@@ -99,24 +89,24 @@ public final class UnsignedByteUtils {
             }
 
             // Store the byte
-            bytes[i] = UnsignedByte.of(nextByte);
+            bytes[i] = nextByte;
         }
 
         return bytes;
     }
 
-    public static long decodeVariableSizedInteger(ArrayReader<UnsignedByte> byteReader) {
+    public static long decodeVariableSizedInteger(UnsignedByteReader byteReader) {
         long value = 0;
 
         // If the highest bit is set, read the next byte
         int numBytes = 0;
-        while ((byteReader.peek().toByte() & 0x80) != 0) {
-            value |= (long) (byteReader.read().toByte() & 0x7F) << (7 * numBytes);
+        while ((byteReader.peek() & 0x80) != 0) {
+            value |= (long) (byteReader.read() & 0x7F) << (7 * numBytes);
             numBytes++;
         }
 
         // Read the last byte
-        value |= (long) (byteReader.read().toByte() & 0x7F) << (7 * numBytes);
+        value |= (long) (byteReader.read() & 0x7F) << (7 * numBytes);
 
         // Use zig-zag encoding to decode negative numbers
         return (value >>> 1) ^ -(value & 1);
@@ -42,7 +42,7 @@ public final class StyledTextUtils {
         style = style.withHoverEvent(new HoverEvent(
                 HoverEvent.Action.SHOW_TEXT, Component.translatable("utils.wynntils.component.clickToSetCompass")));
 
-        return new StyledTextPart(locationString, style, null, Style.EMPTY);
+        return new StyledTextPart(locationString, style, Style.EMPTY);
     }
 
     public static Optional<Location> extractLocation(StyledText text) {
@@ -126,7 +126,7 @@ public final class StyledTextUtils {
                 // If the part starts with a space, we remove it
                 if (partString.startsWith(" ")) {
                     partString = partString.substring(1);
-                    part = new StyledTextPart(partString, part.getPartStyle().getStyle(), null, null);
+                    part = new StyledTextPart(partString, part.getPartStyle().getStyle(), null);
                     expectEmptySpaceAfterWrap = false;
                 } else {
                     // Log the edge-case
@@ -161,13 +161,11 @@ public final class StyledTextUtils {
                         newParts.add(new StyledTextPart(
                                 lastPartWithoutNewline,
                                 lastWrappedPart.getPartStyle().getStyle(),
-                                null,
                                 null));
                     } else {
                         newParts.add(new StyledTextPart(
                                 lastPartWithoutNewline,
                                 lastWrappedPart.getPartStyle().getStyle(),
-                                null,
                                 null));
                     }
 
@@ -176,7 +174,7 @@ public final class StyledTextUtils {
                             .getString(null, PartStyle.StyleType.NONE)
                             .equals(" ")) {
                         newParts.add(new StyledTextPart(
-                                " ", lastWrappedPart.getPartStyle().getStyle(), null, null));
+                                " ", lastWrappedPart.getPartStyle().getStyle(), null));
                     }
 
                     expectEmptySpaceAfterWrap = true;
@@ -196,7 +194,7 @@ public final class StyledTextUtils {
                 StyledTextPart lastPart = newParts.removeLast();
                 partString = lastPart.getString(null, PartStyle.StyleType.NONE) + partString;
 
-                newParts.add(new StyledTextPart(partString, part.getPartStyle().getStyle(), null, null));
+                newParts.add(new StyledTextPart(partString, part.getPartStyle().getStyle(), null));
 
                 continue;
             }
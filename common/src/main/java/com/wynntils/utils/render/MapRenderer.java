@@ -30,6 +30,7 @@ import java.util.Set;
 import net.minecraft.client.renderer.CoreShaders;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.ChunkPos;
 import org.joml.Matrix4f;
 import org.joml.Vector2d;
@@ -91,7 +92,11 @@ public final class MapRenderer {
             float width,
             float height,
             float scale) {
-        VertexConsumer buffer = bufferSource.getBuffer(CustomRenderType.getMapPositionTextureQuad(map.resource()));
+        ResourceLocation resource = map.resource(scale);
+        // The texture is still loading
+        if (resource == null) return;
+
+        VertexConsumer buffer = bufferSource.getBuffer(CustomRenderType.getMapPositionTextureQuad(resource));
 
         renderMap(map, poseStack, buffer, centerX, centerZ, textureX, textureZ, width, height, scale);
     }
@@ -106,10 +111,14 @@ public final class MapRenderer {
             float width,
             float height,
             float scale) {
+        ResourceLocation resource = map.resource(scale);
+        // The texture is still loading
+        if (resource == null) return;
+
         RenderSystem.disableBlend();
 
         RenderSystem.setShader(CoreShaders.POSITION_TEX);
-        RenderSystem.setShaderTexture(0, map.resource());
+        RenderSystem.setShaderTexture(0, resource);
 
         RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
         RenderSystem.texParameter(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
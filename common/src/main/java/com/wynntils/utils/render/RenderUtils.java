@@ -43,6 +43,9 @@ public final class RenderUtils {
     // number of possible segments for arc drawing
     private static final float MAX_CIRCLE_STEPS = 16f;
 
+    // The corners of a line quad, in triangle strip order, that make up its two triangles
+    private static final int[] LINE_TRIANGLE_CORNERS = {0, 1, 2, 2, 1, 3};
+
     // See https://github.com/MinecraftForge/MinecraftForge/issues/8083 as to why this uses TRIANGLE_STRIPS.
     // TLDR: New OpenGL only supports TRIANGLES and Minecraft patched QUADS to be usable ATM, but LINES patch is broken,
     // and you can't use it.
@@ -57,18 +60,56 @@ public final class RenderUtils {
         BufferBuilder bufferBuilder =
                 Tesselator.getInstance().begin(VertexFormat.Mode.TRIANGLE_STRIP, DefaultVertexFormat.POSITION_COLOR);
 
-        float halfWidth = width / 2;
+        float[] corners = getLineCorners(x1, y1, x2, y2, width / 2);
+        for (int i = 0; i < 8; i += 2) {
+            bufferBuilder.addVertex(matrix, corners[i], corners[i + 1], z).setColor(color.r, color.g, color.b, color.a);
+        }
+
+        BufferUploader.drawWithShader(bufferBuilder.build());
+        RenderSystem.disableBlend();
+    }
+
+    /**
+     * Draws many lines of the same color and width in a single draw call.
+     *
+     * @param lines the lines as x1, y1, x2, y2 for each line, one after the other
+     */
+    public static void drawLines(PoseStack poseStack, CustomColor color, float[] lines, float z, float width) {
+        if (lines.length < 4) return;
+
+        Matrix4f matrix = poseStack.last().pose();
 
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShader(CoreShaders.POSITION_COLOR);
+        BufferBuilder bufferBuilder =
+                Tesselator.getInstance().begin(VertexFormat.Mode.TRIANGLES, DefaultVertexFormat.POSITION_COLOR);
+
+        for (int line = 0; line + 3 < lines.length; line += 4) {
+            float[] corners = getLineCorners(lines[line], lines[line + 1], lines[line + 2], lines[line + 3], width / 2);
+
+            // Split the strip of each line into two separate triangles, so the lines are not connected
+            for (int corner : LINE_TRIANGLE_CORNERS) {
+                bufferBuilder
+                        .addVertex(matrix, corners[corner * 2], corners[corner * 2 + 1], z)
+                        .setColor(color.r, color.g, color.b, color.a);
+            }
+        }
+
+        BufferUploader.drawWithShader(bufferBuilder.build());
+        RenderSystem.disableBlend();
+    }
+
+    // Returns the corners of a line as x, y pairs, in triangle strip order
+    private static float[] getLineCorners(float x1, float y1, float x2, float y2, float halfWidth) {
         if (x1 == x2) {
             if (y2 < y1) {
                 float tmp = y1;
                 y1 = y2;
                 y2 = tmp;
             }
-            bufferBuilder.addVertex(matrix, x1 - halfWidth, y1, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x2 - halfWidth, y2, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x1 + halfWidth, y1, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x2 + halfWidth, y2, z).setColor(color.r, color.g, color.b, color.a);
+
+            return new float[] {x1 - halfWidth, y1, x2 - halfWidth, y2, x1 + halfWidth, y1, x2 + halfWidth, y2};
         } else if (y1 == y2) {
             if (x2 < x1) {
                 float tmp = x1;
@@ -76,10 +117,7 @@ public final class RenderUtils {
                 x2 = tmp;
             }
 
-            bufferBuilder.addVertex(matrix, x1, y1 - halfWidth, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x1, y1 + halfWidth, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x2, y2 - halfWidth, z).setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder.addVertex(matrix, x2, y2 + halfWidth, z).setColor(color.r, color.g, color.b, color.a);
+            return new float[] {x1, y1 - halfWidth, x1, y1 + halfWidth, x2, y2 - halfWidth, x2, y2 + halfWidth};
         } else if ((x1 < x2 && y1 < y2) || (x2 < x1 && y2 < y1)) { // Top Left to Bottom Right line
             if (x2 < x1) {
                 float tmp = x1;
@@ -91,18 +129,16 @@ public final class RenderUtils {
                 y2 = tmp;
             }
 
-            bufferBuilder
-                    .addVertex(matrix, x1 + halfWidth, y1 - halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x1 - halfWidth, y1 + halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x2 + halfWidth, y2 - halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x2 - halfWidth, y2 + halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
+            return new float[] {
+                x1 + halfWidth,
+                y1 - halfWidth,
+                x1 - halfWidth,
+                y1 + halfWidth,
+                x2 + halfWidth,
+                y2 - halfWidth,
+                x2 - halfWidth,
+                y2 + halfWidth
+            };
         } else { // Top Right to Bottom Left Line
             if (x1 < x2) {
                 float tmp = x1;
@@ -114,22 +150,17 @@ public final class RenderUtils {
                 y2 = tmp;
             }
 
-            bufferBuilder
-                    .addVertex(matrix, x1 + halfWidth, y1 + halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x1 - halfWidth, y1 - halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x2 + halfWidth, y2 + halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
-            bufferBuilder
-                    .addVertex(matrix, x2 - halfWidth, y2 - halfWidth, z)
-                    .setColor(color.r, color.g, color.b, color.a);
+            return new float[] {
+                x1 + halfWidth,
+                y1 + halfWidth,
+                x1 - halfWidth,
+                y1 - halfWidth,
+                x2 + halfWidth,
+                y2 + halfWidth,
+                x2 - halfWidth,
+                y2 - halfWidth
+            };
         }
-
-        BufferUploader.drawWithShader(bufferBuilder.build());
-        RenderSystem.disableBlend();
     }
 
     public static void drawRectBorders(
@@ -21,12 +21,12 @@ import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL13;
 
 public class CustomRenderType extends RenderType {
-    // Copied from RenderType.LINE_STRIP and changed the line width from the default
-    // to 3
+    // Copied from RenderType.LINES and changed the line width from the default
+    // to 3, uses separate line segments so every chunk of a lootrun can be its own vertex buffer
     public static final RenderType LOOTRUN_LINE = RenderType.create(
             "wynntils_lootrun_line",
             DefaultVertexFormat.POSITION_COLOR_NORMAL,
-            Mode.LINE_STRIP,
+            Mode.LINES,
             256,
             false,
             false,
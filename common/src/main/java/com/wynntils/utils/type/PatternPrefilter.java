@@ -0,0 +1,373 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Finds which of a set of patterns can possibly be found in a text, without running the patterns themselves.
+ * <p> For every pattern, the longest literal string that any match must contain is extracted. All literals are put
+ * into an Aho-Corasick automaton, so a single pass over the text finds every literal it contains. Only the values
+ * whose literal was found (or whose pattern has no usable literal) are candidates, the pattern still has to be run
+ * on them to be sure it matches.
+ */
+public final class PatternPrefilter<T> {
+    private static final String QUANTIFIERS = "?*+{";
+    private static final int UNSUPPORTED_FLAGS =
+            Pattern.CASE_INSENSITIVE | Pattern.COMMENTS | Pattern.LITERAL | Pattern.CANON_EQ;
+
+    private final List<T> values = new ArrayList<>();
+    // Index into the literals of the automaton, or -1 if the value is always a candidate
+    private final List<Integer> literalIds = new ArrayList<>();
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failureLinks = new ArrayList<>();
+    private final List<List<Integer>> outputs = new ArrayList<>();
+
+    /**
+     * @param patterns the values to filter, with their patterns, in the order they should be returned
+     */
+    public PatternPrefilter(LinkedHashMap<T, Pattern> patterns) {
+        Map<String, Integer> literalIndexes = new HashMap<>();
+        addNode();
+
+        for (Map.Entry<T, Pattern> entry : patterns.entrySet()) {
+            values.add(entry.getKey());
+
+            String literal = getRequiredLiteral(entry.getValue());
+            if (literal.isEmpty()) {
+                literalIds.add(-1);
+                continue;
+            }
+
+            Integer literalId = literalIndexes.get(literal);
+            if (literalId == null) {
+                literalId = literalIndexes.size();
+                literalIndexes.put(literal, literalId);
+                addToTrie(literal, literalId);
+            }
+            literalIds.add(literalId);
+        }
+
+        buildFailureLinks();
+    }
+
+    /**
+     * Calls the consumer for every value whose pattern could be found in the text, in the order they were given.
+     */
+    public void forEachCandidate(String text, Consumer<T> consumer) {
+        BitSet foundLiterals = findLiterals(text);
+
+        for (int i = 0; i < values.size(); i++) {
+            int literalId = literalIds.get(i);
+            if (literalId == -1 || foundLiterals.get(literalId)) {
+                consumer.accept(values.get(i));
+            }
+        }
+    }
+
+    public List<T> getCandidates(String text) {
+        List<T> candidates = new ArrayList<>();
+        forEachCandidate(text, candidates::add);
+        return candidates;
+    }
+
+    /**
+     * Returns the longest run of literal characters that has to be part of every match of the pattern,
+     * or an empty string if no such run could be found.
+     * <p> This is deliberately conservative. Groups, character classes, escapes other than escaped punctuation,
+     * and anything that can be repeated zero times end the current run. Patterns with flags or with alternation
+     * at the top level have no required literal.
+     */
+    public static String getRequiredLiteral(Pattern pattern) {
+        if ((pattern.flags() & UNSUPPORTED_FLAGS) != 0) return "";
+
+        String regex = pattern.pattern();
+        String longestRun = "";
+        StringBuilder currentRun = new StringBuilder();
+        int i = 0;
+
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+            // Whether the atom ending at i was appended to the current run
+            boolean literalAtom = false;
+
+            switch (current) {
+                case '\\' -> {
+                    if (i + 1 >= regex.length()) return "";
+
+                    char escaped = regex.charAt(i + 1);
+                    // Escaped letters and digits are character classes, anchors, back references, character codes
+                    // or \Q...\E quoting. Their operands (like the hex digits of \x41) are not literals either.
+                    if (Character.isLetterOrDigit(escaped)) {
+                        if (escaped == 'Q') return "";
+
+                        i = skipEscape(regex, i);
+                        if (i == -1) return "";
+                    } else {
+                        currentRun.append(escaped);
+                        literalAtom = true;
+                        i += 2;
+                    }
+                }
+                case '(' -> {
+                    // Inline flags change the meaning of the literals that follow them
+                    if (i + 2 < regex.length()
+                            && regex.charAt(i + 1) == '?'
+                            && "idmsuxU-".indexOf(regex.charAt(i + 2)) != -1) {
+                        return "";
+                    }
+
+                    i = skipGroup(regex, i);
+                    if (i == -1) return "";
+                }
+                case '[' -> {
+                    i = skipCharacterClass(regex, i);
+                    if (i == -1) return "";
+                }
+                case '|' -> {
+                    return "";
+                }
+                case '.', '^', '$' -> i++;
+                default -> {
+                    // Quantifiers are handled after the atom they apply to
+                    if (QUANTIFIERS.indexOf(current) != -1) return "";
+
+                    currentRun.append(current);
+                    literalAtom = true;
+                    i++;
+                }
+            }
+
+            if (literalAtom && i < regex.length() && QUANTIFIERS.indexOf(regex.charAt(i)) != -1) {
+                char quantifier = regex.charAt(i);
+                // The atom is required once if the quantifier is +, but is not followed by the rest of the run
+                if (quantifier != '+') {
+                    currentRun.setLength(currentRun.length() - 1);
+                }
+                literalAtom = false;
+            }
+
+            if (!literalAtom) {
+                if (currentRun.length() > longestRun.length()) {
+                    longestRun = currentRun.toString();
+                }
+                currentRun.setLength(0);
+
+                i = skipQuantifier(regex, i);
+                if (i == -1) return "";
+            }
+        }
+
+        return currentRun.length() > longestRun.length() ? currentRun.toString() : longestRun;
+    }
+
+    private BitSet findLiterals(String text) {
+        BitSet foundLiterals = new BitSet();
+        int state = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+
+            Integer next = transitions.get(state).get(current);
+            while (next == null && state != 0) {
+                state = failureLinks.get(state);
+                next = transitions.get(state).get(current);
+            }
+            state = next == null ? 0 : next;
+
+            for (int literalId : outputs.get(state)) {
+                foundLiterals.set(literalId);
+            }
+        }
+
+        return foundLiterals;
+    }
+
+    private int addNode() {
+        transitions.add(new HashMap<>());
+        failureLinks.add(0);
+        outputs.add(new ArrayList<>());
+        return transitions.size() - 1;
+    }
+
+    private void addToTrie(String literal, int literalId) {
+        int state = 0;
+
+        for (int i = 0; i < literal.length(); i++) {
+            char current = literal.charAt(i);
+            Integer next = transitions.get(state).get(current);
+            if (next == null) {
+                next = addNode();
+                transitions.get(state).put(current, next);
+            }
+            state = next;
+        }
+
+        outputs.get(state).add(literalId);
+    }
+
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>(transitions.getFirst().values());
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                int child = transition.getValue();
+                queue.add(child);
+
+                // The failure link is the longest proper suffix of the child that is also in the trie
+                int failure = failureLinks.get(state);
+                while (failure != 0 && !transitions.get(failure).containsKey(transition.getKey())) {
+                    failure = failureLinks.get(failure);
+                }
+                Integer failureTarget = transitions.get(failure).get(transition.getKey());
+                failureLinks.set(child, failureTarget == null ? 0 : failureTarget);
+
+                // Literals ending at the failure target also end at the child
+                outputs.get(child).addAll(outputs.get(failureLinks.get(child)));
+            }
+        }
+    }
+
+    // Returns the index after the escape sequence starting at the given backslash, including any operands,
+    // or -1 if the escape sequence is not complete
+    private static int skipEscape(String regex, int start) {
+        if (start + 1 >= regex.length()) return -1;
+
+        char escaped = regex.charAt(start + 1);
+        int i = start + 2;
+        boolean braced = i < regex.length() && regex.charAt(i) == '{';
+
+        switch (escaped) {
+            case 'x' -> i = braced ? skipPast(regex, i, '}') : i + 2;
+            case 'u' -> i += 4;
+            case 'c' -> i += 1;
+            case 'k' -> i = skipPast(regex, i, '>');
+            case 'N', 'b', 'B' -> {
+                if (braced) {
+                    i = skipPast(regex, i, '}');
+                }
+            }
+            case 'p', 'P' -> i = braced ? skipPast(regex, i, '}') : i + 1;
+            case 'Q' -> {
+                int end = regex.indexOf("\\E", i);
+                i = end == -1 ? regex.length() : end + 2;
+            }
+            case '0' -> {
+                // Octal escapes have up to three digits, taking too many only ends the run earlier
+                int end = Math.min(i + 3, regex.length());
+                while (i < end && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                    i++;
+                }
+            }
+            default -> {
+                // Back references take as many digits as there are groups, so take all of them to be safe
+                if (Character.isDigit(escaped)) {
+                    while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                        i++;
+                    }
+                }
+            }
+        }
+
+        return i == -1 || i > regex.length() ? -1 : i;
+    }
+
+    // Returns the index after the next occurrence of the character, or -1 if there is none
+    private static int skipPast(String regex, int start, char end) {
+        int i = regex.indexOf(end, start);
+        return i == -1 ? -1 : i + 1;
+    }
+
+    // Returns the index after the closing parenthesis, or -1 if the group is not closed
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        int i = start;
+
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+            if (current == '\\') {
+                i = skipEscape(regex, i);
+                if (i == -1) return -1;
+                continue;
+            }
+            if (current == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i == -1) return -1;
+                continue;
+            }
+
+            if (current == '(') {
+                depth++;
+            } else if (current == ')') {
+                depth--;
+                if (depth == 0) return i + 1;
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    // Returns the index after the closing bracket, or -1 if the class is not closed
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+
+        while (i < regex.length()) {
+            char current = regex.charAt(i);
+            if (current == '\\') {
+                i = skipEscape(regex, i);
+                if (i == -1) return -1;
+                continue;
+            }
+
+            if (current == '[') {
+                depth++;
+            } else if (current == ']') {
+                depth--;
+                if (depth == 0) return i + 1;
+            }
+            i++;
+        }
+
+        return -1;
+    }
+
+    // Returns the index after the quantifier at the given index (including lazy or possessive suffixes),
+    // the index itself if there is no quantifier, or -1 if a counted quantifier is not closed
+    private static int skipQuantifier(String regex, int start) {
+        if (start >= regex.length()) return start;
+
+        int i = start;
+        char current = regex.charAt(i);
+        if (current == '{') {
+            i = regex.indexOf('}', i);
+            if (i == -1) return -1;
+            i++;
+        } else if (current == '?' || current == '*' || current == '+') {
+            i++;
+        } else {
+            return start;
+        }
+
+        if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+            i++;
+        }
+
+        return i;
+    }
+}
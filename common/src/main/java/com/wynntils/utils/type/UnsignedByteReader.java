@@ -0,0 +1,64 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+package com.wynntils.utils.type;
+
+import java.util.Arrays;
+
+/**
+ * Reads unsigned bytes from a byte array, without boxing them.
+ * <p> The array is not copied, and is never modified by the reader.
+ */
+public final class UnsignedByteReader {
+    private final byte[] bytes;
+    private int index;
+
+    public UnsignedByteReader(byte[] bytes) {
+        this.bytes = bytes;
+        this.index = 0;
+    }
+
+    /**
+     * @return the next byte as an unsigned value, in the range 0 to 255, without advancing the reader
+     */
+    public int peek() {
+        // Throw an exception if we try to read past the end of the array
+        if (index >= bytes.length) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        return bytes[index] & 0xFF;
+    }
+
+    /**
+     * @return the next byte as an unsigned value, in the range 0 to 255
+     */
+    public int read() {
+        // Throw an exception if we try to read past the end of the array
+        if (index >= bytes.length) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        return bytes[index++] & 0xFF;
+    }
+
+    public byte[] read(int length) {
+        // Throw an exception if we try to read past the end of the array
+        if (index + length > bytes.length) {
+            throw new ArrayIndexOutOfBoundsException("Tried to read past the end of the array");
+        }
+
+        byte[] result = Arrays.copyOfRange(bytes, index, index + length);
+        index += length;
+        return result;
+    }
+
+    public byte[] readRemaining() {
+        return read(bytes.length - index);
+    }
+
+    public boolean hasRemaining() {
+        return index < bytes.length;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.lootrunpaths.IncrementalLootrunCompiler;
+import com.wynntils.services.lootrunpaths.LootrunCompiler;
+import com.wynntils.services.lootrunpaths.UncompiledLootrunPath;
+import com.wynntils.services.lootrunpaths.type.ColoredPath;
+import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import net.minecraft.world.phys.Vec3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestIncrementalLootrunCompiler {
+    private static final int COLOR = 0xff00ff00;
+
+    @Test
+    public void compile_matchesFullCompilationAfterEveryPoint() {
+        Random random = new Random(1234);
+        List<Vec3> points = new ArrayList<>();
+        UncompiledLootrunPath recording = createRecording(points);
+        IncrementalLootrunCompiler compiler = new IncrementalLootrunCompiler();
+
+        Vec3 position = new Vec3(-800.5, 70, -1500.5);
+        for (int i = 0; i < 400; i++) {
+            position = nextPosition(random, position);
+            points.add(position);
+
+            Assertions.assertEquals(
+                    LootrunCompiler.generatePointsByChunk(recording.path(), COLOR),
+                    compiler.compile(recording, COLOR).points(),
+                    "Compilations differ after point " + i);
+        }
+    }
+
+    @Test
+    public void compile_matchesFullCompilationAfterUndo() {
+        Random random = new Random(5678);
+        List<Vec3> points = new ArrayList<>();
+        UncompiledLootrunPath recording = createRecording(points);
+        IncrementalLootrunCompiler compiler = new IncrementalLootrunCompiler();
+
+        Vec3 position = new Vec3(0, 60, 0);
+        for (int i = 0; i < 100; i++) {
+            position = nextPosition(random, position);
+            points.add(position);
+            compiler.compile(recording, COLOR);
+        }
+
+        // Removing the last points and walking somewhere else keeps the number of points the same
+        points.subList(90, 100).clear();
+        position = points.getLast();
+        for (int i = 0; i < 10; i++) {
+            position = nextPosition(random, position);
+            points.add(position);
+        }
+
+        Assertions.assertEquals(
+                LootrunCompiler.generatePointsByChunk(recording.path(), COLOR),
+                compiler.compile(recording, COLOR).points());
+    }
+
+    @Test
+    public void getChangedChunks_containsEveryChangedChunk() {
+        Random random = new Random(9012);
+        List<Vec3> points = new ArrayList<>();
+        UncompiledLootrunPath recording = createRecording(points);
+        IncrementalLootrunCompiler compiler = new IncrementalLootrunCompiler();
+        Long2ObjectMap<List<ColoredPath>> previous = new Long2ObjectOpenHashMap<>();
+
+        Vec3 position = new Vec3(-800.5, 70, -1500.5);
+        for (int i = 0; i < 400; i++) {
+            position = nextPosition(random, position);
+            points.add(position);
+
+            Long2ObjectMap<List<ColoredPath>> current = copy(compiler.compile(recording, COLOR).points());
+            LongSet chunks = new LongOpenHashSet(previous.keySet());
+            chunks.addAll(current.keySet());
+            for (long chunk : chunks) {
+                if (!Objects.equals(previous.get(chunk), current.get(chunk))) {
+                    Assertions.assertTrue(
+                            compiler.getChangedChunks().contains(chunk),
+                            "Chunk " + chunk + " changed after point " + i);
+                }
+            }
+            previous = current;
+        }
+    }
+
+    private static Long2ObjectMap<List<ColoredPath>> copy(Long2ObjectMap<List<ColoredPath>> points) {
+        Long2ObjectMap<List<ColoredPath>> copy = new Long2ObjectOpenHashMap<>();
+        for (Long2ObjectMap.Entry<List<ColoredPath>> entry : points.long2ObjectEntrySet()) {
+            copy.put(
+                    entry.getLongKey(),
+                    entry.getValue().stream()
+                            .map(path -> new ColoredPath(new ArrayList<>(path.points())))
+                            .toList());
+        }
+        return copy;
+    }
+
+    private static UncompiledLootrunPath createRecording(List<Vec3> points) {
+        return new UncompiledLootrunPath(new LootrunPath(points), new HashSet<>(), new ArrayList<>(), null);
+    }
+
+    // Points are recorded once the player moved 2 blocks, and sometimes they teleport
+    private static Vec3 nextPosition(Random random, Vec3 position) {
+        if (random.nextInt(50) == 0) {
+            return position.add(random.nextDouble(-200, 200), random.nextDouble(-10, 10), random.nextDouble(-200, 200));
+        }
+
+        double angle = random.nextDouble(Math.PI * 2);
+        double distance = random.nextDouble(2, 6);
+        return position.add(Math.cos(angle) * distance, random.nextDouble(-1, 1), Math.sin(angle) * distance);
+    }
+}
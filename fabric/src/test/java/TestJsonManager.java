@@ -0,0 +1,84 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import com.wynntils.core.json.JsonManager;
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestJsonManager {
+    private static final Type VALUE_TYPE = new TypeToken<Map<String, List<Integer>>>() {}.getType();
+
+    private final JsonManager jsonManager = new JsonManager();
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void loadPreciousJson_readsMembersWrittenBySavePreciousJson() {
+        File jsonFile = tempDir.resolve("test.json").toFile();
+        Map<String, List<Integer>> written = new LinkedHashMap<>();
+        written.put("numbers", List.of(1, 2, 3));
+        written.put("empty", List.of());
+        written.put("missing", null);
+
+        // Written both directly and as compact text copied into the file, like the storage shards are
+        jsonManager.savePreciousJson(jsonFile, writer -> {
+            writer.name("direct");
+            JsonManager.GSON.toJson(written, VALUE_TYPE, writer);
+            writer.name("copied").jsonValue(toCompactJson(written));
+        });
+
+        Map<String, Map<String, List<Integer>>> read = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        boolean complete = jsonManager.loadPreciousJson(jsonFile, (name, reader) -> {
+            names.add(name);
+            read.put(name, JsonManager.GSON.fromJson(reader, VALUE_TYPE));
+        });
+
+        Assertions.assertTrue(complete);
+        Assertions.assertEquals(List.of("direct", "copied"), names);
+        Assertions.assertEquals(written, read.get("direct"));
+        Assertions.assertEquals(written, read.get("copied"));
+        Assertions.assertFalse(new File(jsonFile.getPath() + ".tmp").exists());
+    }
+
+    @Test
+    public void loadPreciousJson_missingFile_readsNothing() {
+        File jsonFile = tempDir.resolve("missing.json").toFile();
+        List<String> names = new ArrayList<>();
+
+        boolean complete = jsonManager.loadPreciousJson(jsonFile, (name, reader) -> names.add(name));
+
+        Assertions.assertTrue(complete);
+        Assertions.assertEquals(List.of(), names);
+        Assertions.assertTrue(jsonFile.exists());
+    }
+
+    private static String toCompactJson(Object value) {
+        StringWriter stringWriter = new StringWriter();
+        JsonManager.GSON.toJson(value, VALUE_TYPE, new JsonWriter(stringWriter));
+        return stringWriter.toString();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.services.lootrunpaths.LootrunCompiler;
+import com.wynntils.services.lootrunpaths.LootrunPathCache;
+import com.wynntils.services.lootrunpaths.LootrunPathInstance;
+import com.wynntils.services.lootrunpaths.UncompiledLootrunPath;
+import com.wynntils.services.lootrunpaths.type.LootrunNote;
+import com.wynntils.services.lootrunpaths.type.LootrunPath;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import net.minecraft.ChatFormatting;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.phys.Vec3;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class TestLootrunPathCache {
+    private static final int COLOR = 0xff00ff00;
+
+    @BeforeAll
+    public static void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    public void readLootrun_matchesWrittenLootrun() throws IOException {
+        UncompiledLootrunPath uncompiled = createLootrun();
+
+        LootrunPathInstance lootrun = LootrunPathCache.readLootrun(write(uncompiled), "test", RegistryAccess.EMPTY);
+
+        Assertions.assertEquals("test", lootrun.name());
+        Assertions.assertEquals(uncompiled.path().points(), lootrun.path().points());
+        // The game is needed for a full compilation, but the compiled points are what is stored
+        Assertions.assertEquals(
+                LootrunCompiler.generatePointsByChunk(uncompiled.path(), COLOR), lootrun.points());
+        Assertions.assertEquals(uncompiled.chests(), flatten(lootrun.chests().values()));
+        Assertions.assertEquals(new HashSet<>(uncompiled.notes()), flatten(lootrun.notes().values()));
+    }
+
+    @Test
+    public void readLootrun_truncatedData_throws() throws IOException {
+        byte[] data = write(createLootrun());
+
+        for (int length : new int[] {0, 3, data.length / 2, data.length - 1}) {
+            byte[] truncated = Arrays.copyOf(data, length);
+            Assertions.assertThrows(
+                    IOException.class,
+                    () -> LootrunPathCache.readLootrun(truncated, "test", RegistryAccess.EMPTY),
+                    "Read lootrun cut off at " + length + " bytes");
+        }
+    }
+
+    @Test
+    public void readLootrun_countLargerThanData_throwsWithoutAllocating() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            // No points, chests or notes, then a chunk with a path claiming to have far too many positions
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(0);
+            output.writeInt(1);
+            output.writeLong(0L);
+            output.writeInt(1);
+            output.writeInt(Integer.MAX_VALUE);
+        }
+
+        Assertions.assertThrows(
+                IOException.class,
+                () -> LootrunPathCache.readLootrun(bytes.toByteArray(), "test", RegistryAccess.EMPTY));
+    }
+
+    private static UncompiledLootrunPath createLootrun() {
+        Random random = new Random(1234);
+        List<Vec3> points = new ArrayList<>();
+        Set<BlockPos> chests = new HashSet<>();
+
+        Vec3 position = new Vec3(-800.5, 70, -1500.5);
+        for (int i = 0; i < 400; i++) {
+            position = position.add(random.nextDouble() * 4 - 2, random.nextDouble() - 0.5, random.nextDouble() * 4);
+            points.add(position);
+
+            if (i % 50 == 0) {
+                chests.add(BlockPos.containing(position).offset(2, 0, 0));
+            }
+        }
+
+        List<LootrunNote> notes = List.of(
+                new LootrunNote(points.get(10), Component.literal("First note")),
+                new LootrunNote(
+                        points.get(300), Component.literal("Second note").withStyle(ChatFormatting.GOLD)));
+
+        return new UncompiledLootrunPath(new LootrunPath(points), chests, notes, null);
+    }
+
+    private static byte[] write(UncompiledLootrunPath uncompiled) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        LootrunPathCache.writeLootrun(
+                bytes,
+                uncompiled,
+                LootrunCompiler.generatePointsByChunk(uncompiled.path(), COLOR),
+                RegistryAccess.EMPTY);
+        return bytes.toByteArray();
+    }
+
+    private static <T> Set<T> flatten(Collection<? extends Collection<T>> collections) {
+        Set<T> flattened = new HashSet<>();
+        collections.forEach(flattened::addAll);
+        return flattened;
+    }
+}
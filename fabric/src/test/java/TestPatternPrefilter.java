@@ -0,0 +1,138 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.utils.type.PatternPrefilter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPatternPrefilter {
+    private static final List<Pattern> PATTERNS = List.of(
+            Pattern.compile("§5(\uE00A\uE002|\uE001) Blacksmith: §dYou have (sold|repaired) (.*)§d for §(a|3)(.*)"),
+            Pattern.compile("^§4(?:\uE008\uE002|\uE001) You don't have enough health to cast that spell!$"),
+            Pattern.compile("§a(§o)?(?<name>.+)§2 has logged into server §a(?<server>.+)§2 as §aan? (?<class>.+)"),
+            Pattern.compile("§a(?<name>.+) left the game\\."),
+            Pattern.compile("^§c\\[\\+(\\d+) ❤\\]$"),
+            Pattern.compile("^.+ gave you §c\\[\\+(\\d+) ❤\\]$"),
+            Pattern.compile("^§b\\+([23]) minutes§7 speed boost\\.$"),
+            Pattern.compile("^§7There wasn't enough room in your inventory\\, so items were dropped\\.$"),
+            Pattern.compile("§dYou have sold §7(.+)§d ingredients for a total of §a(.+)§d\\.$"),
+            Pattern.compile("(?i)case insensitive"),
+            Pattern.compile("first|second"));
+
+    private static final List<String> CHAT_LOG = List.of(
+            "§5\uE001 Blacksmith: §dYou have sold §fSome Item§d for §a12²",
+            "§4\uE001 You don't have enough health to cast that spell!",
+            "§aSomeone§2 has logged into server §aWC1§2 as §aa Mage",
+            "§aSomeone left the game.",
+            "§c[+125 ❤]",
+            "§7Someone gave you §c[+50 ❤]",
+            "§b+2 minutes§7 speed boost.",
+            "§7There wasn't enough room in your inventory, so items were dropped.",
+            "§dYou have sold §75§d ingredients for a total of §a3²§d.",
+            "CASE INSENSITIVE",
+            "the second one",
+            "§7[WC1] §fSomeone§7: hello there",
+            "§eYou have 3 unread messages",
+            "");
+
+    @Test
+    public void getRequiredLiteral_extractsLongestRun() {
+        Assertions.assertEquals(
+                " You don't have enough health to cast that spell!",
+                PatternPrefilter.getRequiredLiteral(PATTERNS.get(1)));
+        Assertions.assertEquals(" left the game.", PatternPrefilter.getRequiredLiteral(PATTERNS.get(3)));
+        Assertions.assertEquals("§c[+", PatternPrefilter.getRequiredLiteral(PATTERNS.get(4)));
+        Assertions.assertEquals(
+                "§d ingredients for a total of §a", PatternPrefilter.getRequiredLiteral(PATTERNS.get(8)));
+    }
+
+    @Test
+    public void getRequiredLiteral_dropsOptionalCharacters() {
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("abc?d")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab+c")));
+        Assertions.assertEquals("cdef", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab*cdef")));
+        Assertions.assertEquals("bcd", PatternPrefilter.getRequiredLiteral(Pattern.compile("a{2}bcd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\d+c")));
+    }
+
+    @Test
+    public void getRequiredLiteral_givesUpOnUnsafePatterns() {
+        Assertions.assertEquals("", PatternPrefilter.getRequiredLiteral(PATTERNS.get(9)));
+        Assertions.assertEquals("", PatternPrefilter.getRequiredLiteral(PATTERNS.get(10)));
+        Assertions.assertEquals("", PatternPrefilter.getRequiredLiteral(Pattern.compile("abc", Pattern.LITERAL)));
+        Assertions.assertEquals("", PatternPrefilter.getRequiredLiteral(Pattern.compile("\\Qa.b\\E")));
+    }
+
+    @Test
+    public void getRequiredLiteral_skipsEscapeOperands() {
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\x41cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\x{41}cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\u0041cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\0101cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\cJcd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("(?<name>x)ab\\k<name>cd")));
+        Assertions.assertEquals(
+                "ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\N{LATIN CAPITAL LETTER A}cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\p{Lu}cd")));
+        Assertions.assertEquals("ab", PatternPrefilter.getRequiredLiteral(Pattern.compile("ab\\pLcd")));
+        Assertions.assertEquals("abc", PatternPrefilter.getRequiredLiteral(Pattern.compile("abc\\x41+de")));
+        Assertions.assertEquals("abc", PatternPrefilter.getRequiredLiteral(Pattern.compile("abc(\\x{29})de")));
+    }
+
+    @Test
+    public void forEachCandidate_neverSkipsPatternsWithEscapeOperands() {
+        List<Pattern> patterns = List.of(
+                Pattern.compile("ab\\x41cd"),
+                Pattern.compile("ab\\x{41}cd"),
+                Pattern.compile("ab\\u0041cd"),
+                Pattern.compile("ab\\0101cd"),
+                Pattern.compile("ab\\cJcd"),
+                Pattern.compile("(?<name>x)ab\\k<name>cd"),
+                Pattern.compile("ab\\N{LATIN CAPITAL LETTER A}cd"),
+                Pattern.compile("ab\\p{Lu}cd"));
+        List<String> lines = List.of("abAcd", "abAcd", "abAcd", "abAcd", "ab\ncd", "xabxcd", "abAcd", "abAcd");
+
+        LinkedHashMap<Integer, Pattern> prefilterPatterns = new LinkedHashMap<>();
+        for (int i = 0; i < patterns.size(); i++) {
+            prefilterPatterns.put(i, patterns.get(i));
+        }
+        PatternPrefilter<Integer> prefilter = new PatternPrefilter<>(prefilterPatterns);
+
+        for (int i = 0; i < patterns.size(); i++) {
+            String line = lines.get(i);
+            Assertions.assertTrue(patterns.get(i).matcher(line).find(), "Test line does not match " + patterns.get(i));
+            Assertions.assertTrue(
+                    prefilter.getCandidates(line).contains(i),
+                    "Pattern " + patterns.get(i) + " was skipped for " + line);
+        }
+    }
+
+    @Test
+    public void forEachCandidate_neverSkipsMatchingPatterns() {
+        LinkedHashMap<Integer, Pattern> patterns = new LinkedHashMap<>();
+        for (int i = 0; i < PATTERNS.size(); i++) {
+            patterns.put(i, PATTERNS.get(i));
+        }
+        PatternPrefilter<Integer> prefilter = new PatternPrefilter<>(patterns);
+
+        int candidateCount = 0;
+        for (String line : CHAT_LOG) {
+            List<Integer> candidates = prefilter.getCandidates(line);
+            candidateCount += candidates.size();
+
+            for (int i = 0; i < PATTERNS.size(); i++) {
+                if (PATTERNS.get(i).matcher(line).find()) {
+                    Assertions.assertTrue(
+                            candidates.contains(i), "Pattern " + PATTERNS.get(i) + " was skipped for " + line);
+                }
+            }
+        }
+
+        // Every line should only be a candidate for the patterns without a literal, and at most one other
+        Assertions.assertTrue(candidateCount <= CHAT_LOG.size() * 3, "Too many candidates: " + candidateCount);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.wynntils.services.map.pois.Poi;
+import com.wynntils.services.map.type.DisplayPriority;
+import com.wynntils.services.map.type.PoiSpatialIndex;
+import com.wynntils.utils.mc.type.PoiLocation;
+import com.wynntils.utils.type.BoundingBox;
+import com.wynntils.utils.type.BoundingShape;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.minecraft.client.renderer.MultiBufferSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPoiSpatialIndex {
+    @Test
+    public void getPois_neverSkipsIntersectingPois() {
+        Random random = new Random(1234);
+        List<TestPoi> pois = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            pois.add(new TestPoi(
+                    random.nextInt(-3000, 3000),
+                    random.nextInt(-6000, 0),
+                    random.nextInt(1, 300),
+                    random.nextInt(20) != 0));
+        }
+        PoiSpatialIndex<TestPoi> index = PoiSpatialIndex.of(pois);
+
+        for (int i = 0; i < 200; i++) {
+            float mapZoom = random.nextFloat(0.1f, 3f);
+            float scale = random.nextFloat(0.5f, 2f);
+            BoundingBox box = BoundingBox.centered(
+                    random.nextInt(-3500, 3500),
+                    random.nextInt(-6500, 500),
+                    random.nextInt(1, 1500),
+                    random.nextInt(1, 1500));
+
+            List<TestPoi> candidates = index.getPois(box, mapZoom, scale);
+
+            // Candidates must keep the original order
+            for (int j = 1; j < candidates.size(); j++) {
+                Assertions.assertTrue(pois.indexOf(candidates.get(j - 1)) < pois.indexOf(candidates.get(j)));
+            }
+
+            for (TestPoi poi : pois) {
+                BoundingBox poiBox = BoundingBox.centered(
+                        poi.getLocation().getX(),
+                        poi.getLocation().getZ(),
+                        poi.getWidth(mapZoom, scale),
+                        poi.getHeight(mapZoom, scale));
+                if (BoundingShape.intersects(poiBox, box) || !poi.hasStaticLocation()) {
+                    Assertions.assertTrue(candidates.contains(poi), "POI " + poi + " was skipped for " + box);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getPois_emptyIndex() {
+        Assertions.assertEquals(
+                List.of(), PoiSpatialIndex.empty().getPois(new BoundingBox(-100, -100, 100, 100), 1f, 1f));
+    }
+
+    private record TestPoi(int x, int z, int size, boolean hasStaticLocation) implements Poi {
+        @Override
+        public PoiLocation getLocation() {
+            return new PoiLocation(x, null, z);
+        }
+
+        @Override
+        public DisplayPriority getDisplayPriority() {
+            return DisplayPriority.NORMAL;
+        }
+
+        @Override
+        public void renderAt(
+                PoseStack poseStack,
+                MultiBufferSource bufferSource,
+                float renderX,
+                float renderY,
+                boolean hovered,
+                float scale,
+                float zoomRenderScale,
+                float zoomLevel,
+                boolean showLabels) {}
+
+        @Override
+        public int getWidth(float mapZoom, float scale) {
+            return (int) (size * scale / mapZoom);
+        }
+
+        @Override
+        public int getHeight(float mapZoom, float scale) {
+            return (int) (size * scale / mapZoom / 2);
+        }
+
+        @Override
+        public String getName() {
+            return "Test POI";
+        }
+    }
+}
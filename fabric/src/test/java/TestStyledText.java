@@ -2,6 +2,7 @@
  * Copyright © Wynntils 2023-2025.
  * This file is released under LGPLv3. See LICENSE for full license details.
  */
+import com.google.common.collect.Iterables;
 import com.wynntils.core.text.PartStyle;
 import com.wynntils.core.text.StyledText;
 import com.wynntils.core.text.StyledTextPart;
@@ -905,7 +906,6 @@ public class TestStyledText {
         StyledText mappedText = styledText.map(part -> new StyledTextPart(
                 "." + part.getString(null, PartStyle.StyleType.NONE),
                 part.getPartStyle().withColor(ChatFormatting.AQUA).getStyle(),
-                part.getParent(),
                 null));
 
         final String result = "§b§l.a.bb.ccc.dddd";
@@ -915,4 +915,54 @@ public class TestStyledText {
                 mappedText.getString(PartStyle.StyleType.DEFAULT),
                 "StyledText.map() returned an unexpected value.");
     }
+
+    @Test
+    public void styledText_derivedTextsShouldSharePartsWithSource() {
+        final Component component = Component.literal("first ")
+                .withStyle(ChatFormatting.RED)
+                .append(Component.literal("second ").withStyle(ChatFormatting.BLUE))
+                .append(Component.literal("third").withStyle(ChatFormatting.GREEN));
+
+        StyledText styledText = StyledText.fromComponent(component);
+        StyledText substring = styledText.substring(6, 13);
+        StyledText appended = styledText.append(" fourth");
+
+        Assertions.assertEquals(
+                "§9second ", substring.getString(), "StyledText.substring() returned an unexpected value.");
+        Assertions.assertSame(
+                Iterables.get(styledText, 1),
+                substring.getFirstPart(),
+                "StyledText.substring() did not share the included part with its source.");
+        Assertions.assertSame(
+                styledText.getFirstPart(),
+                appended.getFirstPart(),
+                "StyledText.append() did not share the parts with its source.");
+        Assertions.assertSame(styledText, styledText.trim(), "StyledText.trim() copied an already trimmed text.");
+    }
+
+    @Test
+    public void styledText_equalPartStylesShouldBeShared() {
+        StyledText first = StyledText.fromString("§c§lfirst");
+        StyledText second = StyledText.fromString("§c§lsecond");
+
+        Assertions.assertSame(
+                first.getFirstPart().getPartStyle(),
+                second.getFirstPart().getPartStyle(),
+                "Equal part styles were not interned.");
+    }
+
+    @Test
+    public void styledText_stringProjectionsShouldBeCached() {
+        StyledText styledText = StyledText.fromString("§c§lcached §9text");
+
+        Assertions.assertSame(
+                styledText.getString(PartStyle.StyleType.DEFAULT),
+                styledText.getString(PartStyle.StyleType.DEFAULT),
+                "StyledText.getString() rebuilt the string for an unchanged text.");
+        Assertions.assertSame(
+                styledText.getStringWithoutFormatting(),
+                styledText.getString(PartStyle.StyleType.NONE),
+                "StyledText.getStringWithoutFormatting() did not use the cached string.");
+        Assertions.assertEquals(11, styledText.length(), "StyledText.length() returned an unexpected value.");
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright © Wynntils 2025.
+ * This file is released under LGPLv3. See LICENSE for full license details.
+ */
+import com.wynntils.core.mod.TickSchedulerManager;
+import com.wynntils.core.mod.type.ScheduledTask;
+import com.wynntils.mc.event.TickAlwaysEvent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestTickSchedulerManager {
+    // Larger than the size of the timing wheel, so tasks have to wait for multiple turns of it
+    private static final int MULTIPLE_ROTATIONS_DELAY = 512 * 2 + 7;
+
+    private final TickSchedulerManager scheduler = new TickSchedulerManager();
+    private final List<Integer> runTicks = new ArrayList<>();
+    private int currentTick = 0;
+
+    @Test
+    public void scheduleNextTick_runsOnNextTick() {
+        scheduler.scheduleNextTick(this::recordRun);
+
+        tick(3);
+
+        Assertions.assertEquals(List.of(1), runTicks);
+    }
+
+    @Test
+    public void scheduleLater_zeroDelay_runsOnNextTick() {
+        scheduler.scheduleLater(this::recordRun, 0);
+
+        tick(3);
+
+        Assertions.assertEquals(List.of(1), runTicks);
+    }
+
+    @Test
+    public void scheduleLater_runsAfterDelay() {
+        scheduler.scheduleLater(this::recordRun, 5);
+
+        tick(10);
+
+        Assertions.assertEquals(List.of(6), runTicks);
+    }
+
+    @Test
+    public void scheduleLater_delayLongerThanWheel_runsOnceAfterDelay() {
+        scheduler.scheduleLater(this::recordRun, MULTIPLE_ROTATIONS_DELAY);
+
+        tick(MULTIPLE_ROTATIONS_DELAY * 2);
+
+        Assertions.assertEquals(List.of(MULTIPLE_ROTATIONS_DELAY + 1), runTicks);
+    }
+
+    @Test
+    public void cancel_beforeRun_neverRuns() {
+        ScheduledTask task = scheduler.scheduleLater(this::recordRun, 5);
+
+        tick(3);
+        task.cancel();
+        tick(10);
+
+        Assertions.assertEquals(List.of(), runTicks);
+    }
+
+    @Test
+    public void cancel_beforeFirstTick_neverRuns() {
+        ScheduledTask task = scheduler.scheduleNextTick(this::recordRun);
+        task.cancel();
+
+        tick(3);
+
+        Assertions.assertEquals(List.of(), runTicks);
+    }
+
+    @Test
+    public void cancel_fromTaskInSameTick_preventsRun() {
+        ScheduledTask[] laterTask = new ScheduledTask[1];
+        scheduler.scheduleNextTick(() -> laterTask[0].cancel());
+        laterTask[0] = scheduler.scheduleNextTick(this::recordRun);
+
+        tick(3);
+
+        Assertions.assertEquals(List.of(), runTicks);
+    }
+
+    @Test
+    public void scheduleRepeating_runsEveryPeriod() {
+        scheduler.scheduleRepeating(this::recordRun, 2, 3);
+
+        tick(12);
+
+        Assertions.assertEquals(List.of(3, 6, 9, 12), runTicks);
+    }
+
+    @Test
+    public void scheduleRepeating_periodLongerThanWheel_runsEveryPeriod() {
+        scheduler.scheduleRepeating(this::recordRun, 0, MULTIPLE_ROTATIONS_DELAY);
+
+        tick(MULTIPLE_ROTATIONS_DELAY * 2 + 1);
+
+        Assertions.assertEquals(
+                List.of(1, MULTIPLE_ROTATIONS_DELAY + 1, MULTIPLE_ROTATIONS_DELAY * 2 + 1), runTicks);
+    }
+
+    @Test
+    public void scheduleRepeating_cancelledFromItself_stopsRunning() {
+        ScheduledTask[] task = new ScheduledTask[1];
+        task[0] = scheduler.scheduleRepeating(
+                () -> {
+                    recordRun();
+                    if (runTicks.size() == 2) {
+                        task[0].cancel();
+                    }
+                },
+                0,
+                1);
+
+        tick(10);
+
+        Assertions.assertEquals(List.of(1, 2), runTicks);
+    }
+
+    @Test
+    public void scheduleRepeating_nonPositivePeriod_throws() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> scheduler.scheduleRepeating(this::recordRun, 0, 0));
+    }
+
+    @Test
+    public void scheduleNextTick_fromRunningTask_runsOnFollowingTick() {
+        scheduler.scheduleLater(() -> scheduler.scheduleNextTick(this::recordRun), 2);
+
+        tick(10);
+
+        Assertions.assertEquals(List.of(4), runTicks);
+    }
+
+    @Test
+    public void scheduleLater_fromRunningTask_delayCountsFromFollowingTick() {
+        scheduler.scheduleLater(() -> scheduler.scheduleLater(this::recordRun, 5), 2);
+
+        tick(20);
+
+        Assertions.assertEquals(List.of(9), runTicks);
+    }
+
+    @Test
+    public void scheduleLater_fromRepeatingTask_runsEachScheduledTask() {
+        ScheduledTask[] task = new ScheduledTask[1];
+        int[] repeats = new int[1];
+        task[0] = scheduler.scheduleRepeating(
+                () -> {
+                    scheduler.scheduleNextTick(this::recordRun);
+                    if (++repeats[0] == 3) {
+                        task[0].cancel();
+                    }
+                },
+                0,
+                2);
+
+        tick(20);
+
+        Assertions.assertEquals(List.of(2, 4, 6), runTicks);
+    }
+
+    private void recordRun() {
+        runTicks.add(currentTick);
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            currentTick++;
+            scheduler.onTick(new TickAlwaysEvent());
+        }
+    }
+}